@@ -0,0 +1,245 @@
+package com.rpg.combat;
+
+import com.rpg.random.CombatRandom;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The fighters of one side still standing, for target selection.
+ *
+ * Members are kept in a dense array with swap-remove, so a uniform random pick and a K.O.
+ * removal are O(1) instead of rebuilding the alive list for every attacker. The other
+ * targeting modes keep one more structure, updated in O(log n) when a member's health changes:
+ * an indexed min-heap on health for LOWEST_HEALTH, a Fenwick tree of weights for WOUNDED.
+ *
+ * Members are addressed by their combatant index, so a set is sized to the whole BattleContext.
+ * Not thread-safe: a set belongs to its battle.
+ */
+public class AliveSet {
+
+    /**
+     * How an attacker picks its target among the alive defenders.
+     */
+    public enum Targeting {
+        /** Uniform random target (default) */
+        RANDOM,
+        /** Defender with the lowest health, lowest index first on ties; no random draw */
+        LOWEST_HEALTH,
+        /** Random target weighted by missing health + 1, focusing wounded defenders */
+        WOUNDED
+    }
+
+    private final Targeting targeting;
+    private final Combatant[] members;
+    private final int[] dense;
+    private final int[] slot;
+    private int size;
+
+    // LOWEST_HEALTH: binary heap of combatant indices ordered by (health, index)
+    private final int[] heap;
+    private final int[] heapPosition;
+
+    // WOUNDED: Fenwick tree over combatant indices
+    private final long[] tree;
+    private final int[] weight;
+    private long totalWeight;
+
+    /**
+     * @param fighters The fighters of the side; knocked-out ones are skipped
+     * @param capacity Number of combatants of the battle (indices are below it)
+     */
+    public AliveSet(List<Combatant> fighters, int capacity, Targeting targeting) {
+        this.targeting = targeting;
+        this.members = new Combatant[capacity];
+        this.dense = new int[fighters.size()];
+        this.slot = new int[capacity];
+        this.heap = targeting == Targeting.LOWEST_HEALTH ? new int[fighters.size()] : null;
+        this.heapPosition = targeting == Targeting.LOWEST_HEALTH ? new int[capacity] : null;
+        this.tree = targeting == Targeting.WOUNDED ? new long[capacity + 1] : null;
+        this.weight = targeting == Targeting.WOUNDED ? new int[capacity] : null;
+
+        for (Combatant fighter : fighters) {
+            if (fighter.getHealth() <= 0) continue;
+            int index = fighter.getIndex();
+            members[index] = fighter;
+            slot[index] = size;
+            dense[size++] = index;
+        }
+        if (heap != null) {
+            for (int i = 0; i < size; i++) {
+                heap[i] = dense[i];
+                heapPosition[dense[i]] = i;
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        }
+        if (tree != null) {
+            for (int i = 0; i < size; i++) {
+                addWeight(dense[i], woundWeight(members[dense[i]]));
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return The members in their current internal order; a set built from this list
+     *         picks the same targets for the same random draws
+     */
+    public List<Combatant> members() {
+        List<Combatant> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(members[dense[i]]);
+        }
+        return list;
+    }
+
+    public boolean contains(Combatant fighter) {
+        int index = fighter.getIndex();
+        return index < members.length && members[index] == fighter;
+    }
+
+    /**
+     * Picks a target according to the targeting mode.
+     * RANDOM draws exactly one nextInt(size()), LOWEST_HEALTH draws nothing.
+     * @return The target, or null if the set is empty
+     */
+    public Combatant pick(CombatRandom random) {
+        if (size == 0) {
+            return null;
+        }
+        switch (targeting) {
+            case LOWEST_HEALTH:
+                return members[heap[0]];
+            case WOUNDED:
+                return members[select((long) (random.nextDouble() * totalWeight))];
+            default:
+                return members[dense[random.nextInt(size)]];
+        }
+    }
+
+    /**
+     * Takes a member's new health into account: removes it if knocked out,
+     * otherwise re-ranks it. Ignores fighters that are not members.
+     */
+    public void update(Combatant fighter) {
+        if (!contains(fighter)) {
+            return;
+        }
+        if (fighter.getHealth() <= 0) {
+            remove(fighter);
+            return;
+        }
+        int index = fighter.getIndex();
+        if (heap != null) {
+            int position = heapPosition[index];
+            siftUp(position);
+            siftDown(heapPosition[index]);
+        }
+        if (tree != null) {
+            addWeight(index, woundWeight(fighter) - weight[index]);
+        }
+    }
+
+    /**
+     * Removes a member in O(1) (O(log n) with LOWEST_HEALTH or WOUNDED).
+     */
+    public void remove(Combatant fighter) {
+        if (!contains(fighter)) {
+            return;
+        }
+        int index = fighter.getIndex();
+        int last = dense[--size];
+        dense[slot[index]] = last;
+        slot[last] = slot[index];
+        members[index] = null;
+
+        if (heap != null) {
+            int position = heapPosition[index];
+            int moved = heap[size];
+            heap[position] = moved;
+            heapPosition[moved] = position;
+            if (position < size) {
+                siftUp(position);
+                siftDown(heapPosition[moved]);
+            }
+        }
+        if (tree != null) {
+            addWeight(index, -weight[index]);
+        }
+    }
+
+    // ===== Heap on (health, index) =====
+
+    private boolean lower(int a, int b) {
+        int healthA = members[a].getHealth();
+        int healthB = members[b].getHealth();
+        return healthA < healthB || (healthA == healthB && a < b);
+    }
+
+    private void siftUp(int position) {
+        int index = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!lower(index, heap[parent])) break;
+            heap[position] = heap[parent];
+            heapPosition[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = index;
+        heapPosition[index] = position;
+    }
+
+    private void siftDown(int position) {
+        int index = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) break;
+            if (child + 1 < size && lower(heap[child + 1], heap[child])) child++;
+            if (!lower(heap[child], index)) break;
+            heap[position] = heap[child];
+            heapPosition[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = index;
+        heapPosition[index] = position;
+    }
+
+    // ===== Fenwick tree of weights =====
+
+    private static int woundWeight(Combatant fighter) {
+        return Math.max(0, fighter.getMaxHealth() - fighter.getHealth()) + 1;
+    }
+
+    private void addWeight(int index, int delta) {
+        weight[index] += delta;
+        totalWeight += delta;
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * @return The combatant index whose cumulative weight range contains the offset
+     */
+    private int select(long offset) {
+        int position = 0;
+        long remaining = offset;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < tree.length && tree[next] <= remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        return position;
+    }
+}
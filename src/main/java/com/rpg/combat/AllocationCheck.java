@@ -0,0 +1,82 @@
+package com.rpg.combat;
+
+import com.rpg.model.Character;
+import com.rpg.strategy.DefensiveStrategy;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Allocation regression check of the headless battle loop, run with
+ * {@code java com.rpg.combat.AllocationCheck}; exits with status 1 on failure.
+ *
+ * The same duel is played with a 2-round and a 100-round limit, between two defensive
+ * fighters who heal more than they take, so both last to their limit. The difference of the
+ * bytes allocated by the thread, divided by the 98 extra rounds, is the steady-state
+ * allocation per round: it must stay below MAX_BYTES_PER_ROUND. Setup and result building
+ * cost the same in both battles and cancel out.
+ */
+public final class AllocationCheck {
+    public static final long MAX_BYTES_PER_ROUND = 32;
+
+    private static final int SHORT_ROUNDS = 2;
+    private static final int LONG_ROUNDS = 100;
+    private static final int WARMUP_DUELS = 20_000;
+    private static final int MEASURES = 5;
+
+    private AllocationCheck() {
+    }
+
+    public static void main(String[] args) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)
+            || !((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+            System.out.println("Mesure des allocations non disponible sur cette JVM");
+            return;
+        }
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        allocations.setThreadAllocatedMemoryEnabled(true);
+        long thread = Thread.currentThread().getId();
+
+        BattleSimulator shortBattles = simulator(SHORT_ROUNDS);
+        BattleSimulator longBattles = simulator(LONG_ROUNDS);
+        for (int i = 0; i < WARMUP_DUELS; i++) {
+            duel(shortBattles);
+            duel(longBattles);
+        }
+
+        // The lowest of several measures, so that a stray allocation by the JIT does not fail the check
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURES; i++) {
+            long start = allocations.getThreadAllocatedBytes(thread);
+            int shortRounds = duel(shortBattles);
+            long middle = allocations.getThreadAllocatedBytes(thread);
+            int longRounds = duel(longBattles);
+            long end = allocations.getThreadAllocatedBytes(thread);
+            if (shortRounds != SHORT_ROUNDS || longRounds != LONG_ROUNDS) {
+                throw new IllegalStateException("Durée de combat inattendue: " + shortRounds + " et " + longRounds);
+            }
+            best = Math.min(best, ((end - middle) - (middle - start)) / (LONG_ROUNDS - SHORT_ROUNDS));
+        }
+
+        System.out.println("Allocation par round: " + best + " octets (maximum " + MAX_BYTES_PER_ROUND + ")");
+        if (best > MAX_BYTES_PER_ROUND) {
+            System.exit(1);
+        }
+    }
+
+    private static BattleSimulator simulator(int rounds) {
+        BattleSimulator simulator = new BattleSimulator(7);
+        simulator.setTerminationPolicy(new TerminationPolicy(rounds, false));
+        return simulator;
+    }
+
+    /**
+     * @return The number of rounds played
+     */
+    private static int duel(BattleSimulator simulator) {
+        Character first = new Character("A", 1, 40, 1);
+        Character second = new Character("B", 1, 40, 1);
+        return simulator.duel(first, second, new DefensiveStrategy(), new DefensiveStrategy()).getRounds();
+    }
+}
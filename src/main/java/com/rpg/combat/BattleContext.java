@@ -0,0 +1,187 @@
+package com.rpg.combat;
+
+import com.rpg.command.Command;
+import com.rpg.composite.TeamComponent;
+import com.rpg.model.Character;
+import com.rpg.observer.CombatEventSink;
+import com.rpg.random.CombatRandom;
+import com.rpg.replay.BattleRecorder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * State owned by a single battle: its combat engine, its random stream and
+ * the combatant copies of every fighter.
+ * Two contexts share nothing, so any number of battles can run at the same time
+ * against the same roster characters without modifying them.
+ * A context is confined to the thread running its battle.
+ *
+ * Combat rolls come from a dedicated stream seeded with getEngineSeed(), separate from the
+ * stream used for decisions such as target selection. Replaying the recorded actions with
+ * that seed therefore reproduces every roll.
+ */
+public class BattleContext {
+    private final CombatRandom random;
+    private final long engineSeed;
+    private final CombatEngine engine;
+    private final List<Combatant> combatants;
+    private BattleRecorder recorder;
+    private CombatEventSink sink = CombatEventSink.NONE;
+
+    /**
+     * Creates a context with a new random stream.
+     */
+    public BattleContext() {
+        this(CombatRandom.create());
+    }
+
+    /**
+     * Creates a context with a seeded random stream, to replay a battle exactly.
+     * @param seed The seed for target selection and combat rolls
+     */
+    public BattleContext(long seed) {
+        this(CombatRandom.seeded(seed));
+    }
+
+    /**
+     * @param random Stream used for target selection; the engine seed is drawn from it
+     */
+    public BattleContext(CombatRandom random) {
+        this(random, random.nextLong());
+    }
+
+    private BattleContext(CombatRandom random, long engineSeed) {
+        this(random, engineSeed, CombatRandom.seeded(engineSeed));
+    }
+
+    private BattleContext(CombatRandom random, long engineSeed, CombatRandom engineRandom) {
+        this.random = random;
+        this.engineSeed = engineSeed;
+        this.engine = new CombatEngine(engineRandom);
+        this.combatants = new ArrayList<>();
+    }
+
+    /**
+     * Recreates a context from frozen state, continuing the given streams.
+     * The streams and combatants are copied, so the frozen state can be restored again.
+     */
+    static BattleContext restore(CombatRandom random, long engineSeed, CombatRandom engineRandom,
+                                 List<Combatant> combatants) {
+        BattleContext context = new BattleContext(random.copy(), engineSeed, engineRandom.copy());
+        context.adopt(combatants);
+        return context;
+    }
+
+    /**
+     * Adds copies of combatants frozen from another context of the same battle, in index order.
+     */
+    void adopt(List<Combatant> frozen) {
+        for (Combatant combatant : frozen) {
+            combatants.add(new Combatant(combatant));
+        }
+    }
+
+    /**
+     * Creates a context whose engine replays the rolls of a recorded battle.
+     * @param engineSeed The engine seed of the recorded battle
+     */
+    public static BattleContext replaying(long engineSeed) {
+        return new BattleContext(CombatRandom.seeded(engineSeed), engineSeed);
+    }
+
+    /**
+     * Adds a fighter to the battle.
+     * @param character The roster character
+     * @return Its battle-scoped copy
+     */
+    public Combatant enlist(Character character) {
+        if (recorder != null) {
+            throw new IllegalStateException("Impossible d'ajouter un combattant pendant l'enregistrement");
+        }
+        Combatant combatant = new Combatant(character, combatants.size());
+        combatants.add(combatant);
+        return combatant;
+    }
+
+    /**
+     * Adds every character of a team or army to the battle.
+     * @param team The team or army
+     * @return The battle-scoped copies, in team order
+     */
+    public List<Combatant> enlist(TeamComponent team) {
+        List<Combatant> enlisted = new ArrayList<>();
+        for (Character character : TeamBattle.extractCharacters(team)) {
+            enlisted.add(enlist(character));
+        }
+        return enlisted;
+    }
+
+    /**
+     * Starts recording every executed command, with a state checksum after each one.
+     * Must be called once all fighters are enlisted.
+     * @return The recorder
+     */
+    public BattleRecorder startRecording() {
+        recorder = new BattleRecorder(this);
+        return recorder;
+    }
+
+    /**
+     * Applies a command using this battle's engine and publishes its events to the sink
+     * (nothing is printed with the default sink).
+     */
+    public void resolve(Command command) {
+        command.resolve(engine);
+        command.report(sink);
+        if (recorder != null) {
+            recorder.record(command);
+        }
+    }
+
+    /**
+     * Sets the subscriber of this battle's combat events.
+     * @param sink The sink, CombatEventSink.NONE for a silent battle
+     */
+    public void setEventSink(CombatEventSink sink) {
+        this.sink = sink;
+    }
+
+    public CombatEventSink getEventSink() {
+        return sink;
+    }
+
+    /**
+     * Sets the probe measuring this battle's damage, healing, critical hits and K.O.
+     * @param probe The probe, CombatProbe.NONE (default) for none
+     */
+    public void setProbe(CombatProbe probe) {
+        engine.setProbe(probe);
+    }
+
+    public CombatEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * @return The seed of the stream the engine draws its rolls from
+     */
+    public long getEngineSeed() {
+        return engineSeed;
+    }
+
+    public CombatRandom getRandom() {
+        return random;
+    }
+
+    public List<Combatant> getCombatants() {
+        return combatants;
+    }
+
+    /**
+     * @return The active recorder, or null if the battle is not recorded
+     */
+    public BattleRecorder getRecorder() {
+        return recorder;
+    }
+}
@@ -0,0 +1,104 @@
+package com.rpg.combat;
+
+import com.rpg.replay.BattleLog;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a headless team battle: winner, number of rounds,
+ * surviving fighters and damage dealt by each fighter.
+ */
+public class BattleResult {
+    public enum Outcome { TEAM1_WIN, TEAM2_WIN, DRAW }
+
+    private final Outcome outcome;
+    private final String winnerName;
+    private final int rounds;
+    private final int roundsPlayed;
+    private final List<String> survivors;
+    private final Map<String, Integer> damageDealt;
+    private final BattleLog log;
+
+    public BattleResult(Outcome outcome, String winnerName, int rounds,
+                        List<String> survivors, Map<String, Integer> damageDealt) {
+        this(outcome, winnerName, rounds, survivors, damageDealt, null);
+    }
+
+    public BattleResult(Outcome outcome, String winnerName, int rounds,
+                        List<String> survivors, Map<String, Integer> damageDealt, BattleLog log) {
+        this(outcome, winnerName, rounds, rounds, survivors, damageDealt, log);
+    }
+
+    /**
+     * @param roundsPlayed Rounds actually played, fewer than rounds for a draw proven early
+     */
+    public BattleResult(Outcome outcome, String winnerName, int rounds, int roundsPlayed,
+                        List<String> survivors, Map<String, Integer> damageDealt, BattleLog log) {
+        this.outcome = outcome;
+        this.winnerName = winnerName;
+        this.rounds = rounds;
+        this.roundsPlayed = roundsPlayed;
+        this.survivors = Collections.unmodifiableList(survivors);
+        this.damageDealt = Collections.unmodifiableMap(new LinkedHashMap<>(damageDealt));
+        this.log = log;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * @return The name of the winning team, or null for a draw
+     */
+    public String getWinnerName() {
+        return winnerName;
+    }
+
+    public boolean isDraw() {
+        return outcome == Outcome.DRAW;
+    }
+
+    /**
+     * @return The round the battle was decided at; the round limit for a draw
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * @return Rounds actually played, fewer than getRounds() when a TerminationPolicy proved the draw early
+     */
+    public int getRoundsPlayed() {
+        return roundsPlayed;
+    }
+
+    /**
+     * @return Names of the fighters still standing at the end of the battle
+     */
+    public List<String> getSurvivors() {
+        return survivors;
+    }
+
+    /**
+     * @return Total damage dealt per fighter name
+     */
+    public Map<String, Integer> getDamageDealt() {
+        return damageDealt;
+    }
+
+    /**
+     * @return The replay log, or null if the battle was not recorded
+     */
+    public BattleLog getLog() {
+        return log;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%s) en %d rounds, survivants: %s",
+                           outcome, winnerName == null ? "-" : winnerName, rounds, survivors);
+    }
+}
@@ -0,0 +1,479 @@
+package com.rpg.combat;
+
+import com.rpg.command.Command;
+import com.rpg.command.CommandPool;
+import com.rpg.composite.TeamComposite;
+import com.rpg.model.Character;
+import com.rpg.observer.CombatEventSink;
+import com.rpg.random.CombatRandom;
+import com.rpg.replay.BattleLog;
+import com.rpg.strategy.CombatStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Headless team battle runner for batch simulations.
+ * Applies the same rules as TeamBattle but never prints, sleeps or reads stdin,
+ * and stops with a draw according to its TerminationPolicy (after CombatStatistics.MAX_TURNS
+ * rounds by default).
+ * The running thread's interrupt flag is checked every round: an interrupted battle
+ * stops with a CancellationException.
+ * Each battle runs in its own BattleContext, so the roster is left untouched.
+ * Combat events go to an optional sink, silent by default, and measurements to an optional probe.
+ *
+ * The battle loop does not allocate in steady state: strategies take their commands from a
+ * CommandPool, damage is tallied in a per-simulator array indexed by combatant, and both are
+ * reused from battle to battle. A simulator runs one battle at a time.
+ *
+ * With InitiativeScheduler.TurnOrder.INITIATIVE, fighters act one at a time in the order of
+ * their agility-based timers instead of by whole teams; see playInitiative().
+ */
+public class BattleSimulator {
+    private final CombatRandom random;
+    private TerminationPolicy termination = TerminationPolicy.TURN_LIMIT;
+    private boolean recording;
+    private CombatEventSink sink = CombatEventSink.NONE;
+    private CombatProbe probe = CombatProbe.NONE;
+    private AliveSet.Targeting targeting = AliveSet.Targeting.RANDOM;
+    private InitiativeScheduler.TurnOrder turnOrder = InitiativeScheduler.TurnOrder.TEAM_TURNS;
+    private final CommandPool commands = new CommandPool();
+    private int[] damage = new int[0];
+
+    /**
+     * Creates a simulator with a new random generator.
+     */
+    public BattleSimulator() {
+        this(CombatRandom.create());
+    }
+
+    /**
+     * Creates a simulator with a specific seed for reproducible battles.
+     * @param seed The seed for target selection and combat rolls
+     */
+    public BattleSimulator(long seed) {
+        this(CombatRandom.seeded(seed));
+    }
+
+    /**
+     * Creates a simulator using the given random generator for target selection and combat rolls.
+     * @param random The random generator to use
+     */
+    public BattleSimulator(Random random) {
+        this(CombatRandom.wrap(random));
+    }
+
+    /**
+     * Creates a simulator using the given stream for target selection and combat rolls.
+     * @param random The random stream to use
+     */
+    public BattleSimulator(CombatRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Enables or disables recording. A recorded battle carries a BattleLog in its result,
+     * which ReplayEngine can replay and verify action by action.
+     */
+    public void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Sets the subscriber of the combat events of every following battle.
+     * @param sink The sink, CombatEventSink.NONE (default) for silent battles
+     */
+    public void setEventSink(CombatEventSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Sets the probe measuring damage, healing, critical hits and K.O. of every following battle.
+     * @param probe The probe, CombatProbe.NONE (default) for none
+     */
+    public void setProbe(CombatProbe probe) {
+        this.probe = probe;
+    }
+
+    /**
+     * Sets how attackers pick their targets in every following battle.
+     * @param targeting The targeting mode, RANDOM by default (the only one CombatKernel reproduces)
+     */
+    public void setTargeting(AliveSet.Targeting targeting) {
+        this.targeting = targeting;
+    }
+
+    /**
+     * Sets when every following battle stops with a draw.
+     * @param termination The policy, TerminationPolicy.TURN_LIMIT by default (the only one CombatKernel reproduces)
+     */
+    public void setTerminationPolicy(TerminationPolicy termination) {
+        this.termination = termination;
+    }
+
+    /**
+     * Sets how fighters take turns in every following battle started by simulate() or duel().
+     * Snapshots (simulateUntil, resume, branch) always use team turns.
+     * @param turnOrder The turn order, TEAM_TURNS by default (the only one CombatKernel reproduces)
+     */
+    public void setTurnOrder(InitiativeScheduler.TurnOrder turnOrder) {
+        this.turnOrder = turnOrder;
+    }
+
+    /**
+     * Runs a full battle between two teams.
+     * @return The battle result
+     */
+    public BattleResult simulate(TeamComposite team1, TeamComposite team2,
+                                 CombatStrategy strategy1, CombatStrategy strategy2) {
+        BattleContext context = new BattleContext(random);
+        return fight(context, team1.getName(), context.enlist(team1), team2.getName(), context.enlist(team2),
+                     strategy1, strategy2);
+    }
+
+    /**
+     * Runs a one-on-one battle. Each side is named after its character.
+     * @return The battle result
+     */
+    public BattleResult duel(Character character1, Character character2,
+                             CombatStrategy strategy1, CombatStrategy strategy2) {
+        BattleContext context = new BattleContext(random);
+        List<Combatant> fighters1 = new ArrayList<>();
+        List<Combatant> fighters2 = new ArrayList<>();
+        fighters1.add(context.enlist(character1));
+        fighters2.add(context.enlist(character2));
+        return fight(context, character1.getName(), fighters1, character2.getName(), fighters2,
+                     strategy1, strategy2);
+    }
+
+    private BattleResult fight(BattleContext context, String name1, List<Combatant> fighters1,
+                               String name2, List<Combatant> fighters2,
+                               CombatStrategy strategy1, CombatStrategy strategy2) {
+        checkTeams(fighters1, fighters2);
+        context.setEventSink(sink);
+        context.setProbe(probe);
+        if (recording) {
+            context.startRecording();
+        }
+        int capacity = context.getCombatants().size();
+        if (turnOrder == InitiativeScheduler.TurnOrder.INITIATIVE) {
+            return playInitiative(context, name1, fighters1, new AliveSet(fighters1, capacity, targeting),
+                                  name2, fighters2, new AliveSet(fighters2, capacity, targeting),
+                                  strategy1, strategy2, new HashMap<>());
+        }
+        return play(context, name1, fighters1, new AliveSet(fighters1, capacity, targeting),
+                    name2, fighters2, new AliveSet(fighters2, capacity, targeting), strategy1, strategy2,
+                    1, termination.getMaxRounds(), new HashMap<>());
+    }
+
+    /**
+     * Plays a battle until the start of the given round and freezes it there.
+     * The snapshot can then be forked into any number of continuations with resume() or branch(),
+     * e.g. to compare what happens when a fighter defends instead of attacking on that round.
+     * Forked battles are not recorded.
+     * @param round The round to stop at (1 for the initial state)
+     * @return The snapshot; finished if the battle ended earlier
+     */
+    public BattleSnapshot simulateUntil(TeamComposite team1, TeamComposite team2,
+                                        CombatStrategy strategy1, CombatStrategy strategy2, int round) {
+        if (round < 1) {
+            throw new IllegalArgumentException("Le round doit être positif: " + round);
+        }
+        if (turnOrder != InitiativeScheduler.TurnOrder.TEAM_TURNS) {
+            throw new IllegalStateException("Les instantanés ne sont disponibles qu'en tours d'équipe");
+        }
+        BattleContext context = new BattleContext(random);
+        List<Combatant> fighters1 = context.enlist(team1);
+        List<Combatant> fighters2 = context.enlist(team2);
+        checkTeams(fighters1, fighters2);
+        context.setEventSink(sink);
+        context.setProbe(probe);
+
+        Map<String, Integer> damageDealt = new HashMap<>();
+        int capacity = context.getCombatants().size();
+        AliveSet alive1 = new AliveSet(fighters1, capacity, targeting);
+        AliveSet alive2 = new AliveSet(fighters2, capacity, targeting);
+        BattleResult result = play(context, team1.getName(), fighters1, alive1, team2.getName(), fighters2, alive2,
+                                   strategy1, strategy2, 1, Math.min(round - 1, termination.getMaxRounds()), damageDealt);
+        return BattleSnapshot.capture(context, team1.getName(), fighters1, alive1, team2.getName(), fighters2,
+                                      alive2, result != null ? result.getRounds() : round, damageDealt, result);
+    }
+
+    /**
+     * Continues a snapshot with its own random streams: with strategies in the same state as
+     * in the original battle, this plays exactly the original continuation.
+     * The snapshot is left untouched and can be resumed again.
+     */
+    public BattleResult resume(BattleSnapshot snapshot, CombatStrategy strategy1, CombatStrategy strategy2) {
+        if (snapshot.isFinished()) {
+            return snapshot.getResult();
+        }
+        return play(snapshot.restore(), snapshot, strategy1, strategy2);
+    }
+
+    /**
+     * Continues a snapshot with new random streams drawn from this simulator, so that
+     * successive branches are independent continuations from the same state.
+     * The snapshot is left untouched.
+     */
+    public BattleResult branch(BattleSnapshot snapshot, CombatStrategy strategy1, CombatStrategy strategy2) {
+        if (snapshot.isFinished()) {
+            return snapshot.getResult();
+        }
+        return play(snapshot.restore(random), snapshot, strategy1, strategy2);
+    }
+
+    private BattleResult play(BattleContext context, BattleSnapshot snapshot,
+                              CombatStrategy strategy1, CombatStrategy strategy2) {
+        context.setEventSink(sink);
+        context.setProbe(probe);
+        int capacity = context.getCombatants().size();
+        return play(context, snapshot.getTeam1Name(), snapshot.standing(context, 1),
+                    new AliveSet(snapshot.targets(context, 1), capacity, targeting),
+                    snapshot.getTeam2Name(), snapshot.standing(context, 2),
+                    new AliveSet(snapshot.targets(context, 2), capacity, targeting),
+                    strategy1, strategy2, snapshot.getRound(), termination.getMaxRounds(),
+                    new HashMap<>(snapshot.getDamageDealt()));
+    }
+
+    private static void checkTeams(List<Combatant> fighters1, List<Combatant> fighters2) {
+        if (fighters1.isEmpty() || fighters2.isEmpty()) {
+            throw new IllegalArgumentException("Les équipes doivent avoir au moins un combattant!");
+        }
+    }
+
+    /**
+     * Plays rounds firstRound to lastRound.
+     * @return The result, or null if the battle is still going after lastRound
+     */
+    private BattleResult play(BattleContext context, String name1, List<Combatant> fighters1, AliveSet alive1,
+                              String name2, List<Combatant> fighters2, AliveSet alive2,
+                              CombatStrategy strategy1, CombatStrategy strategy2,
+                              int firstRound, int lastRound, Map<String, Integer> damageDealt) {
+        CombatEventSink events = context.getEventSink();
+        resetDamage(context.getCombatants().size());
+        int round = firstRound;
+        while (round <= lastRound) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Combat annulé au round " + round);
+            }
+            events.roundStarted(round);
+
+            events.turnStarted(name1, 1);
+            executeTurn(context, fighters1, alive1, alive2, strategy1);
+            removeKnockedOut(fighters2, events);
+            if (fighters2.isEmpty()) {
+                return result(context, BattleResult.Outcome.TEAM1_WIN, name1, round, fighters1, damageDealt);
+            }
+
+            events.turnStarted(name2, 2);
+            executeTurn(context, fighters2, alive2, alive1, strategy2);
+            removeKnockedOut(fighters1, events);
+            if (fighters1.isEmpty()) {
+                return result(context, BattleResult.Outcome.TEAM2_WIN, name2, round, fighters2, damageDealt);
+            }
+
+            if (termination.isDraw(round, fighters1, fighters2)) {
+                List<Character> standing = new ArrayList<>(fighters1);
+                standing.addAll(fighters2);
+                return result(context, BattleResult.Outcome.DRAW, null, termination.getMaxRounds(), round,
+                              standing, damageDealt);
+            }
+            round++;
+        }
+        collectDamage(context, damageDealt);
+        return null;
+    }
+
+    /**
+     * Plays a whole battle in initiative order: the scheduler hands out the next fighter, which
+     * targets the other side, acts and is rescheduled after its agility-based interval.
+     * Fighters start one interval into the battle, so the fastest act first.
+     * A round ends when the timeline passes its last tick; K.O. fighters leave the scheduler and
+     * their alive set as soon as they fall, and the fighter lists are compacted once per round,
+     * so a battle of n fighters never costs more than O(log n) per action plus O(n) per round.
+     */
+    private BattleResult playInitiative(BattleContext context, String name1, List<Combatant> fighters1,
+                                        AliveSet alive1, String name2, List<Combatant> fighters2, AliveSet alive2,
+                                        CombatStrategy strategy1, CombatStrategy strategy2,
+                                        Map<String, Integer> damageDealt) {
+        CombatEventSink events = context.getEventSink();
+        resetDamage(context.getCombatants().size());
+        // Same outcome as team turns for a side knocked out from the start
+        compactKnockedOut(fighters1);
+        compactKnockedOut(fighters2);
+        if (fighters2.isEmpty()) {
+            return result(context, BattleResult.Outcome.TEAM1_WIN, name1, 1, fighters1, damageDealt);
+        }
+        if (fighters1.isEmpty()) {
+            return result(context, BattleResult.Outcome.TEAM2_WIN, name2, 1, fighters2, damageDealt);
+        }
+        InitiativeScheduler scheduler = new InitiativeScheduler(context.getCombatants().size());
+        for (int p = 0; p < fighters1.size(); p++) {
+            scheduler.reschedule(fighters1.get(p), 0);
+        }
+        for (int p = 0; p < fighters2.size(); p++) {
+            scheduler.reschedule(fighters2.get(p), 0);
+        }
+
+        int round = 0;
+        while (true) {
+            long tick = scheduler.peekTick();
+            int actionRound = InitiativeScheduler.roundOf(tick);
+            while (round < actionRound) {
+                if (round > 0) {
+                    compactKnockedOut(fighters1);
+                    compactKnockedOut(fighters2);
+                    if (termination.isDraw(round, fighters1, fighters2,
+                                           InitiativeScheduler.TurnOrder.INITIATIVE)) {
+                        List<Character> standing = new ArrayList<>(fighters1);
+                        standing.addAll(fighters2);
+                        return result(context, BattleResult.Outcome.DRAW, null, termination.getMaxRounds(), round,
+                                      standing, damageDealt);
+                    }
+                }
+                round++;
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Combat annulé au round " + round);
+                }
+                events.roundStarted(round);
+            }
+
+            Combatant attacker = scheduler.peek();
+            boolean team1 = alive1.contains(attacker);
+            AliveSet attacking = team1 ? alive1 : alive2;
+            AliveSet defending = team1 ? alive2 : alive1;
+            Combatant target = defending.pick(context.getRandom());
+            Command action = (team1 ? strategy1 : strategy2).chooseAction(attacker, target, commands);
+
+            if (action != null) {
+                events.actionStarted(attacker);
+                int targetHealth = target.getHealth();
+                context.resolve(action);
+                int dealt = targetHealth - target.getHealth();
+                if (dealt > 0) {
+                    damage[attacker.getIndex()] += dealt;
+                }
+                defending.update(target);
+                attacking.update(attacker);
+                if (target.getHealth() <= 0) {
+                    scheduler.remove(target);
+                    events.knockedOut(target);
+                }
+            }
+            scheduler.reschedule(attacker, tick);
+
+            if (defending.isEmpty()) {
+                compactKnockedOut(fighters1);
+                compactKnockedOut(fighters2);
+                return team1
+                    ? result(context, BattleResult.Outcome.TEAM1_WIN, name1, round, fighters1, damageDealt)
+                    : result(context, BattleResult.Outcome.TEAM2_WIN, name2, round, fighters2, damageDealt);
+            }
+        }
+    }
+
+    /**
+     * Same turn logic as TeamBattle.executeTurn, without output or pauses.
+     * Knocked-out defenders leave their alive set as soon as they fall.
+     */
+    private void executeTurn(BattleContext context, List<Combatant> attackers, AliveSet attacking,
+                             AliveSet defending, CombatStrategy strategy) {
+        for (int p = 0; p < attackers.size(); p++) {
+            Combatant attacker = attackers.get(p);
+            if (defending.isEmpty()) break;
+            if (attacker.getHealth() <= 0) continue;
+
+            Combatant target = defending.pick(context.getRandom());
+            Command action = strategy.chooseAction(attacker, target, commands);
+
+            if (action != null) {
+                context.getEventSink().actionStarted(attacker);
+                int targetHealth = target.getHealth();
+                context.resolve(action);
+                int dealt = targetHealth - target.getHealth();
+                if (dealt > 0) {
+                    damage[attacker.getIndex()] += dealt;
+                }
+                defending.update(target);
+                attacking.update(attacker);
+            }
+        }
+    }
+
+    /**
+     * Drops knocked-out fighters, keeping the order, with a plain loop rather than a capturing lambda.
+     */
+    private static void removeKnockedOut(List<Combatant> fighters, CombatEventSink events) {
+        int kept = 0;
+        for (int p = 0; p < fighters.size(); p++) {
+            Combatant fighter = fighters.get(p);
+            if (fighter.getHealth() > 0) {
+                fighters.set(kept++, fighter);
+            } else {
+                events.knockedOut(fighter);
+            }
+        }
+        while (fighters.size() > kept) {
+            fighters.remove(fighters.size() - 1);
+        }
+    }
+
+    /**
+     * Drops knocked-out fighters, keeping the order, without K.O. events (already published).
+     */
+    private static void compactKnockedOut(List<Combatant> fighters) {
+        int kept = 0;
+        for (int p = 0; p < fighters.size(); p++) {
+            Combatant fighter = fighters.get(p);
+            if (fighter.getHealth() > 0) {
+                fighters.set(kept++, fighter);
+            }
+        }
+        while (fighters.size() > kept) {
+            fighters.remove(fighters.size() - 1);
+        }
+    }
+
+    private void resetDamage(int capacity) {
+        if (damage.length < capacity) {
+            damage = new int[capacity];
+        } else {
+            Arrays.fill(damage, 0, capacity, 0);
+        }
+    }
+
+    /**
+     * Adds the damage tallied since resetDamage() to the per-name totals.
+     */
+    private void collectDamage(BattleContext context, Map<String, Integer> damageDealt) {
+        List<Combatant> combatants = context.getCombatants();
+        for (int i = 0; i < combatants.size(); i++) {
+            if (damage[i] > 0) {
+                damageDealt.merge(combatants.get(i).getName(), damage[i], Integer::sum);
+                damage[i] = 0;
+            }
+        }
+    }
+
+    private BattleResult result(BattleContext context, BattleResult.Outcome outcome, String winnerName, int rounds,
+                                List<? extends Character> standing, Map<String, Integer> damageDealt) {
+        return result(context, outcome, winnerName, rounds, rounds, standing, damageDealt);
+    }
+
+    private BattleResult result(BattleContext context, BattleResult.Outcome outcome, String winnerName, int rounds,
+                                int roundsPlayed, List<? extends Character> standing, Map<String, Integer> damageDealt) {
+        collectDamage(context, damageDealt);
+        List<String> survivors = new ArrayList<>();
+        for (Character fighter : standing) {
+            survivors.add(fighter.getName());
+        }
+        BattleLog log = context.getRecorder() != null ? context.getRecorder().toLog() : null;
+        return new BattleResult(outcome, winnerName, rounds, roundsPlayed, survivors, damageDealt, log);
+    }
+}
@@ -0,0 +1,174 @@
+package com.rpg.combat;
+
+import com.rpg.model.Character;
+import com.rpg.random.CombatRandom;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Frozen state of a headless battle at the start of a round: every fighter's state,
+ * the fighters still standing on each side, the round number, the random streams and
+ * the damage dealt so far.
+ *
+ * A snapshot is immutable and never handed out mutable state, so any number of threads
+ * can fork it at the same time (BattleSimulator.resume() and branch()). Forking is cheap:
+ * fighters share their name and ability lists with the snapshot (copy-on-write in
+ * Character), only their scalar stats are copied.
+ */
+public final class BattleSnapshot {
+    private final String team1Name;
+    private final String team2Name;
+    private final List<Combatant> fighters;
+    private final int[] standing1;
+    private final int[] standing2;
+    private final int[] targets1;
+    private final int[] targets2;
+    private final int round;
+    private final CombatRandom random;
+    private final long engineSeed;
+    private final CombatRandom engineRandom;
+    private final Map<String, Integer> damageDealt;
+    private final BattleResult result;
+
+    private BattleSnapshot(BattleContext context, String team1Name, List<Combatant> side1, AliveSet alive1,
+                           String team2Name, List<Combatant> side2, AliveSet alive2, int round,
+                           Map<String, Integer> damageDealt, BattleResult result) {
+        this.team1Name = team1Name;
+        this.team2Name = team2Name;
+        List<Combatant> frozen = new ArrayList<>();
+        for (Combatant combatant : context.getCombatants()) {
+            frozen.add(new Combatant(combatant));
+        }
+        this.fighters = Collections.unmodifiableList(frozen);
+        this.standing1 = indices(side1);
+        this.standing2 = indices(side2);
+        this.targets1 = indices(alive1.members());
+        this.targets2 = indices(alive2.members());
+        this.round = round;
+        this.random = context.getRandom().copy();
+        this.engineSeed = context.getEngineSeed();
+        this.engineRandom = context.getEngine().getRandom().copy();
+        this.damageDealt = Collections.unmodifiableMap(new LinkedHashMap<>(damageDealt));
+        this.result = result;
+    }
+
+    /**
+     * Freezes a battle in progress.
+     * @param alive1 Team 1's alive set, whose internal order decides future random targets
+     * @param round The next round to play
+     * @param result The result if the battle ended before that round, otherwise null
+     */
+    static BattleSnapshot capture(BattleContext context, String team1Name, List<Combatant> side1, AliveSet alive1,
+                                  String team2Name, List<Combatant> side2, AliveSet alive2, int round,
+                                  Map<String, Integer> damageDealt, BattleResult result) {
+        return new BattleSnapshot(context, team1Name, side1, alive1, team2Name, side2, alive2, round,
+                                  damageDealt, result);
+    }
+
+    private static int[] indices(List<Combatant> side) {
+        int[] indices = new int[side.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = side.get(i).getIndex();
+        }
+        return indices;
+    }
+
+    /**
+     * Restores the battle with the frozen random streams: the continuation is exactly the
+     * one the original battle would have played with the same strategies.
+     */
+    BattleContext restore() {
+        return BattleContext.restore(random, engineSeed, engineRandom, fighters);
+    }
+
+    /**
+     * Restores the battle with new streams drawn from the given one, for independent continuations.
+     */
+    BattleContext restore(CombatRandom streams) {
+        BattleContext context = new BattleContext(streams);
+        context.adopt(fighters);
+        return context;
+    }
+
+    /**
+     * @param team 1 or 2
+     * @return The restored combatants of that team still standing, in turn order
+     */
+    List<Combatant> standing(BattleContext context, int team) {
+        return resolve(context, team == 1 ? standing1 : standing2);
+    }
+
+    /**
+     * @param team 1 or 2
+     * @return The restored combatants of that team in the order of its frozen alive set
+     */
+    List<Combatant> targets(BattleContext context, int team) {
+        return resolve(context, team == 1 ? targets1 : targets2);
+    }
+
+    private static List<Combatant> resolve(BattleContext context, int[] indices) {
+        List<Combatant> side = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            side.add(context.getCombatants().get(index));
+        }
+        return side;
+    }
+
+    public String getTeam1Name() {
+        return team1Name;
+    }
+
+    public String getTeam2Name() {
+        return team2Name;
+    }
+
+    /**
+     * @return The next round to play
+     */
+    public int getRound() {
+        return round;
+    }
+
+    /**
+     * @return Copies of every fighter of the battle, dead or alive; a fighter's position in
+     *         this list is its combatant index (see ForcedActionStrategy)
+     */
+    public List<Character> getFighters() {
+        List<Character> copies = new ArrayList<>(fighters.size());
+        for (Combatant combatant : fighters) {
+            copies.add(new Character(combatant));
+        }
+        return copies;
+    }
+
+    /**
+     * @return Total damage dealt per fighter name before the snapshot
+     */
+    public Map<String, Integer> getDamageDealt() {
+        return damageDealt;
+    }
+
+    /**
+     * @return True if the battle ended before the requested round
+     */
+    public boolean isFinished() {
+        return result != null;
+    }
+
+    /**
+     * @return The battle result if it ended before the requested round, otherwise null
+     */
+    public BattleResult getResult() {
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s vs %s, round %d: %d contre %d combattants",
+                           team1Name, team2Name, round, standing1.length, standing2.length);
+    }
+}
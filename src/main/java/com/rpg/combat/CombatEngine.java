@@ -1,14 +1,18 @@
 package com.rpg.combat;
 
+import com.rpg.model.Ability;
 import com.rpg.model.Character;
+import com.rpg.random.CombatRandom;
 import java.util.Random;
 
 /**
  * Central combat engine providing single source of truth for damage calculation.
- * Supports deterministic testing via Random injection.
+ * Supports deterministic testing via CombatRandom (or Random) injection.
+ * Damage, healing, critical hits and K.O. are reported to an optional CombatProbe.
  */
 public class CombatEngine {
-    private final Random random;
+    private final CombatRandom random;
+    private CombatProbe probe = CombatProbe.NONE;
     private static final int BASE_DAMAGE_VARIANCE = 10;
     private static final int DEFENSE_BONUS = 20;
 
@@ -16,7 +20,7 @@ public class CombatEngine {
      * Creates a combat engine with a new random generator.
      */
     public CombatEngine() {
-        this(new Random());
+        this(CombatRandom.create());
     }
 
     /**
@@ -24,6 +28,14 @@ public class CombatEngine {
      * @param random The random generator to use
      */
     public CombatEngine(Random random) {
+        this(CombatRandom.wrap(random));
+    }
+
+    /**
+     * Creates a combat engine drawing from the given random stream.
+     * @param random The random stream to use
+     */
+    public CombatEngine(CombatRandom random) {
         this.random = random;
     }
 
@@ -32,7 +44,7 @@ public class CombatEngine {
      * @param seed The seed for the random generator
      */
     public CombatEngine(long seed) {
-        this(new Random(seed));
+        this(CombatRandom.seeded(seed));
     }
 
     /**
@@ -64,20 +76,18 @@ public class CombatEngine {
      * @return The damage or healing amount
      */
     public int calculateAbilityEffect(Character user, String abilityName) {
-        switch (abilityName) {
-            case "Telepathie":
-                return user.getIntelligence();
-            case "Super Force":
-                return user.getStrength() * 2;
-            case "Regeneration":
-                return 30;
-            case "Pouvoir du Feu":
-                return user.getStrength() + user.getIntelligence();
-            case "Invisibilite":
-                return 0; // Defensive ability
-            default:
-                return 0;
-        }
+        Ability ability = Ability.fromName(abilityName);
+        return ability != null ? ability.power(user) : 0;
+    }
+
+    /**
+     * Calculates ability damage for an ability already resolved from the registry.
+     * @param user The character using the ability
+     * @param ability The ability
+     * @return The damage or healing amount
+     */
+    public int calculateAbilityEffect(Character user, Ability ability) {
+        return ability.power(user);
     }
 
     /**
@@ -87,7 +97,11 @@ public class CombatEngine {
      */
     public boolean isCriticalHit(Character attacker) {
         int critChance = Math.min(30, attacker.getAgility() / 2);
-        return random.nextInt(100) < critChance;
+        boolean critical = random.nextInt(100) < critChance;
+        if (critical && CombatProbe.ENABLED && probe != CombatProbe.NONE) {
+            probe.onCriticalHit(attacker);
+        }
+        return critical;
     }
 
     /**
@@ -103,6 +117,19 @@ public class CombatEngine {
         return currentHealth - newHealth;
     }
 
+    /**
+     * Applies damage dealt by an attacker, reporting it to the probe.
+     * @return The actual damage dealt (after clamping)
+     */
+    public int applyDamage(Character attacker, Character target, int damage) {
+        int wasAlive = target.getHealth();
+        int dealt = applyDamage(target, damage);
+        if (CombatProbe.ENABLED && probe != CombatProbe.NONE) {
+            reportDamage(attacker, target, dealt, wasAlive);
+        }
+        return dealt;
+    }
+
     /**
      * Applies healing to a character, respecting max HP.
      * @param character The character being healed
@@ -114,14 +141,54 @@ public class CombatEngine {
         int maxHealth = character.getMaxHealth();
         int newHealth = Math.min(maxHealth, currentHealth + healing);
         character.setHealth(newHealth);
-        return newHealth - currentHealth;
+        int healed = newHealth - currentHealth;
+        if (CombatProbe.ENABLED && probe != CombatProbe.NONE && healed > 0) {
+            probe.onHealing(character, healed);
+        }
+        return healed;
+    }
+
+    /**
+     * Reports an effect applied outside the engine (abilities) to the probe.
+     * @param healthBefore The target's health before the effect
+     */
+    public void effectApplied(Character user, Character target, int healthBefore) {
+        if (CombatProbe.ENABLED && probe != CombatProbe.NONE) {
+            int change = target.getHealth() - healthBefore;
+            if (change < 0) {
+                reportDamage(user, target, -change, healthBefore);
+            } else if (change > 0) {
+                probe.onHealing(target, change);
+            }
+        }
+    }
+
+    private void reportDamage(Character attacker, Character target, int dealt, int healthBefore) {
+        if (dealt > 0) {
+            probe.onDamage(attacker, target, dealt);
+        }
+        if (healthBefore > 0 && target.getHealth() <= 0) {
+            probe.onKnockOut(target);
+        }
+    }
+
+    /**
+     * Sets the probe of every following roll and effect.
+     * @param probe The probe, CombatProbe.NONE (default) for none
+     */
+    public void setProbe(CombatProbe probe) {
+        this.probe = probe;
+    }
+
+    public CombatProbe getProbe() {
+        return probe;
     }
 
     /**
-     * Gets the underlying Random generator (for advanced use cases).
-     * @return The Random generator
+     * Gets the underlying random stream (for advanced use cases).
+     * @return The random stream
      */
-    public Random getRandom() {
+    public CombatRandom getRandom() {
         return random;
     }
 }
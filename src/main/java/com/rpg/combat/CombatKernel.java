@@ -0,0 +1,385 @@
+package com.rpg.combat;
+
+import com.rpg.composite.TeamComposite;
+import com.rpg.model.Ability;
+import com.rpg.model.Character;
+import com.rpg.random.CombatRandom;
+import com.rpg.singleton.GameSettings;
+import com.rpg.strategy.AggressiveStrategy;
+import com.rpg.strategy.BalancedStrategy;
+import com.rpg.strategy.CombatStrategy;
+import com.rpg.strategy.DefensiveStrategy;
+import com.rpg.strategy.StrategyType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Structure-of-arrays combat kernel for very large armies.
+ * Packs every fighter of a battle into primitive arrays and resolves rounds over them
+ * without allocating. Reproduces BattleSimulator exactly: the built-in strategies and the
+ * commands are re-implemented over the arrays and consume the random streams in the same order.
+ *
+ * Target selection uses the same swap-remove alive arrays as AliveSet: a random pick and
+ * a K.O. removal are O(1) instead of rebuilding the alive list for every attacker.
+ * A kernel instance keeps its arrays between battles; it is not thread-safe.
+ */
+public class CombatKernel {
+    private static final int BASE_DAMAGE_VARIANCE = 10;
+    private static final int DEFENSE_BONUS = 20;
+    private static final int REGENERATION_HEAL = 30;
+
+    // Ability codes, also used as action codes
+    private static final int ABILITY_UNKNOWN = 0;
+    private static final int INVISIBILITE = 1;
+    private static final int TELEPATHIE = 2;
+    private static final int SUPER_FORCE = 3;
+    private static final int REGENERATION = 4;
+    private static final int POUVOIR_DU_FEU = 5;
+    private static final int ACTION_ATTACK = 6;
+    private static final int ACTION_DEFEND = 7;
+
+    private static final int OFFENSIVE_MASK = (1 << TELEPATHIE) | (1 << SUPER_FORCE) | (1 << POUVOIR_DU_FEU);
+
+    private static final int AGGRESSIVE = 0;
+    private static final int DEFENSIVE = 1;
+    private static final int BALANCED = 2;
+
+    private String[] names = new String[0];
+    private int[] health = new int[0];
+    private int[] maxHealth = new int[0];
+    private int[] strength = new int[0];
+    private int[] agility = new int[0];
+    private int[] intelligence = new int[0];
+    private int[] abilityMask = new int[0];
+    private int[] abilityStart = new int[0];
+    private int[] abilityCount = new int[0];
+    private boolean[] abilitiesValid = new boolean[0];
+    private int[] abilityCodes = new int[0];
+    private int[] damage = new int[0];
+
+    private int[] order1 = new int[0];
+    private int[] order2 = new int[0];
+    private int[] alive1 = new int[0];
+    private int[] alive2 = new int[0];
+    private int[] slot = new int[0];
+    private final int[] aliveCount = new int[2];
+    private int fighterCount;
+    private int size1;
+    private int size2;
+
+    /**
+     * Runs a battle with the same rules and random consumption as BattleSimulator.
+     * @param battleRandom Stream used for target selection, and to seed the combat rolls
+     * @param random1 Stream of team 1's strategy
+     * @param random2 Stream of team 2's strategy
+     * @throws IllegalArgumentException if a strategy is not one of the built-in strategies
+     */
+    public BattleResult simulate(TeamComposite team1, TeamComposite team2,
+                                 CombatStrategy strategy1, CombatStrategy strategy2,
+                                 CombatRandom battleRandom, CombatRandom random1, CombatRandom random2) {
+        int kind1 = strategyKind(strategy1);
+        int kind2 = strategyKind(strategy2);
+        double[] parameters1 = StrategyType.parametersOf(strategy1).toArray();
+        double[] parameters2 = StrategyType.parametersOf(strategy2).toArray();
+        List<Character> fighters1 = TeamBattle.extractCharacters(team1);
+        List<Character> fighters2 = TeamBattle.extractCharacters(team2);
+
+        if (fighters1.isEmpty() || fighters2.isEmpty()) {
+            throw new IllegalArgumentException("Les équipes doivent avoir au moins un combattant!");
+        }
+
+        pack(fighters1, fighters2);
+        // Same split as BattleContext: combat rolls come from their own stream
+        CombatRandom rolls = CombatRandom.seeded(battleRandom.nextLong());
+
+        int maxRounds = CombatStatistics.MAX_TURNS;
+        for (int round = 1; round <= maxRounds; round++) {
+            executeTurn(order1, size1, alive2, 1, kind1, parameters1, random1, battleRandom, rolls);
+            size2 = compact(order2, size2);
+            if (size2 == 0) {
+                return result(BattleResult.Outcome.TEAM1_WIN, team1.getName(), round);
+            }
+
+            executeTurn(order2, size2, alive1, 0, kind2, parameters2, random2, battleRandom, rolls);
+            size1 = compact(order1, size1);
+            if (size1 == 0) {
+                return result(BattleResult.Outcome.TEAM2_WIN, team2.getName(), round);
+            }
+        }
+        return result(BattleResult.Outcome.DRAW, null, maxRounds);
+    }
+
+    private static int strategyKind(CombatStrategy strategy) {
+        if (strategy instanceof AggressiveStrategy) return AGGRESSIVE;
+        if (strategy instanceof DefensiveStrategy) return DEFENSIVE;
+        if (strategy instanceof BalancedStrategy) return BALANCED;
+        throw new IllegalArgumentException("Stratégie non supportée par le noyau: " + strategy.getStrategyName());
+    }
+
+    private static int abilityCode(Ability ability) {
+        if (ability == null) return ABILITY_UNKNOWN;
+        switch (ability) {
+            case INVISIBILITE: return INVISIBILITE;
+            case TELEPATHIE: return TELEPATHIE;
+            case SUPER_FORCE: return SUPER_FORCE;
+            case REGENERATION: return REGENERATION;
+            case POUVOIR_DU_FEU: return POUVOIR_DU_FEU;
+            default: return ABILITY_UNKNOWN;
+        }
+    }
+
+    // ===== Packing =====
+
+    private void pack(List<Character> fighters1, List<Character> fighters2) {
+        int count = fighters1.size() + fighters2.size();
+        int totalAbilities = 0;
+        for (Character c : fighters1) totalAbilities += c.getAbilityCount();
+        for (Character c : fighters2) totalAbilities += c.getAbilityCount();
+        ensureCapacity(count, fighters1.size(), fighters2.size(), totalAbilities);
+
+        int maxAbilities = GameSettings.getInstance().getMaxAbilities();
+        int next = 0;
+        int cursor = 0;
+        for (Character c : fighters1) {
+            order1[next] = next;
+            cursor = packFighter(next++, c, cursor, maxAbilities);
+        }
+        for (Character c : fighters2) {
+            order2[next - fighters1.size()] = next;
+            cursor = packFighter(next++, c, cursor, maxAbilities);
+        }
+        fighterCount = count;
+        size1 = fighters1.size();
+        size2 = fighters2.size();
+        aliveCount[0] = fillAlive(alive1, order1, size1);
+        aliveCount[1] = fillAlive(alive2, order2, size2);
+        Arrays.fill(damage, 0, count, 0);
+    }
+
+    /**
+     * Same initial order as AliveSet: standing fighters in team order.
+     */
+    private int fillAlive(int[] alive, int[] order, int size) {
+        int count = 0;
+        for (int p = 0; p < size; p++) {
+            int f = order[p];
+            if (health[f] > 0) {
+                slot[f] = count;
+                alive[count++] = f;
+            }
+        }
+        return count;
+    }
+
+    private int packFighter(int f, Character c, int cursor, int maxAbilities) {
+        names[f] = c.getName();
+        health[f] = c.getHealth();
+        maxHealth[f] = c.getMaxHealth();
+        strength[f] = c.getStrength();
+        agility[f] = c.getAgility();
+        intelligence[f] = c.getIntelligence();
+        int count = c.getAbilityCount();
+        abilityStart[f] = cursor;
+        abilityCount[f] = count;
+        abilitiesValid[f] = count <= maxAbilities;
+        int mask = 0;
+        for (int i = 0; i < count; i++) {
+            int code = abilityCode(c.getAbilityAt(i));
+            abilityCodes[cursor++] = code;
+            mask |= 1 << code;
+        }
+        abilityMask[f] = mask;
+        return cursor;
+    }
+
+    private void ensureCapacity(int count, int count1, int count2, int totalAbilities) {
+        if (names.length < count) {
+            names = new String[count];
+            slot = new int[count];
+            health = new int[count];
+            maxHealth = new int[count];
+            strength = new int[count];
+            agility = new int[count];
+            intelligence = new int[count];
+            abilityMask = new int[count];
+            abilityStart = new int[count];
+            abilityCount = new int[count];
+            abilitiesValid = new boolean[count];
+            damage = new int[count];
+        }
+        if (order1.length < count1) {
+            order1 = new int[count1];
+            alive1 = new int[count1];
+        }
+        if (order2.length < count2) {
+            order2 = new int[count2];
+            alive2 = new int[count2];
+        }
+        if (abilityCodes.length < totalAbilities) {
+            abilityCodes = new int[totalAbilities];
+        }
+    }
+
+    // ===== Rounds =====
+
+    private void executeTurn(int[] attackers, int attackerCount, int[] defenders, int defenderSide,
+                             int kind, double[] parameters, CombatRandom strategyRandom, CombatRandom battleRandom,
+                             CombatRandom rolls) {
+        for (int p = 0; p < attackerCount; p++) {
+            int attacker = attackers[p];
+            if (health[attacker] <= 0) continue;
+            if (aliveCount[defenderSide] == 0) break;
+
+            int target = defenders[battleRandom.nextInt(aliveCount[defenderSide])];
+            int action = chooseAction(kind, parameters, strategyRandom, attacker, target);
+            apply(action, attacker, target, defenders, defenderSide, rolls);
+        }
+    }
+
+    /**
+     * Decision rules of AggressiveStrategy, DefensiveStrategy and BalancedStrategy,
+     * with thresholds in StrategyParameters order.
+     */
+    private int chooseAction(int kind, double[] parameters, CombatRandom random, int actor, int target) {
+        int count = abilityCount[actor];
+        switch (kind) {
+            case AGGRESSIVE:
+                if (count > 0 && random.nextDouble() > parameters[0] && (abilityMask[actor] & OFFENSIVE_MASK) != 0) {
+                    int start = abilityStart[actor];
+                    for (int i = start; i < start + count; i++) {
+                        if (((1 << abilityCodes[i]) & OFFENSIVE_MASK) != 0) return abilityCodes[i];
+                    }
+                }
+                return ACTION_ATTACK;
+            case DEFENSIVE:
+                if ((double) health[actor] / maxHealth[actor] < parameters[0]) {
+                    return hasAbility(actor, REGENERATION) ? REGENERATION : ACTION_DEFEND;
+                }
+                return random.nextDouble() > parameters[1] ? ACTION_ATTACK : ACTION_DEFEND;
+            default:
+                if ((double) health[actor] / maxHealth[actor] < parameters[0]) {
+                    if (hasAbility(actor, REGENERATION) && random.nextDouble() > parameters[1]) {
+                        return REGENERATION;
+                    }
+                    return ACTION_DEFEND;
+                }
+                if ((double) health[target] / maxHealth[target] < parameters[2]) {
+                    if (count > 0 && random.nextDouble() > parameters[3]) {
+                        return abilityCodes[abilityStart[actor] + random.nextInt(count)];
+                    }
+                    return ACTION_ATTACK;
+                }
+                double roll = random.nextDouble();
+                if (roll > parameters[4]) {
+                    return ACTION_DEFEND;
+                } else if (roll > parameters[5] && count > 0) {
+                    return abilityCodes[abilityStart[actor] + random.nextInt(count)];
+                }
+                return ACTION_ATTACK;
+        }
+    }
+
+    private boolean hasAbility(int fighter, int code) {
+        return (abilityMask[fighter] & (1 << code)) != 0;
+    }
+
+    /**
+     * Same effects as AttackCommand, DefendCommand and UseAbilityCommand.
+     */
+    private void apply(int action, int actor, int target, int[] defenders, int defenderSide,
+                       CombatRandom rolls) {
+        switch (action) {
+            case ACTION_ATTACK: {
+                int powerLevel = strength[actor] + agility[actor] + intelligence[actor] + abilityCount[actor] * 5;
+                int dealt = strength[actor] + rolls.nextInt(BASE_DAMAGE_VARIANCE + 1) + powerLevel / 10;
+                int critChance = Math.min(30, agility[actor] / 2);
+                if (rolls.nextInt(100) < critChance) {
+                    dealt = (int) (dealt * 1.5);
+                }
+                hit(actor, target, dealt, defenders, defenderSide);
+                return;
+            }
+            case ACTION_DEFEND:
+                heal(actor, DEFENSE_BONUS + agility[actor] / 2);
+                return;
+            default:
+                break;
+        }
+
+        if (!abilitiesValid[actor]) return;
+        switch (action) {
+            case INVISIBILITE:
+                agility[actor] += 3;
+                break;
+            case TELEPATHIE:
+                hit(actor, target, intelligence[actor], defenders, defenderSide);
+                break;
+            case SUPER_FORCE:
+                hit(actor, target, strength[actor] * 2, defenders, defenderSide);
+                break;
+            case REGENERATION:
+                heal(actor, REGENERATION_HEAL);
+                break;
+            case POUVOIR_DU_FEU:
+                hit(actor, target, strength[actor] + intelligence[actor], defenders, defenderSide);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void hit(int actor, int target, int amount, int[] defenders, int defenderSide) {
+        int before = health[target];
+        int after = Math.max(0, before - amount);
+        health[target] = after;
+        if (before > after) {
+            damage[actor] += before - after;
+        }
+        if (after == 0 && before > 0) {
+            int last = defenders[--aliveCount[defenderSide]];
+            defenders[slot[target]] = last;
+            slot[last] = slot[target];
+        }
+    }
+
+    private void heal(int fighter, int amount) {
+        health[fighter] = Math.min(maxHealth[fighter], health[fighter] + amount);
+    }
+
+    /**
+     * Drops knocked-out fighters from a side, keeping the original order.
+     * Written as a plain counted loop so the JIT can keep it tight.
+     */
+    private int compact(int[] order, int size) {
+        int kept = 0;
+        for (int p = 0; p < size; p++) {
+            int f = order[p];
+            order[kept] = f;
+            kept += health[f] > 0 ? 1 : 0;
+        }
+        return kept;
+    }
+
+    // ===== Result =====
+
+    private BattleResult result(BattleResult.Outcome outcome, String winnerName, int rounds) {
+        List<String> survivors = new ArrayList<>();
+        if (outcome != BattleResult.Outcome.TEAM2_WIN) {
+            for (int p = 0; p < size1; p++) survivors.add(names[order1[p]]);
+        }
+        if (outcome != BattleResult.Outcome.TEAM1_WIN) {
+            for (int p = 0; p < size2; p++) survivors.add(names[order2[p]]);
+        }
+        Map<String, Integer> damageDealt = new LinkedHashMap<>();
+        for (int f = 0; f < fighterCount; f++) {
+            if (damage[f] > 0) {
+                damageDealt.merge(names[f], damage[f], Integer::sum);
+            }
+        }
+        return new BattleResult(outcome, winnerName, rounds, survivors, damageDealt);
+    }
+}
@@ -0,0 +1,42 @@
+package com.rpg.combat;
+
+import com.rpg.model.Character;
+
+/**
+ * Instrumentation hooks of the combat rules, called by CombatEngine where damage, healing,
+ * critical hits and K.O. happen, whoever runs the battle (TeamBattle, BattleSimulator, replays).
+ *
+ * Unlike CombatEventSink, which describes actions for display, a probe measures effects: the
+ * damage actually taken after clamping, the health actually restored. CombatStatistics and
+ * StatisticsAggregator.probe() are probes.
+ *
+ * Probes cost nothing when nobody is looking. The engine holds NONE by default and checks for it
+ * before computing anything. Starting the JVM with -Drpg.probes=false makes ENABLED a false
+ * constant, and the JIT then removes the probe code from the rules altogether.
+ */
+public interface CombatProbe {
+    /**
+     * Global switch, read once: when false, engines never call their probe.
+     */
+    boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("rpg.probes"));
+
+    /**
+     * Probe that ignores everything, the default of every engine.
+     */
+    CombatProbe NONE = new CombatProbe() { };
+
+    /**
+     * @param attacker The fighter dealing the damage
+     * @param amount Health actually lost by the target, after clamping at 0
+     */
+    default void onDamage(Character attacker, Character target, int amount) { }
+
+    default void onCriticalHit(Character attacker) { }
+
+    /**
+     * @param amount Health actually restored, after capping at the maximum
+     */
+    default void onHealing(Character character, int amount) { }
+
+    default void onKnockOut(Character fighter) { }
+}
@@ -1,6 +1,8 @@
 package com.rpg.combat;
 
-import com.rpg.util.DisplayUtil;
+import com.rpg.model.Character;
+import com.rpg.observer.CombatEventSink;
+import com.rpg.observer.ConsoleCombatRenderer;
 import java.util.*;
 
 /**
@@ -10,22 +12,31 @@ import java.util.*;
  * - Total damage dealt per character
  * - DPS (damage per second)
  * - Critical hits counter
+ * - Healing received per character
  * - Turn counter
+ * - Distributions of damage per hit and action time (LogHistogram), for percentiles
+ *
+ * Subscribes to combat events for turns and K.O., and probes the engine (CombatProbe) for
+ * damage, critical hits and healing; rendering is done by ConsoleCombatRenderer.
  */
-public class CombatStatistics {
+public class CombatStatistics implements CombatEventSink, CombatProbe {
     private Map<String, Integer> actionsCount;
     private Map<String, Integer> damageDealt;
     private Map<String, Integer> criticalHits;
+    private Map<String, Integer> healingReceived;
     private List<String> koList;
     private int totalActions;
     private int totalTurns;
     private long startTime;
-    private static final int MAX_TURNS = 100; // Stalemate threshold
+    private final LogHistogram damagePerHit = new LogHistogram();
+    private final LogHistogram actionNanos = new LogHistogram();
+    public static final int MAX_TURNS = 100; // Stalemate threshold
     
     public CombatStatistics() {
         this.actionsCount = new HashMap<>();
         this.damageDealt = new HashMap<>();
         this.criticalHits = new HashMap<>();
+        this.healingReceived = new HashMap<>();
         this.koList = new ArrayList<>();
         this.totalActions = 0;
         this.totalTurns = 0;
@@ -35,9 +46,12 @@ public class CombatStatistics {
         actionsCount.clear();
         damageDealt.clear();
         criticalHits.clear();
+        healingReceived.clear();
         koList.clear();
         totalActions = 0;
         totalTurns = 0;
+        damagePerHit.reset();
+        actionNanos.reset();
         startTime = System.currentTimeMillis();
     }
     
@@ -46,14 +60,32 @@ public class CombatStatistics {
         totalActions++;
     }
     
+    /**
+     * Records one hit: adds to the character's total and to the damage distribution.
+     */
     public void recordDamage(String character, int damage) {
         damageDealt.put(character, damageDealt.getOrDefault(character, 0) + damage);
+        damagePerHit.record(damage);
+    }
+
+    /**
+     * @param nanos Time taken to resolve one action
+     */
+    public void recordActionTime(long nanos) {
+        actionNanos.record(nanos);
     }
     
     public void recordCriticalHit(String character) {
         criticalHits.put(character, criticalHits.getOrDefault(character, 0) + 1);
     }
     
+    /**
+     * @param amount Health actually restored to the character
+     */
+    public void recordHealing(String character, int amount) {
+        healingReceived.put(character, healingReceived.getOrDefault(character, 0) + amount);
+    }
+
     public void recordKO(String character) {
         koList.add(character);
     }
@@ -74,51 +106,77 @@ public class CombatStatistics {
         return MAX_TURNS;
     }
     
+    @Override
+    public void roundStarted(int round) {
+        incrementTurn();
+    }
+
+    @Override
+    public void knockedOut(Character fighter) {
+        recordKO(fighter.getName());
+    }
+
+    @Override
+    public void onDamage(Character attacker, Character target, int amount) {
+        recordDamage(attacker.getName(), amount);
+    }
+
+    @Override
+    public void onCriticalHit(Character attacker) {
+        recordCriticalHit(attacker.getName());
+    }
+
+    @Override
+    public void onHealing(Character character, int amount) {
+        recordHealing(character.getName(), amount);
+    }
+
+    public int getTotalActions() {
+        return totalActions;
+    }
+
+    public Map<String, Integer> getActionsCount() {
+        return Collections.unmodifiableMap(actionsCount);
+    }
+
+    public Map<String, Integer> getDamageDealt() {
+        return Collections.unmodifiableMap(damageDealt);
+    }
+
+    public Map<String, Integer> getCriticalHits() {
+        return Collections.unmodifiableMap(criticalHits);
+    }
+
+    public Map<String, Integer> getHealingReceived() {
+        return Collections.unmodifiableMap(healingReceived);
+    }
+
+    public List<String> getKOList() {
+        return Collections.unmodifiableList(koList);
+    }
+
+    /**
+     * @return The live distribution of damage per hit; read it, do not record into it
+     */
+    public LogHistogram getDamagePerHit() {
+        return damagePerHit;
+    }
+
+    /**
+     * @return The live distribution of action times in nanoseconds; read it, do not record into it
+     */
+    public LogHistogram getActionNanos() {
+        return actionNanos;
+    }
+
+    /**
+     * @return Seconds elapsed since the last reset()
+     */
+    public long getDurationSeconds() {
+        return (System.currentTimeMillis() - startTime) / 1000;
+    }
+
     public void displayStatistics() {
-        long duration = (System.currentTimeMillis() - startTime) / 1000;
-        
-        System.out.println("\n" + DisplayUtil.createBorder("📊 STATISTIQUES DU COMBAT 📊", 70));
-        
-        System.out.println(DisplayUtil.colorize("  Durée du combat: ", DisplayUtil.CYAN) + duration + " secondes");
-        System.out.println(DisplayUtil.colorize("  Nombre de tours: ", DisplayUtil.CYAN) + totalTurns);
-        System.out.println(DisplayUtil.colorize("  Total d'actions: ", DisplayUtil.CYAN) + totalActions);
-        
-        if (!actionsCount.isEmpty()) {
-            System.out.println("\n" + DisplayUtil.colorize("  Actions par combattant:", DisplayUtil.BOLD));
-            
-            // Trier par nombre d'actions
-            List<Map.Entry<String, Integer>> sorted = new ArrayList<>(actionsCount.entrySet());
-            sorted.sort((a, b) -> b.getValue().compareTo(a.getValue()));
-            
-            for (Map.Entry<String, Integer> entry : sorted) {
-                int percentage = (int)((double)entry.getValue() / totalActions * 100);
-                System.out.println(String.format("    • %-20s: %2d actions (%d%%)", 
-                    entry.getKey(), entry.getValue(), percentage));
-            }
-        }
-        
-        if (!damageDealt.isEmpty()) {
-            System.out.println("\n" + DisplayUtil.colorize("  Dégâts infligés:", DisplayUtil.BOLD));
-            
-            List<Map.Entry<String, Integer>> sortedDamage = new ArrayList<>(damageDealt.entrySet());
-            sortedDamage.sort((a, b) -> b.getValue().compareTo(a.getValue()));
-            
-            for (Map.Entry<String, Integer> entry : sortedDamage) {
-                int dps = duration > 0 ? entry.getValue() / (int)duration : entry.getValue();
-                String crits = criticalHits.containsKey(entry.getKey()) ? 
-                    " (★" + criticalHits.get(entry.getKey()) + " crits)" : "";
-                System.out.println(String.format("    • %-20s: %3d dégâts (DPS: %d)%s", 
-                    entry.getKey(), entry.getValue(), dps, crits));
-            }
-        }
-        
-        if (!koList.isEmpty()) {
-            System.out.println("\n" + DisplayUtil.colorize("  K.O. (ordre):", DisplayUtil.RED));
-            for (int i = 0; i < koList.size(); i++) {
-                System.out.println("    " + (i+1) + ". " + koList.get(i));
-            }
-        }
-        
-        System.out.println("\n" + DisplayUtil.closeBorder(70));
+        new ConsoleCombatRenderer().renderStatistics(this);
     }
 } 
\ No newline at end of file
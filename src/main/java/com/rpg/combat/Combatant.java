@@ -0,0 +1,57 @@
+package com.rpg.combat;
+
+import com.rpg.model.Character;
+
+/**
+ * Battle-scoped copy of a roster character.
+ * Commands mutate the combatant (health, agility...), never the roster character,
+ * which stays reachable through getSource() to award experience after the battle.
+ */
+public class Combatant extends Character {
+    private Character source;
+    private int index;
+
+    /**
+     * @param source The roster character
+     * @param index Position of the combatant in its BattleContext
+     */
+    public Combatant(Character source, int index) {
+        super(source);
+        this.source = source;
+        this.index = index;
+    }
+
+    /**
+     * Copies another combatant of the same battle, keeping its source and index.
+     * Used to freeze and restore snapshots.
+     */
+    Combatant(Combatant other) {
+        super(other);
+        this.source = other.source;
+        this.index = other.index;
+    }
+
+    /**
+     * Turns this combatant into a copy of another, keeping nothing of its previous state.
+     * Used by ParallelBattleSimulator to reuse scratch copies.
+     */
+    void assign(Combatant other) {
+        copyFrom(other);
+        this.source = other.source;
+        this.index = other.index;
+    }
+
+    /**
+     * @return The roster character this combatant was copied from
+     */
+    public Character getSource() {
+        return source;
+    }
+
+    /**
+     * @return Position of the combatant in its BattleContext, used to identify it in action logs
+     */
+    public int getIndex() {
+        return index;
+    }
+}
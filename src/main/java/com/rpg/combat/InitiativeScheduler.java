@@ -0,0 +1,188 @@
+package com.rpg.combat;
+
+import com.rpg.model.Character;
+
+/**
+ * Action timeline of a tick-driven battle: each fighter acts at its own pace, set by its agility.
+ *
+ * A fighter with AGILITY_PIVOT agility acts once per round (TICKS_PER_ROUND ticks), a fighter
+ * with no agility every two rounds, and every AGILITY_PIVOT more points add half an action per
+ * round. The interval is taken from the current agility each time a fighter is rescheduled, so
+ * Invisibilite speeds its user up from its next action.
+ *
+ * Fighters sit in an indexed binary min-heap ordered by (next action tick, combatant index):
+ * poll, reschedule and removal on K.O. are O(log n), so a tick never scans the roster.
+ * Ties go to the lowest index, i.e. team 1 before team 2 and roster order within a team.
+ *
+ * Members are addressed by their combatant index, so a scheduler is sized to the whole
+ * BattleContext. Not thread-safe: a scheduler belongs to its battle.
+ */
+public class InitiativeScheduler {
+
+    /**
+     * How the fighters of a battle take turns.
+     */
+    public enum TurnOrder {
+        /** All of team 1 acts, then all of team 2, once per round (default) */
+        TEAM_TURNS,
+        /** Each fighter acts when its agility-based timer comes up, both teams interleaved */
+        INITIATIVE
+    }
+
+    public static final long TICKS_PER_ROUND = 1000;
+    public static final int AGILITY_PIVOT = 15;
+
+    private final Combatant[] members;
+    private final long[] nextTick;
+    private final int[] heap;
+    private final int[] heapPosition;
+    private int size;
+
+    /**
+     * @param capacity Number of combatants of the battle (indices are below it)
+     */
+    public InitiativeScheduler(int capacity) {
+        this.members = new Combatant[capacity];
+        this.nextTick = new long[capacity];
+        this.heap = new int[capacity];
+        this.heapPosition = new int[capacity];
+    }
+
+    /**
+     * @return Ticks between two actions of a fighter with this character's current agility
+     */
+    public static long interval(Character character) {
+        return interval(character.getAgility());
+    }
+
+    /**
+     * @return Ticks between two actions of a fighter with this agility
+     */
+    public static long interval(int agility) {
+        return Math.max(1, 2 * TICKS_PER_ROUND * AGILITY_PIVOT / (AGILITY_PIVOT + Math.max(0, agility)));
+    }
+
+    /**
+     * @return The round a tick belongs to: round r covers ticks ((r - 1) * TICKS_PER_ROUND, r * TICKS_PER_ROUND]
+     */
+    public static int roundOf(long tick) {
+        return (int) ((tick + TICKS_PER_ROUND - 1) / TICKS_PER_ROUND);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(Combatant fighter) {
+        int index = fighter.getIndex();
+        return index < members.length && members[index] == fighter;
+    }
+
+    /**
+     * Adds a fighter acting at the given tick, or moves it there if already scheduled.
+     */
+    public void schedule(Combatant fighter, long tick) {
+        int index = fighter.getIndex();
+        if (members[index] != fighter) {
+            members[index] = fighter;
+            nextTick[index] = tick;
+            heap[size] = index;
+            heapPosition[index] = size;
+            siftUp(size++);
+            return;
+        }
+        long previous = nextTick[index];
+        nextTick[index] = tick;
+        if (tick < previous) {
+            siftUp(heapPosition[index]);
+        } else {
+            siftDown(heapPosition[index]);
+        }
+    }
+
+    /**
+     * @return The fighter acting next, or null if none is scheduled
+     */
+    public Combatant peek() {
+        return size == 0 ? null : members[heap[0]];
+    }
+
+    /**
+     * @return The tick of the next action, or Long.MAX_VALUE if none is scheduled
+     */
+    public long peekTick() {
+        return size == 0 ? Long.MAX_VALUE : nextTick[heap[0]];
+    }
+
+    /**
+     * @return The tick a scheduled fighter acts at
+     */
+    public long tickOf(Combatant fighter) {
+        return nextTick[fighter.getIndex()];
+    }
+
+    /**
+     * Reschedules a fighter that just acted at the given tick, one interval later
+     * according to its current agility.
+     */
+    public void reschedule(Combatant fighter, long tick) {
+        schedule(fighter, tick + interval(fighter));
+    }
+
+    /**
+     * Removes a fighter in O(log n). Ignores fighters that are not scheduled.
+     */
+    public void remove(Combatant fighter) {
+        if (!contains(fighter)) {
+            return;
+        }
+        int index = fighter.getIndex();
+        int position = heapPosition[index];
+        int moved = heap[--size];
+        members[index] = null;
+        if (position < size) {
+            heap[position] = moved;
+            heapPosition[moved] = position;
+            siftUp(position);
+            siftDown(heapPosition[moved]);
+        }
+    }
+
+    // ===== Heap on (tick, index) =====
+
+    private boolean earlier(int a, int b) {
+        return nextTick[a] < nextTick[b] || (nextTick[a] == nextTick[b] && a < b);
+    }
+
+    private void siftUp(int position) {
+        int index = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!earlier(index, heap[parent])) break;
+            heap[position] = heap[parent];
+            heapPosition[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = index;
+        heapPosition[index] = position;
+    }
+
+    private void siftDown(int position) {
+        int index = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) break;
+            if (child + 1 < size && earlier(heap[child + 1], heap[child])) child++;
+            if (!earlier(heap[child], index)) break;
+            heap[position] = heap[child];
+            heapPosition[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = index;
+        heapPosition[index] = position;
+    }
+}
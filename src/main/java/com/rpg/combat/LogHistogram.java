@@ -0,0 +1,214 @@
+package com.rpg.combat;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-memory histogram of non-negative longs with log-scaled buckets, in the style of
+ * HdrHistogram, used as a mergeable quantile sketch for damage, battle length and action time.
+ *
+ * Values below 128 have their own bucket. Above, each power of two is split into 64 buckets,
+ * so a recorded value is known within 1/64 (1.6%) of itself whatever its magnitude, from one hit
+ * point to hours in nanoseconds. The layout is the same for every histogram, so merging is a
+ * plain addition of bucket counts: histograms recorded on different threads or in different runs
+ * combine exactly as if all values had gone into one.
+ *
+ * Recording is a few shifts and an array increment, with no allocation. Not thread-safe: record
+ * into one histogram per thread or battle and merge them, or use StatisticsAggregator.
+ */
+public class LogHistogram {
+    static final int SUB_BUCKET_BITS = 7;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    /** Number of buckets needed to cover every non-negative long */
+    static final int BUCKET_COUNT = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    /**
+     * Records a value. Negative values are recorded as 0.
+     */
+    public void record(long value) {
+        record(value, 1);
+    }
+
+    /**
+     * Records a value count times.
+     */
+    public void record(long value, long count) {
+        if (count <= 0) {
+            return;
+        }
+        long v = Math.max(0, value);
+        counts[bucketOf(v)] += count;
+        totalCount += count;
+        sum += v * count;
+        if (v < min) min = v;
+        if (v > max) max = v;
+    }
+
+    /**
+     * Adds every value of another histogram to this one.
+     */
+    public void merge(LogHistogram other) {
+        if (other.totalCount == 0) {
+            return;
+        }
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public LogHistogram copy() {
+        LogHistogram copy = new LogHistogram();
+        copy.merge(this);
+        return copy;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * @return The smallest value recorded, 0 if empty
+     */
+    public long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0.0 : (double) sum / totalCount;
+    }
+
+    /**
+     * @param quantile Between 0 and 1, e.g. 0.99 for the 99th percentile
+     * @return A value at most 1.6% above the true quantile (never above the maximum), 0 if empty
+     */
+    public long getValueAtQuantile(double quantile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double q = Math.min(1.0, Math.max(0.0, quantile));
+        long rank = Math.max(1, (long) Math.ceil(q * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.max(getMin(), Math.min(max, highestValueOf(i)));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return The histogram as "count;sum;min;max;bucket:count,...", the format read by parse()
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(totalCount).append(';').append(sum).append(';').append(getMin()).append(';').append(max).append(';');
+        boolean first = true;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (counts[i] != 0) {
+                if (!first) sb.append(',');
+                sb.append(i).append(':').append(counts[i]);
+                first = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Reads a histogram written by format(), e.g. to merge the results of an earlier run.
+     */
+    public static LogHistogram parse(String text) {
+        String[] parts = text.trim().split(";", -1);
+        if (parts.length != 5) {
+            throw new IllegalArgumentException("Histogramme invalide: " + text);
+        }
+        LogHistogram histogram = new LogHistogram();
+        try {
+            if (!parts[4].isEmpty()) {
+                for (String bucket : parts[4].split(",")) {
+                    int colon = bucket.indexOf(':');
+                    histogram.counts[Integer.parseInt(bucket.substring(0, colon))] +=
+                        Long.parseLong(bucket.substring(colon + 1));
+                }
+            }
+            histogram.totalCount = Long.parseLong(parts[0]);
+            histogram.sum = Long.parseLong(parts[1]);
+            histogram.min = histogram.totalCount == 0 ? Long.MAX_VALUE : Long.parseLong(parts[2]);
+            histogram.max = Long.parseLong(parts[3]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Histogramme invalide: " + text, e);
+        }
+        return histogram;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d moy=%.1f p50=%d p99=%d p99.9=%d max=%d", totalCount, getMean(),
+                             getValueAtQuantile(0.5), getValueAtQuantile(0.99), getValueAtQuantile(0.999), max);
+    }
+
+    // ===== Bucket layout, shared with StatisticsAggregator =====
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (int) (value >>> shift) - HALF_SUB_BUCKETS;
+    }
+
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+        long mantissa = HALF_SUB_BUCKETS + (bucket - SUB_BUCKETS) % HALF_SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1; // Wraps to Long.MAX_VALUE for the last bucket
+    }
+
+    long countAt(int bucket) {
+        return counts[bucket];
+    }
+
+    /**
+     * Adds raw bucket counts and summary values, for StatisticsAggregator.
+     */
+    void add(long[] bucketCounts, long count, long valueSum, long valueMin, long valueMax) {
+        if (count == 0) {
+            return;
+        }
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += bucketCounts[i];
+        }
+        totalCount += count;
+        sum += valueSum;
+        min = Math.min(min, valueMin);
+        max = Math.max(max, valueMax);
+    }
+}
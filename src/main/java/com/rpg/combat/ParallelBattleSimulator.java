@@ -0,0 +1,357 @@
+package com.rpg.combat;
+
+import com.rpg.command.Command;
+import com.rpg.command.CommandPool;
+import com.rpg.composite.TeamComposite;
+import com.rpg.model.Character;
+import com.rpg.observer.CombatEventSink;
+import com.rpg.random.CombatRandom;
+import com.rpg.random.SplittableCombatRandom;
+import com.rpg.strategy.CombatStrategy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+/**
+ * Headless team battle runner resolving each side's turn in two phases, for army-vs-army battles.
+ *
+ * Phase 1 runs in parallel on a fork/join pool: every standing attacker picks its target, chooses
+ * its action and rolls its effect against the state at the start of the turn, on private copies
+ * of itself and its target. Phase 2 applies the resulting health and agility deltas sequentially,
+ * in attacker order, to the real combatants. An attack on a defender already knocked out earlier
+ * in the merge is lost.
+ *
+ * Each attacker draws from its own stream derived from the battle seed, the round, the side and
+ * its combatant index, so the result is the same whatever the number of threads. The rules differ
+ * from BattleSimulator, where each action sees the effects of the previous one, so the two do not
+ * give the same results for the same seed.
+ *
+ * Attackers are planned in fixed chunks of CHUNK_SIZE positions, each with its own Planner kept
+ * for the whole battle: a strategy instance, a command pool, a reseeded random stream and engine,
+ * and scratch copies of the attacker and its target, so planning does not allocate per action.
+ * Actions are not published to the event sink, only rounds, turns and K.O.
+ */
+public class ParallelBattleSimulator {
+    private static final int CHUNK_SIZE = 256;
+
+    private final ForkJoinPool pool;
+    private TerminationPolicy termination = TerminationPolicy.TURN_LIMIT;
+    private CombatEventSink sink = CombatEventSink.NONE;
+
+    /**
+     * Creates a simulator running on the common fork/join pool.
+     */
+    public ParallelBattleSimulator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelBattleSimulator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Sets when every following battle stops with a draw.
+     * @param termination The policy, TerminationPolicy.TURN_LIMIT by default
+     */
+    public void setTerminationPolicy(TerminationPolicy termination) {
+        this.termination = termination;
+    }
+
+    /**
+     * Sets the subscriber of the round, turn and K.O. events of every following battle.
+     */
+    public void setEventSink(CombatEventSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Runs a full battle between two teams.
+     * Strategies are created per chunk of attackers, once per battle, because they hold their own
+     * random state.
+     * @param seed Battle seed; the same seed always gives the same result
+     * @return The battle result
+     */
+    public BattleResult simulate(TeamComposite team1, TeamComposite team2,
+                                 Supplier<? extends CombatStrategy> strategy1,
+                                 Supplier<? extends CombatStrategy> strategy2, long seed) {
+        BattleContext context = new BattleContext(seed);
+        List<Combatant> fighters1 = context.enlist(team1);
+        List<Combatant> fighters2 = context.enlist(team2);
+        if (fighters1.isEmpty() || fighters2.isEmpty()) {
+            throw new IllegalArgumentException("Les équipes doivent avoir au moins un combattant!");
+        }
+
+        int capacity = context.getCombatants().size();
+        AliveSet alive1 = new AliveSet(fighters1, capacity, AliveSet.Targeting.RANDOM);
+        AliveSet alive2 = new AliveSet(fighters2, capacity, AliveSet.Targeting.RANDOM);
+        Intents intents = new Intents(capacity);
+        Planner[] planners1 = new Planner[chunks(fighters1.size())];
+        Planner[] planners2 = new Planner[chunks(fighters2.size())];
+        DamageTally damageDealt = new DamageTally(context.getCombatants());
+
+        // Ends at the latest when the termination policy reaches its round limit
+        for (int round = 1; ; round++) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Combat annulé au round " + round);
+            }
+            sink.roundStarted(round);
+
+            sink.turnStarted(team1.getName(), 1);
+            Turn turn1 = new Turn(seed, round, 1, fighters1, alive2, strategy1, planners1, intents);
+            playTurn(turn1, alive2, damageDealt);
+            removeKnockedOut(fighters2);
+            if (fighters2.isEmpty()) {
+                return result(BattleResult.Outcome.TEAM1_WIN, team1.getName(), round, fighters1, damageDealt);
+            }
+
+            sink.turnStarted(team2.getName(), 2);
+            Turn turn2 = new Turn(seed, round, 2, fighters2, alive1, strategy2, planners2, intents);
+            playTurn(turn2, alive1, damageDealt);
+            removeKnockedOut(fighters1);
+            if (fighters1.isEmpty()) {
+                return result(BattleResult.Outcome.TEAM2_WIN, team2.getName(), round, fighters2, damageDealt);
+            }
+
+            if (termination.isDraw(round, fighters1, fighters2)) {
+                List<Character> standing = new ArrayList<>(fighters1);
+                standing.addAll(fighters2);
+                return result(BattleResult.Outcome.DRAW, null, termination.getMaxRounds(), round, standing, damageDealt);
+            }
+        }
+    }
+
+    private void playTurn(Turn turn, AliveSet defending, DamageTally damageDealt) {
+        int chunks = chunks(turn.attackers.size());
+        if (chunks == 1) {
+            turn.plan(0);
+        } else {
+            pool.invoke(new PlanTask(turn, 0, chunks));
+        }
+        merge(turn, defending, damageDealt);
+    }
+
+    private static int chunks(int attackers) {
+        return Math.max(1, (attackers + CHUNK_SIZE - 1) / CHUNK_SIZE);
+    }
+
+    /**
+     * Phase 2: applies the planned deltas in attacker order.
+     */
+    private void merge(Turn turn, AliveSet defending, DamageTally damageDealt) {
+        Intents intents = turn.intents;
+        for (Combatant attacker : turn.attackers) {
+            int index = attacker.getIndex();
+            if (!intents.planned[index]) continue;
+            intents.planned[index] = false;
+
+            attacker.setHealth(attacker.getHealth() + intents.actorHealth[index]);
+            attacker.setAgility(attacker.getAgility() + intents.actorAgility[index]);
+
+            Combatant target = intents.target[index];
+            int before = target.getHealth();
+            if (intents.targetHealth[index] != 0 && before > 0) {
+                target.setHealth(Math.max(0, before + intents.targetHealth[index]));
+                int damage = before - target.getHealth();
+                if (damage > 0) {
+                    damageDealt.damage[index] += damage;
+                }
+                defending.update(target);
+            }
+        }
+    }
+
+    private void removeKnockedOut(List<Combatant> fighters) {
+        fighters.removeIf(fighter -> {
+            if (fighter.getHealth() > 0) {
+                return false;
+            }
+            sink.knockedOut(fighter);
+            return true;
+        });
+    }
+
+    private BattleResult result(BattleResult.Outcome outcome, String winnerName, int rounds,
+                                List<? extends Character> standing, DamageTally damageDealt) {
+        return result(outcome, winnerName, rounds, rounds, standing, damageDealt);
+    }
+
+    private BattleResult result(BattleResult.Outcome outcome, String winnerName, int rounds, int roundsPlayed,
+                                List<? extends Character> standing, DamageTally damageDealt) {
+        List<String> survivors = new ArrayList<>();
+        for (Character fighter : standing) {
+            survivors.add(fighter.getName());
+        }
+        return new BattleResult(outcome, winnerName, rounds, roundsPlayed, survivors, damageDealt.byName(), null);
+    }
+
+    /**
+     * Damage dealt per combatant index, summed by name only for the result, so that merging
+     * a turn does not box a total per hit.
+     */
+    private static class DamageTally {
+        final List<Combatant> combatants;
+        final int[] damage;
+
+        DamageTally(List<Combatant> combatants) {
+            this.combatants = combatants;
+            this.damage = new int[combatants.size()];
+        }
+
+        Map<String, Integer> byName() {
+            Map<String, Integer> byName = new HashMap<>();
+            for (int i = 0; i < damage.length; i++) {
+                if (damage[i] > 0) {
+                    byName.merge(combatants.get(i).getName(), damage[i], Integer::sum);
+                }
+            }
+            return byName;
+        }
+    }
+
+    /**
+     * Planned effects of the current turn, by attacker combatant index.
+     * Each attacker writes only its own slots, so workers never share a slot.
+     */
+    private static class Intents {
+        final boolean[] planned;
+        final Combatant[] target;
+        final int[] targetHealth;
+        final int[] actorHealth;
+        final int[] actorAgility;
+
+        Intents(int capacity) {
+            planned = new boolean[capacity];
+            target = new Combatant[capacity];
+            targetHealth = new int[capacity];
+            actorHealth = new int[capacity];
+            actorAgility = new int[capacity];
+        }
+    }
+
+    /**
+     * Reusable state of one chunk of a side's attackers, only used by one worker at a time.
+     */
+    private static class Planner {
+        final CombatStrategy strategy;
+        final CommandPool commands = new CommandPool();
+        final SplittableCombatRandom random = new SplittableCombatRandom(0);
+        final SplittableCombatRandom strategyRandom = new SplittableCombatRandom(0);
+        final CombatEngine engine = new CombatEngine(random);
+        Combatant actor;
+        Combatant foe;
+
+        Planner(CombatStrategy strategy) {
+            this.strategy = strategy;
+            strategy.setRandom(strategyRandom);
+        }
+
+        static Combatant copy(Combatant scratch, Combatant original) {
+            if (scratch == null) {
+                return new Combatant(original);
+            }
+            scratch.assign(original);
+            return scratch;
+        }
+    }
+
+    /**
+     * One side's turn: read-only inputs of phase 1, and the side's planners.
+     * The defending set only changes in phase 2, so workers can pick targets from it concurrently.
+     */
+    private static class Turn {
+        final long seed;
+        final int round;
+        final int side;
+        final List<Combatant> attackers;
+        final AliveSet targets;
+        final Supplier<? extends CombatStrategy> strategy;
+        final Planner[] planners;
+        final Intents intents;
+
+        Turn(long seed, int round, int side, List<Combatant> attackers, AliveSet defending,
+             Supplier<? extends CombatStrategy> strategy, Planner[] planners, Intents intents) {
+            this.seed = seed;
+            this.round = round;
+            this.side = side;
+            this.attackers = attackers;
+            this.targets = defending;
+            this.strategy = strategy;
+            this.planners = planners;
+            this.intents = intents;
+        }
+
+        /**
+         * Phase 1 for one chunk of attackers: chooses and rolls every action on scratch copies.
+         */
+        void plan(int chunk) {
+            if (targets.isEmpty()) {
+                return;
+            }
+            Planner planner = planners[chunk];
+            if (planner == null) {
+                planner = new Planner(strategy.get());
+                planners[chunk] = planner;
+            }
+            int to = Math.min(attackers.size(), (chunk + 1) * CHUNK_SIZE);
+            for (int p = chunk * CHUNK_SIZE; p < to; p++) {
+                Combatant attacker = attackers.get(p);
+                if (attacker.getHealth() <= 0) continue;
+
+                int index = attacker.getIndex();
+                long stream = ((long) round * 2 + side) * intents.planned.length + index;
+                SplittableCombatRandom random = planner.random;
+                random.reseed(CombatRandom.mixSeed(seed, stream));
+                Combatant target = targets.pick(random);
+                random.splitInto(planner.strategyRandom);
+
+                Combatant actor = planner.actor = Planner.copy(planner.actor, attacker);
+                Combatant foe = planner.foe = Planner.copy(planner.foe, target);
+                Command action = planner.strategy.chooseAction(actor, foe, planner.commands);
+                if (action == null) continue;
+                action.resolve(planner.engine);
+
+                intents.target[index] = target;
+                intents.targetHealth[index] = foe.getHealth() - target.getHealth();
+                intents.actorHealth[index] = actor.getHealth() - attacker.getHealth();
+                intents.actorAgility[index] = actor.getAgility() - attacker.getAgility();
+                intents.planned[index] = true;
+            }
+        }
+    }
+
+    /**
+     * Plans chunks [from, to) of a turn, splitting in halves down to one chunk per task.
+     */
+    private static class PlanTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Turn turn;
+        private final int from;
+        private final int to;
+
+        PlanTask(Turn turn, int from, int to) {
+            this.turn = turn;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                turn.plan(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            PlanTask left = new PlanTask(turn, from, middle);
+            left.fork();
+            new PlanTask(turn, middle, to).compute();
+            left.join();
+        }
+    }
+}
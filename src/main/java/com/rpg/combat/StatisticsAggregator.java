@@ -0,0 +1,400 @@
+package com.rpg.combat;
+
+import com.rpg.model.Character;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Combat statistics totalled over any number of battles, recorded concurrently.
+ *
+ * Counters are LongAdder cells keyed by character name or strategy name, so recording threads
+ * never take a lock: each adds to its own stripe of the cell. Distributions (damage per hit,
+ * battle length, action time) are LogHistogram buckets in an AtomicLongArray, for tail
+ * quantiles that totals hide. A battle is recorded as one batch
+ * (record, merge), and snapshot() sees every batch either entirely or not at all.
+ *
+ * Consistency comes from generations: recorders add to the current generation and announce
+ * themselves in its writer count, striped like the cells: each thread counts itself in one of
+ * WRITER_STRIPES atomics, each on its own cache lines, so recorders on different stripes never
+ * share a line. snapshot() installs a fresh generation, waits for every stripe of the previous
+ * one to drop to zero, then folds it into the totals.
+ * A recorder that enters a generation just retired retries on the new one, so recording only ever
+ * retries, never blocks. Snapshots are serialised among themselves.
+ */
+public class StatisticsAggregator {
+
+    /**
+     * What a counter counts.
+     */
+    public enum Metric {
+        /** Battles fought (strategies) */
+        BATTLES,
+        WINS,
+        DRAWS,
+        LOSSES,
+        /** Rounds summed over the battles (strategies) */
+        ROUNDS,
+        ACTIONS,
+        DAMAGE,
+        CRITICAL_HITS,
+        /** Times the character was knocked out */
+        KNOCK_OUTS,
+        /** Health restored to the character by defending or Regeneration */
+        HEALING
+    }
+
+    /**
+     * What a distribution measures.
+     */
+    public enum Distribution {
+        /** Damage of each attack or offensive ability */
+        DAMAGE_PER_HIT,
+        /** Length of each battle recorded with record() */
+        ROUNDS,
+        /** Time to resolve each action, in nanoseconds */
+        ACTION_NANOS
+    }
+
+    private static final Metric[] METRICS = Metric.values();
+    private static final Distribution[] DISTRIBUTIONS = Distribution.values();
+
+    /** A power of two, at least twice the number of cores */
+    private static final int WRITER_STRIPES =
+        Math.min(64, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 4 - 1));
+    /** Longs from one writer stripe to the next: 128 bytes, so adjacent-line prefetch does not pair them */
+    private static final int STRIPE_SPACING = 16;
+
+    private volatile Generation current = new Generation();
+    private final Map<String, long[]> characterTotals = new HashMap<>();
+    private final Map<String, long[]> strategyTotals = new HashMap<>();
+    private final LogHistogram[] distributionTotals = newHistograms();
+    private long battleTotal;
+
+    /**
+     * Adds to a character's counter.
+     */
+    public void addCharacter(String character, Metric metric, long amount) {
+        Generation generation = enter();
+        try {
+            generation.character(character)[metric.ordinal()].add(amount);
+        } finally {
+            leave(generation);
+        }
+    }
+
+    /**
+     * Adds to a strategy's counter.
+     */
+    public void addStrategy(String strategy, Metric metric, long amount) {
+        Generation generation = enter();
+        try {
+            generation.strategy(strategy)[metric.ordinal()].add(amount);
+        } finally {
+            leave(generation);
+        }
+    }
+
+    /**
+     * Records one value of a distribution, e.g. from a hot path. Allocation-free.
+     */
+    public void record(Distribution distribution, long value) {
+        Generation generation = enter();
+        try {
+            generation.distributions[distribution.ordinal()].record(value);
+        } finally {
+            leave(generation);
+        }
+    }
+
+    /**
+     * Adds a histogram recorded elsewhere (another thread, another run) to a distribution.
+     */
+    public void merge(Distribution distribution, LogHistogram histogram) {
+        Generation generation = enter();
+        try {
+            generation.distributions[distribution.ordinal()].merge(histogram);
+        } finally {
+            leave(generation);
+        }
+    }
+
+    /**
+     * Records a finished headless battle: outcome and rounds for both strategies,
+     * damage for every fighter that dealt some, and the battle length distribution.
+     * @param strategy1 Name of the strategy of team 1, e.g. CombatStrategy.getStrategyName()
+     */
+    public void record(BattleResult result, String strategy1, String strategy2) {
+        Generation generation = enter();
+        try {
+            Metric outcome1 = Metric.DRAWS;
+            Metric outcome2 = Metric.DRAWS;
+            if (result.getOutcome() == BattleResult.Outcome.TEAM1_WIN) {
+                outcome1 = Metric.WINS;
+                outcome2 = Metric.LOSSES;
+            } else if (result.getOutcome() == BattleResult.Outcome.TEAM2_WIN) {
+                outcome1 = Metric.LOSSES;
+                outcome2 = Metric.WINS;
+            }
+            recordSide(generation.strategy(strategy1), outcome1, result.getRounds());
+            recordSide(generation.strategy(strategy2), outcome2, result.getRounds());
+            for (Map.Entry<String, Integer> entry : result.getDamageDealt().entrySet()) {
+                generation.character(entry.getKey())[Metric.DAMAGE.ordinal()].add(entry.getValue());
+            }
+            generation.distributions[Distribution.ROUNDS.ordinal()].record(result.getRounds());
+            generation.battles.increment();
+        } finally {
+            leave(generation);
+        }
+    }
+
+    private static void recordSide(LongAdder[] cells, Metric outcome, int rounds) {
+        cells[Metric.BATTLES.ordinal()].increment();
+        cells[outcome.ordinal()].increment();
+        cells[Metric.ROUNDS.ordinal()].add(rounds);
+    }
+
+    /**
+     * Merges the per-character statistics of one finished battle (actions, damage,
+     * critical hits, K.O., healing) and its damage and action time distributions.
+     * The battle's statistics must no longer be changing.
+     * The battle is counted by record(), not here, so a battle can go through both.
+     */
+    public void merge(CombatStatistics battle) {
+        Generation generation = enter();
+        try {
+            for (Map.Entry<String, Integer> entry : battle.getActionsCount().entrySet()) {
+                generation.character(entry.getKey())[Metric.ACTIONS.ordinal()].add(entry.getValue());
+            }
+            for (Map.Entry<String, Integer> entry : battle.getDamageDealt().entrySet()) {
+                generation.character(entry.getKey())[Metric.DAMAGE.ordinal()].add(entry.getValue());
+            }
+            for (Map.Entry<String, Integer> entry : battle.getCriticalHits().entrySet()) {
+                generation.character(entry.getKey())[Metric.CRITICAL_HITS.ordinal()].add(entry.getValue());
+            }
+            for (String knockedOut : battle.getKOList()) {
+                generation.character(knockedOut)[Metric.KNOCK_OUTS.ordinal()].increment();
+            }
+            for (Map.Entry<String, Integer> entry : battle.getHealingReceived().entrySet()) {
+                generation.character(entry.getKey())[Metric.HEALING.ordinal()].add(entry.getValue());
+            }
+            generation.distributions[Distribution.DAMAGE_PER_HIT.ordinal()].merge(battle.getDamagePerHit());
+            generation.distributions[Distribution.ACTION_NANOS.ordinal()].merge(battle.getActionNanos());
+        } finally {
+            leave(generation);
+        }
+    }
+
+    /**
+     * @return A probe recording critical hits, K.O., healing and damage per hit as they happen, to set on
+     *         headless battles (BattleSimulator.setProbe) from any number of threads. Damage totals
+     *         still come from record(); do not also merge() the same battles
+     */
+    public CombatProbe probe() {
+        return new CombatProbe() {
+            @Override
+            public void onDamage(Character attacker, Character target, int amount) {
+                record(Distribution.DAMAGE_PER_HIT, amount);
+            }
+
+            @Override
+            public void onCriticalHit(Character attacker) {
+                addCharacter(attacker.getName(), Metric.CRITICAL_HITS, 1);
+            }
+
+            @Override
+            public void onHealing(Character character, int amount) {
+                addCharacter(character.getName(), Metric.HEALING, amount);
+            }
+
+            @Override
+            public void onKnockOut(Character fighter) {
+                addCharacter(fighter.getName(), Metric.KNOCK_OUTS, 1);
+            }
+        };
+    }
+
+    /**
+     * @return The totals of every batch completed before the call, and possibly of some
+     *         completed during it, each batch counted entirely or not at all
+     */
+    public synchronized StatisticsSnapshot snapshot() {
+        Generation retired = current;
+        current = new Generation();
+        for (int stripe = 0; stripe < WRITER_STRIPES * STRIPE_SPACING; stripe += STRIPE_SPACING) {
+            while (retired.writers.get(stripe) != 0) {
+                Thread.onSpinWait();
+            }
+        }
+        fold(retired.characters, characterTotals);
+        fold(retired.strategies, strategyTotals);
+        battleTotal += retired.battles.sum();
+        LogHistogram[] distributions = newHistograms();
+        for (int i = 0; i < DISTRIBUTIONS.length; i++) {
+            retired.distributions[i].foldInto(distributionTotals[i]);
+            distributions[i] = distributionTotals[i].copy();
+        }
+        return new StatisticsSnapshot(battleTotal, copy(characterTotals), copy(strategyTotals), distributions);
+    }
+
+    /**
+     * Forgets every total. Batches in progress may still land in the next snapshot.
+     */
+    public synchronized void reset() {
+        current = new Generation();
+        characterTotals.clear();
+        strategyTotals.clear();
+        for (LogHistogram histogram : distributionTotals) {
+            histogram.reset();
+        }
+        battleTotal = 0;
+    }
+
+    /**
+     * Joins the current generation, retrying if a snapshot retires it meanwhile.
+     */
+    private Generation enter() {
+        int stripe = writerStripe();
+        while (true) {
+            Generation generation = current;
+            generation.writers.incrementAndGet(stripe);
+            if (generation == current) {
+                return generation;
+            }
+            generation.writers.decrementAndGet(stripe);
+        }
+    }
+
+    /**
+     * Ends a batch begun by enter() on the same thread, so on the same stripe.
+     */
+    private static void leave(Generation generation) {
+        generation.writers.decrementAndGet(writerStripe());
+    }
+
+    /**
+     * @return The index of the calling thread's writer count; consecutive thread ids spread
+     *         over the stripes by Fibonacci hashing
+     */
+    private static int writerStripe() {
+        long hash = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return ((int) (hash >>> 32) & (WRITER_STRIPES - 1)) * STRIPE_SPACING;
+    }
+
+    private static void fold(Map<String, LongAdder[]> cells, Map<String, long[]> totals) {
+        for (Map.Entry<String, LongAdder[]> entry : cells.entrySet()) {
+            long[] values = totals.computeIfAbsent(entry.getKey(), k -> new long[METRICS.length]);
+            LongAdder[] adders = entry.getValue();
+            for (int i = 0; i < adders.length; i++) {
+                values[i] += adders[i].sum();
+            }
+        }
+    }
+
+    private static LogHistogram[] newHistograms() {
+        LogHistogram[] histograms = new LogHistogram[DISTRIBUTIONS.length];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LogHistogram();
+        }
+        return histograms;
+    }
+
+    private static Map<String, long[]> copy(Map<String, long[]> totals) {
+        Map<String, long[]> copy = new HashMap<>(totals.size() * 2);
+        for (Map.Entry<String, long[]> entry : totals.entrySet()) {
+            copy.put(entry.getKey(), entry.getValue().clone());
+        }
+        return copy;
+    }
+
+    /**
+     * Counters recorded between two snapshots.
+     */
+    private static final class Generation {
+        /**
+         * Writers in a batch, per stripe. Atomics rather than a LongAdder: a sum() is not a snapshot
+         * and could read 0 mid-batch, while each stripe here only returns to 0 when its batches end
+         */
+        final AtomicLongArray writers = new AtomicLongArray(WRITER_STRIPES * STRIPE_SPACING);
+        final LongAdder battles = new LongAdder();
+        final ConcurrentHashMap<String, LongAdder[]> characters = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, LongAdder[]> strategies = new ConcurrentHashMap<>();
+        final HistogramCells[] distributions = new HistogramCells[DISTRIBUTIONS.length];
+
+        Generation() {
+            for (int i = 0; i < distributions.length; i++) {
+                distributions[i] = new HistogramCells();
+            }
+        }
+
+        LongAdder[] character(String name) {
+            return cells(characters, name);
+        }
+
+        LongAdder[] strategy(String name) {
+            return cells(strategies, name);
+        }
+
+        private static LongAdder[] cells(ConcurrentHashMap<String, LongAdder[]> map, String key) {
+            LongAdder[] cells = map.get(key);
+            if (cells == null) {
+                cells = map.computeIfAbsent(key, k -> {
+                    LongAdder[] created = new LongAdder[METRICS.length];
+                    for (int i = 0; i < created.length; i++) {
+                        created[i] = new LongAdder();
+                    }
+                    return created;
+                });
+            }
+            return cells;
+        }
+    }
+
+    /**
+     * LogHistogram written concurrently: the same buckets, each an atomic counter.
+     */
+    private static final class HistogramCells {
+        final AtomicLongArray counts = new AtomicLongArray(LogHistogram.BUCKET_COUNT);
+        final LongAdder count = new LongAdder();
+        final LongAdder sum = new LongAdder();
+        final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        void record(long value) {
+            long v = Math.max(0, value);
+            counts.incrementAndGet(LogHistogram.bucketOf(v));
+            count.increment();
+            sum.add(v);
+            min.accumulate(v);
+            max.accumulate(v);
+        }
+
+        void merge(LogHistogram histogram) {
+            if (histogram.getCount() == 0) {
+                return;
+            }
+            for (int i = 0; i < LogHistogram.BUCKET_COUNT; i++) {
+                long n = histogram.countAt(i);
+                if (n != 0) {
+                    counts.addAndGet(i, n);
+                }
+            }
+            count.add(histogram.getCount());
+            sum.add(histogram.getSum());
+            min.accumulate(histogram.getMin());
+            max.accumulate(histogram.getMax());
+        }
+
+        void foldInto(LogHistogram target) {
+            long[] buckets = new long[LogHistogram.BUCKET_COUNT];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = counts.get(i);
+            }
+            target.add(buckets, count.sum(), sum.sum(), min.get(), max.get());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.rpg.combat;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable totals taken from a StatisticsAggregator.
+ */
+public class StatisticsSnapshot {
+    private final long battles;
+    private final Map<String, long[]> characters;
+    private final Map<String, long[]> strategies;
+    private final LogHistogram[] distributions;
+
+    StatisticsSnapshot(long battles, Map<String, long[]> characters, Map<String, long[]> strategies,
+                       LogHistogram[] distributions) {
+        this.battles = battles;
+        this.characters = characters;
+        this.strategies = strategies;
+        this.distributions = distributions;
+    }
+
+    /**
+     * @return Number of battles recorded with StatisticsAggregator.record()
+     */
+    public long getBattles() {
+        return battles;
+    }
+
+    public Set<String> getCharacters() {
+        return Collections.unmodifiableSet(characters.keySet());
+    }
+
+    public Set<String> getStrategies() {
+        return Collections.unmodifiableSet(strategies.keySet());
+    }
+
+    /**
+     * @return The character's total, 0 if never recorded
+     */
+    public long getCharacter(String character, StatisticsAggregator.Metric metric) {
+        long[] values = characters.get(character);
+        return values != null ? values[metric.ordinal()] : 0;
+    }
+
+    /**
+     * @return The strategy's total, 0 if never recorded
+     */
+    public long getStrategy(String strategy, StatisticsAggregator.Metric metric) {
+        long[] values = strategies.get(strategy);
+        return values != null ? values[metric.ordinal()] : 0;
+    }
+
+    /**
+     * @return Share of the strategy's battles it won, 0 if it has none
+     */
+    public double getWinRate(String strategy) {
+        long fought = getStrategy(strategy, StatisticsAggregator.Metric.BATTLES);
+        return fought > 0 ? (double) getStrategy(strategy, StatisticsAggregator.Metric.WINS) / fought : 0.0;
+    }
+
+    /**
+     * @return A copy of the distribution, e.g. getDistribution(DAMAGE_PER_HIT).getValueAtQuantile(0.99)
+     */
+    public LogHistogram getDistribution(StatisticsAggregator.Distribution distribution) {
+        return distributions[distribution.ordinal()].copy();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d combats, %d personnages, %d stratégies", battles, characters.size(), strategies.size());
+    }
+}
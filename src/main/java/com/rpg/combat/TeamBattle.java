@@ -3,7 +3,10 @@ package com.rpg.combat;
 import com.rpg.command.Command;
 import com.rpg.composite.*;
 import com.rpg.model.Character;
+import com.rpg.observer.CombatEventSink;
 import com.rpg.observer.CombatLogger;
+import com.rpg.observer.AsyncCombatRenderer;
+import com.rpg.random.CombatRandom;
 import com.rpg.strategy.*;
 import com.rpg.util.DisplayUtil;
 
@@ -11,15 +14,41 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Gère les combats d'équipes avec stratégies et affichage amélioré
+ * Gère les combats d'équipes avec stratégies et affichage amélioré.
+ * Chaque combat se déroule dans son propre BattleContext : les personnages
+ * de l'équipe ne sont pas blessés, seuls les survivants gagnent de l'expérience.
+ * Les événements du combat sont rendus par un AsyncCombatRenderer et comptés par CombatStatistics :
+ * l'affichage et son rythme se font sur le thread du rendu, le combat ne fait jamais de pause.
+ * Le combat s'arrête sur un match nul selon sa TerminationPolicy : après CombatStatistics.MAX_TURNS
+ * rounds, ou dès qu'aucune équipe ne peut plus mettre l'autre K.O. avant cette limite.
  */
 public class TeamBattle {
     private CombatLogger logger;
     private CombatStatistics stats;
+    private CombatRandom random;
+    private AsyncCombatRenderer display;
+    private CombatEventSink events;
+    private TerminationPolicy termination = TerminationPolicy.PROVEN_DRAW;
     
-    public TeamBattle(CombatLogger logger) {
+    /**
+     * @param random Stream used for target selection and combat rolls
+     * @param display Rendu du combat, dont le rythme se règle avec setPacing() ; il appartient
+     *                à l'appelant, qui le ferme
+     */
+    public TeamBattle(CombatLogger logger, CombatRandom random, AsyncCombatRenderer display) {
         this.logger = logger;
         this.stats = new CombatStatistics();
+        this.random = random;
+        this.display = display;
+        this.events = CombatEventSink.broadcast(display, stats);
+    }
+    
+    /**
+     * Définit quand les combats suivants s'arrêtent sur un match nul.
+     * @param termination La politique, TerminationPolicy.PROVEN_DRAW par défaut
+     */
+    public void setTerminationPolicy(TerminationPolicy termination) {
+        this.termination = termination;
     }
     
     /**
@@ -28,11 +57,15 @@ public class TeamBattle {
     public void startTeamBattle(TeamComposite team1, TeamComposite team2, 
                                 CombatStrategy strategy1, CombatStrategy strategy2) {
         
-        List<Character> fighters1 = extractCharacters(team1);
-        List<Character> fighters2 = extractCharacters(team2);
+        BattleContext context = new BattleContext(random.split());
+        List<Combatant> fighters1 = context.enlist(team1);
+        List<Combatant> fighters2 = context.enlist(team2);
+        context.setEventSink(events);
+        context.setProbe(stats);
         
         if (fighters1.isEmpty() || fighters2.isEmpty()) {
-            System.out.println(DisplayUtil.error("Les équipes doivent avoir au moins un combattant!"));
+            display.println(DisplayUtil.error("Les équipes doivent avoir au moins un combattant!"));
+            display.awaitIdle();
             return;
         }
         
@@ -42,21 +75,23 @@ public class TeamBattle {
         // Affichage de l'introduction
         displayBattleIntro(team1, team2, fighters1, fighters2, strategy1, strategy2);
         
+        int capacity = context.getCombatants().size();
+        AliveSet alive1 = new AliveSet(fighters1, capacity, AliveSet.Targeting.RANDOM);
+        AliveSet alive2 = new AliveSet(fighters2, capacity, AliveSet.Targeting.RANDOM);
+        
         int round = 1;
         boolean continueChronique = true;
         
         while (!fighters1.isEmpty() && !fighters2.isEmpty() && continueChronique) {
-            DisplayUtil.printSeparator();
-            System.out.println(DisplayUtil.colorize("\n═══ ROUND " + round + " ═══", DisplayUtil.BOLD + DisplayUtil.YELLOW));
-            DisplayUtil.printSeparator();
+            events.roundStarted(round);
             
             // Afficher l'état des équipes
             displayTeamStatus(team1.getName(), fighters1);
             displayTeamStatus(team2.getName(), fighters2);
             
             // Tour de l'équipe 1
-            System.out.println(DisplayUtil.colorize("\n▶ Tour de " + team1.getName(), DisplayUtil.CYAN));
-            executeTurn(fighters1, fighters2, strategy1);
+            events.turnStarted(team1.getName(), 1);
+            executeTurn(context, fighters1, alive1, alive2, strategy1);
             
             // Retirer les KO de l'équipe 2
             removeKnockedOut(fighters2);
@@ -67,8 +102,8 @@ public class TeamBattle {
             }
             
             // Tour de l'équipe 2
-            System.out.println(DisplayUtil.colorize("\n▶ Tour de " + team2.getName(), DisplayUtil.PURPLE));
-            executeTurn(fighters2, fighters1, strategy2);
+            events.turnStarted(team2.getName(), 2);
+            executeTurn(context, fighters2, alive2, alive1, strategy2);
             
             // Retirer les KO de l'équipe 1
             removeKnockedOut(fighters1);
@@ -78,8 +113,15 @@ public class TeamBattle {
                 break;
             }
             
+            // Limite de rounds atteinte, ou plus aucune équipe ne peut gagner
+            if (termination.isDraw(round, fighters1, fighters2)) {
+                displayDrawResult(fighters1, fighters2);
+                break;
+            }
+            
             // Demander si on continue (tous les 3 rounds)
             if (round % 3 == 0) {
+                display.awaitIdle();
                 System.out.print(DisplayUtil.info("\nContinuer le combat? (o/n): "));
                 try {
                     String input = new java.util.Scanner(System.in).nextLine();
@@ -96,13 +138,14 @@ public class TeamBattle {
         }
         
         // Afficher les statistiques finales
-        stats.displayStatistics();
+        display.renderStatistics(stats);
+        display.awaitIdle();
     }
     
     /**
      * Extrait tous les personnages d'une équipe ou armée
      */
-    private List<Character> extractCharacters(TeamComponent team) {
+    public static List<Character> extractCharacters(TeamComponent team) {
         List<Character> characters = new ArrayList<>();
         
         if (team instanceof CharacterLeaf) {
@@ -120,35 +163,35 @@ public class TeamBattle {
      * Affiche l'introduction du combat
      */
     private void displayBattleIntro(TeamComposite team1, TeamComposite team2,
-                                    List<Character> fighters1, List<Character> fighters2,
+                                    List<Combatant> fighters1, List<Combatant> fighters2,
                                     CombatStrategy strategy1, CombatStrategy strategy2) {
-        System.out.println(DisplayUtil.createBorder("⚔ COMBAT D'ÉQUIPES ⚔", 70));
+        display.println(DisplayUtil.createBorder("⚔ COMBAT D'ÉQUIPES ⚔", 70));
         
-        System.out.println(DisplayUtil.colorize("  " + team1.getName() + " [" + fighters1.size() + " combattants]", 
+        display.println(DisplayUtil.colorize("  " + team1.getName() + " [" + fighters1.size() + " combattants]", 
                                                 DisplayUtil.CYAN + DisplayUtil.BOLD));
-        System.out.println("    Stratégie: " + strategy1.getStrategyName());
-        System.out.println("    " + strategy1.getDescription());
+        display.println("    Stratégie: " + strategy1.getStrategyName());
+        display.println("    " + strategy1.getDescription());
         
-        System.out.println(DisplayUtil.colorize("\n               🆚 CONTRE 🆚\n", DisplayUtil.YELLOW));
+        display.println(DisplayUtil.colorize("\n               🆚 CONTRE 🆚\n", DisplayUtil.YELLOW));
         
-        System.out.println(DisplayUtil.colorize("  " + team2.getName() + " [" + fighters2.size() + " combattants]", 
+        display.println(DisplayUtil.colorize("  " + team2.getName() + " [" + fighters2.size() + " combattants]", 
                                                 DisplayUtil.PURPLE + DisplayUtil.BOLD));
-        System.out.println("    Stratégie: " + strategy2.getStrategyName());
-        System.out.println("    " + strategy2.getDescription());
+        display.println("    Stratégie: " + strategy2.getStrategyName());
+        display.println("    " + strategy2.getDescription());
         
-        System.out.println("\n" + DisplayUtil.closeBorder(70));
+        display.println("\n" + DisplayUtil.closeBorder(70));
         
-        logger.logCombatEvent("Début du combat: " + team1.getName() + " vs " + team2.getName());
+        log("Début du combat: " + team1.getName() + " vs " + team2.getName());
     }
     
     /**
      * Affiche l'état d'une équipe
      */
-    private void displayTeamStatus(String teamName, List<Character> fighters) {
-        System.out.println("\n📊 " + DisplayUtil.colorize(teamName, DisplayUtil.BOLD));
+    private void displayTeamStatus(String teamName, List<Combatant> fighters) {
+        display.println("\n📊 " + DisplayUtil.colorize(teamName, DisplayUtil.BOLD));
         for (int i = 0; i < fighters.size(); i++) {
             Character fighter = fighters.get(i);
-            System.out.println("  " + (i + 1) + ". " + fighter.getName() + " [Niv." + fighter.getLevel() + "] " +
+            display.println("  " + (i + 1) + ". " + fighter.getName() + " [Niv." + fighter.getLevel() + "] " +
                              DisplayUtil.createHealthBar(fighter.getHealth(), fighter.getMaxHealth(), 20));
         }
     }
@@ -156,31 +199,26 @@ public class TeamBattle {
     /**
      * Exécute le tour d'une équipe
      */
-    private void executeTurn(List<Character> attackers, List<Character> defenders, CombatStrategy strategy) {
-        for (Character attacker : attackers) {
-            if (defenders.isEmpty()) break;
+    private void executeTurn(BattleContext context, List<Combatant> attackers, AliveSet attacking,
+                             AliveSet defending, CombatStrategy strategy) {
+        for (Combatant attacker : attackers) {
+            if (defending.isEmpty()) break;
             if (attacker.getHealth() <= 0) continue;
             
             // Choisir une cible aléatoire parmi les défenseurs vivants
-            List<Character> aliveDefenders = new ArrayList<>();
-            for (Character def : defenders) {
-                if (def.getHealth() > 0) aliveDefenders.add(def);
-            }
-            
-            if (aliveDefenders.isEmpty()) break;
-            
-            Character target = aliveDefenders.get((int)(Math.random() * aliveDefenders.size()));
+            Combatant target = defending.pick(random);
             
             // Utiliser la stratégie pour choisir l'action
             Command action = strategy.chooseAction(attacker, target);
             
             if (action != null) {
-                System.out.println("\n  → " + attacker.getName() + " agit:");
-                action.execute();
+                events.actionStarted(attacker);
+                long start = System.nanoTime();
+                context.resolve(action);
+                stats.recordActionTime(System.nanoTime() - start);
+                defending.update(target);
+                attacking.update(attacker);
                 stats.recordAction(attacker.getName(), action.toString());
-                
-                // Pause visuelle
-                try { Thread.sleep(500); } catch (InterruptedException e) {}
             }
         }
     }
@@ -188,50 +226,56 @@ public class TeamBattle {
     /**
      * Retire les combattants KO
      */
-    private void removeKnockedOut(List<Character> fighters) {
-        List<Character> toRemove = new ArrayList<>();
-        for (Character fighter : fighters) {
-            if (fighter.getHealth() <= 0) {
-                System.out.println(DisplayUtil.colorize("\n  💀 " + fighter.getName() + " est K.O.!", DisplayUtil.RED));
-                logger.logCombatEvent(fighter.getName() + " est K.O.");
-                toRemove.add(fighter);
-                stats.recordKO(fighter.getName());
+    private void removeKnockedOut(List<Combatant> fighters) {
+        fighters.removeIf(fighter -> {
+            if (fighter.getHealth() > 0) {
+                return false;
             }
-        }
-        fighters.removeAll(toRemove);
+            events.knockedOut(fighter);
+            log(fighter.getName() + " est K.O.");
+            return true;
+        });
+    }
+    
+    /**
+     * Journalise un événement et l'affiche à sa place dans le rendu du combat
+     */
+    private void log(String event) {
+        display.println("⚔ " + logger.recordCombatEvent(event));
     }
     
     /**
      * Déclare le vainqueur
      */
-    private void declareWinner(TeamComposite winner, List<Character> survivors) {
-        System.out.println("\n" + DisplayUtil.createBorder("🏆 VICTOIRE 🏆", 70));
-        System.out.println(DisplayUtil.colorize("  " + winner.getName() + " remporte le combat!", 
+    private void declareWinner(TeamComposite winner, List<Combatant> survivors) {
+        display.println("\n" + DisplayUtil.createBorder("🏆 VICTOIRE 🏆", 70));
+        display.println(DisplayUtil.colorize("  " + winner.getName() + " remporte le combat!", 
                                                 DisplayUtil.GREEN + DisplayUtil.BOLD));
         
-        System.out.println("\n  Survivants:");
-        for (Character survivor : survivors) {
-            System.out.println("    ✓ " + survivor.getName() + " - " + 
+        display.println("\n  Survivants:");
+        for (Combatant survivor : survivors) {
+            display.println("    ✓ " + survivor.getName() + " - " + 
                              DisplayUtil.createHealthBar(survivor.getHealth(), survivor.getMaxHealth(), 15));
-            // Donner de l'expérience
-            survivor.addExperience(50);
-            if (survivor.getExperience() >= 0) {
-                System.out.println("      +" + 50 + " XP (Total: " + survivor.getExperience() + "/100)");
+            // Donner de l'expérience au personnage de l'équipe
+            Character member = survivor.getSource();
+            member.addExperience(50);
+            if (member.getExperience() >= 0) {
+                display.println("      +" + 50 + " XP (Total: " + member.getExperience() + "/100)");
             }
         }
         
-        System.out.println("\n" + DisplayUtil.closeBorder(70));
-        logger.logCombatEvent(winner.getName() + " a gagné le combat!");
+        display.println("\n" + DisplayUtil.closeBorder(70));
+        log(winner.getName() + " a gagné le combat!");
     }
     
     /**
      * Affiche un résultat d'égalité
      */
-    private void displayDrawResult(List<Character> team1, List<Character> team2) {
-        System.out.println("\n" + DisplayUtil.createBorder("⚖ MATCH NUL ⚖", 70));
-        System.out.println(DisplayUtil.colorize("  Le combat s'arrête avec les deux équipes encore debout!", 
+    private void displayDrawResult(List<Combatant> team1, List<Combatant> team2) {
+        display.println("\n" + DisplayUtil.createBorder("⚖ MATCH NUL ⚖", 70));
+        display.println(DisplayUtil.colorize("  Le combat s'arrête avec les deux équipes encore debout!", 
                                                 DisplayUtil.YELLOW + DisplayUtil.BOLD));
-        System.out.println("\n" + DisplayUtil.closeBorder(70));
-        logger.logCombatEvent("Combat interrompu - Match nul");
+        display.println("\n" + DisplayUtil.closeBorder(70));
+        log("Combat interrompu - Match nul");
     }
 } 
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.rpg.combat;
+
+import com.rpg.model.Ability;
+import com.rpg.model.Character;
+
+import java.util.List;
+
+/**
+ * Decides when a battle stops before a team is knocked out.
+ *
+ * Every policy ends the battle with a draw after its round limit. A policy detecting proven
+ * draws also ends it as soon as neither side can knock out the other in the rounds left, even
+ * with maximum rolls, a critical hit on every attack and no healing on the other side: the
+ * outcome can then only be a draw, whatever the strategies choose. The battle's outcome is the
+ * same as if it had been played to the limit; the survivors and damage are those at that point.
+ *
+ * With InitiativeScheduler.TurnOrder.INITIATIVE, the bound counts every action a fighter's
+ * agility-based interval allows in the rounds left, which may be several per round.
+ *
+ * A win is never declared early: any fighter may defend or regenerate at every turn, so no
+ * side is ever certain to win before the other one is knocked out.
+ */
+public class TerminationPolicy {
+    /** Draw after CombatStatistics.MAX_TURNS rounds (default). */
+    public static final TerminationPolicy TURN_LIMIT = new TerminationPolicy(CombatStatistics.MAX_TURNS, false);
+    /** Draw after CombatStatistics.MAX_TURNS rounds, or as soon as it is proven. */
+    public static final TerminationPolicy PROVEN_DRAW = new TerminationPolicy(CombatStatistics.MAX_TURNS, true);
+
+    private static final int MAX_ROLL = 10;
+    private static final int INVISIBILITY_AGILITY = 3;
+
+    private final int maxRounds;
+    private final boolean detectDraws;
+
+    /**
+     * @param maxRounds Number of rounds after which the battle is a draw
+     * @param detectDraws Whether to stop as soon as a draw is proven
+     */
+    public TerminationPolicy(int maxRounds, boolean detectDraws) {
+        if (maxRounds <= 0) {
+            throw new IllegalArgumentException("Le nombre de rounds doit être positif");
+        }
+        this.maxRounds = maxRounds;
+        this.detectDraws = detectDraws;
+    }
+
+    public int getMaxRounds() {
+        return maxRounds;
+    }
+
+    public boolean detectsDraws() {
+        return detectDraws;
+    }
+
+    /**
+     * Checks at the end of a round whether the battle must stop with a draw.
+     * @param round The round just played
+     * @param fighters1 Standing fighters of team 1
+     * @param fighters2 Standing fighters of team 2
+     */
+    public boolean isDraw(int round, List<? extends Character> fighters1, List<? extends Character> fighters2) {
+        return isDraw(round, fighters1, fighters2, InitiativeScheduler.TurnOrder.TEAM_TURNS);
+    }
+
+    /**
+     * Checks at the end of a round whether the battle must stop with a draw.
+     * @param order How the fighters take turns, which bounds their number of actions
+     */
+    public boolean isDraw(int round, List<? extends Character> fighters1, List<? extends Character> fighters2,
+                          InitiativeScheduler.TurnOrder order) {
+        if (round >= maxRounds) {
+            return true;
+        }
+        if (!detectDraws) {
+            return false;
+        }
+        int roundsLeft = maxRounds - round;
+        return !canKnockOut(fighters1, fighters2, roundsLeft, order)
+            && !canKnockOut(fighters2, fighters1, roundsLeft, order);
+    }
+
+    /**
+     * Upper bound check: can the attackers deal as much damage as the defenders' current health
+     * in the given number of turns, with one action per attacker and turn?
+     * @return false only if knocking out every defender is impossible
+     */
+    public static boolean canKnockOut(List<? extends Character> attackers, List<? extends Character> defenders,
+                                      int turns) {
+        return canKnockOut(attackers, defenders, turns, InitiativeScheduler.TurnOrder.TEAM_TURNS);
+    }
+
+    /**
+     * Upper bound check: can the attackers deal as much damage as the defenders' current health
+     * in the given number of rounds, with as many actions per attacker as the turn order allows?
+     * @return false only if knocking out every defender is impossible
+     */
+    public static boolean canKnockOut(List<? extends Character> attackers, List<? extends Character> defenders,
+                                      int turns, InitiativeScheduler.TurnOrder order) {
+        long needed = 0;
+        for (int i = 0; i < defenders.size(); i++) {
+            needed += Math.max(0, defenders.get(i).getHealth());
+        }
+        long capacity = 0;
+        for (int i = 0; i < attackers.size() && capacity < needed; i++) {
+            Character attacker = attackers.get(i);
+            if (attacker.getHealth() > 0) {
+                int actions = order == InitiativeScheduler.TurnOrder.INITIATIVE ? maxActions(attacker, turns) : turns;
+                capacity += (long) actions * maxDamage(attacker, actions);
+            }
+        }
+        return capacity >= needed;
+    }
+
+    /**
+     * Maximum number of actions of the fighter in the given rounds of an initiative battle:
+     * its next action as early as possible, then one per interval, each interval shortened
+     * by the agility Invisibilite may add at every action.
+     */
+    static int maxActions(Character fighter, int rounds) {
+        long span = rounds * InitiativeScheduler.TICKS_PER_ROUND;
+        boolean invisibility = fighter.hasAbility(Ability.INVISIBILITE);
+        int agility = fighter.getAgility();
+        int actions = 0;
+        for (long tick = 1; tick <= span; tick += InitiativeScheduler.interval(agility)) {
+            actions++;
+            if (invisibility) {
+                agility += INVISIBILITY_AGILITY;
+            }
+        }
+        return actions;
+    }
+
+    /**
+     * Maximum damage of one action of the fighter during its next actions, counting the
+     * agility Invisibilite may add before the last of them.
+     */
+    static int maxDamage(Character fighter, int actions) {
+        int agility = fighter.getAgility();
+        if (fighter.hasAbility(Ability.INVISIBILITE)) {
+            agility += INVISIBILITY_AGILITY * Math.max(0, actions - 1);
+        }
+        int powerLevel = fighter.getStrength() + agility + fighter.getIntelligence() + fighter.getAbilityCount() * 5;
+        int best = fighter.getStrength() + MAX_ROLL + powerLevel / 10;
+        if (Math.min(30, agility / 2) > 0) {
+            best = (int) (best * 1.5);
+        }
+        for (int i = 0; i < fighter.getAbilityCount(); i++) {
+            Ability ability = fighter.getAbilityAt(i);
+            if (ability != null && ability.isOffensive()) {
+                best = Math.max(best, ability.power(fighter));
+            }
+        }
+        return best;
+    }
+}
@@ -1,5 +1,7 @@
 package com.rpg.command;
 
+import com.rpg.combat.Combatant;
+import com.rpg.model.Character;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -27,6 +29,18 @@ public class ActionDTO {
         return this;
     }
 
+    /**
+     * Adds a participant by name and, for a combatant, by its index in the battle
+     * (under key + "Index"), which identifies it unambiguously for replay.
+     */
+    public ActionDTO addParticipant(String key, Character character) {
+        addArg(key, character.getName());
+        if (character instanceof Combatant) {
+            addArg(key + "Index", ((Combatant) character).getIndex());
+        }
+        return this;
+    }
+
     public Object getArg(String key) {
         return args.get(key);
     }
@@ -2,6 +2,8 @@ package com.rpg.command;
 
 import com.rpg.combat.CombatEngine;
 import com.rpg.model.Character;
+import com.rpg.observer.CombatEventSink;
+import com.rpg.observer.ConsoleCombatRenderer;
 
 /**
  * Command for attacking another character.
@@ -10,6 +12,8 @@ import com.rpg.model.Character;
 public class AttackCommand implements Command {
     private Character attacker;
     private Character target;
+    private int damage;
+    private boolean critical;
     private static CombatEngine combatEngine = new CombatEngine();
 
     public AttackCommand(Character attacker, Character target) {
@@ -17,36 +21,60 @@ public class AttackCommand implements Command {
         this.target = target;
     }
 
+    /**
+     * Reuses this command for another attack (CommandPool).
+     */
+    void reset(Character attacker, Character target) {
+        this.attacker = attacker;
+        this.target = target;
+        this.damage = 0;
+        this.critical = false;
+    }
+
     /**
      * Sets a custom combat engine (for testing with seeded Random).
      * @param engine The combat engine to use
+     * @deprecated The engine is shared by every battle in the JVM.
+     *             Run battles through a BattleContext, which owns its engine.
      */
+    @Deprecated
     public static void setCombatEngine(CombatEngine engine) {
         combatEngine = engine;
     }
 
     @Override
     public void execute() {
-        int damage = combatEngine.calculateAttackDamage(attacker);
-        boolean isCrit = combatEngine.isCriticalHit(attacker);
+        execute(combatEngine);
+    }
+
+    @Override
+    public void execute(CombatEngine engine) {
+        resolve(engine);
+        report(new ConsoleCombatRenderer());
+    }
+
+    @Override
+    public void resolve(CombatEngine engine) {
+        damage = engine.calculateAttackDamage(attacker);
+        critical = engine.isCriticalHit(attacker);
         
-        if (isCrit) {
+        if (critical) {
             damage = (int)(damage * 1.5);
-            System.out.println("★ COUP CRITIQUE! ★");
         }
         
-        combatEngine.applyDamage(target, damage);
-        
-        System.out.println(attacker.getName() + " attaque " + target.getName() + 
-                         " et inflige " + damage + " dégâts" + (isCrit ? " (critique)" : "") + "!");
-        System.out.println(target.getName() + " a maintenant " + target.getHealth() + " PV");
+        engine.applyDamage(attacker, target, damage);
+    }
+
+    @Override
+    public void report(CombatEventSink sink) {
+        sink.attacked(attacker, target, damage, critical);
     }
 
     @Override
     public ActionDTO toDTO() {
         return new ActionDTO("ATTACK")
-            .addArg("attacker", attacker.getName())
-            .addArg("target", target.getName());
+            .addParticipant("attacker", attacker)
+            .addParticipant("target", target);
     }
 
     @Override
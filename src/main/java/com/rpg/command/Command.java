@@ -1,5 +1,8 @@
 package com.rpg.command;
 
+import com.rpg.combat.CombatEngine;
+import com.rpg.observer.CombatEventSink;
+
 /**
  * Command pattern interface.
  * Commands can be executed and converted to DTOs for safe replay.
@@ -9,7 +12,33 @@ public interface Command {
      * Executes the command.
      */
     void execute();
+
+    /**
+     * Executes the command with console output, drawing random rolls from the given engine.
+     * Default implementation ignores the engine and calls execute().
+     * @param engine The combat engine of the current battle
+     */
+    default void execute(CombatEngine engine) {
+        execute();
+    }
+
+    /**
+     * Applies the command's effects using the given engine, without any console output.
+     * Used by headless simulations. Default implementation falls back to execute().
+     * @param engine The combat engine to use for random rolls
+     */
+    default void resolve(CombatEngine engine) {
+        execute();
+    }
     
+    /**
+     * Publishes the events of the last resolve() to a sink.
+     * Default implementation publishes nothing.
+     * @param sink The subscriber of the current battle
+     */
+    default void report(CombatEventSink sink) {
+    }
+
     /**
      * Converts the command to a DTO for safe replay.
      * Default implementation returns a generic DTO with the command's toString().
@@ -0,0 +1,43 @@
+package com.rpg.command;
+
+import com.rpg.model.Ability;
+import com.rpg.model.Character;
+
+/**
+ * Pattern Abstract Factory - Creates the commands chosen by a strategy.
+ * NEW creates a fresh command every time; a CommandPool hands out reused instances.
+ */
+public interface CommandFactory {
+    /**
+     * Factory creating a new command for every action.
+     */
+    CommandFactory NEW = new CommandFactory() {
+        @Override
+        public Command attack(Character attacker, Character target) {
+            return new AttackCommand(attacker, target);
+        }
+
+        @Override
+        public Command defend(Character defender) {
+            return new DefendCommand(defender);
+        }
+
+        @Override
+        public Command useAbility(Character user, Character target, Ability ability) {
+            return new UseAbilityCommand(user, target, ability);
+        }
+
+        @Override
+        public Command useAbility(Character user, Character target, String ability) {
+            return new UseAbilityCommand(user, target, ability);
+        }
+    };
+
+    Command attack(Character attacker, Character target);
+
+    Command defend(Character defender);
+
+    Command useAbility(Character user, Character target, Ability ability);
+
+    Command useAbility(Character user, Character target, String ability);
+}
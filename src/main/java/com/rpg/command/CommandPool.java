@@ -0,0 +1,43 @@
+package com.rpg.command;
+
+import com.rpg.model.Ability;
+import com.rpg.model.Character;
+
+/**
+ * Pattern Flyweight - Hands out one reused command of each kind instead of allocating
+ * a command per action, for battle loops that must not allocate in steady state.
+ *
+ * A command obtained from the pool is only valid until the next request of the same kind:
+ * resolve and report it right away, and never keep it (e.g. in a CommandHistory).
+ * Use toDTO() for anything that must outlive the action.
+ * Not thread-safe: a pool belongs to one battle loop.
+ */
+public class CommandPool implements CommandFactory {
+    private final AttackCommand attack = new AttackCommand(null, null);
+    private final DefendCommand defend = new DefendCommand(null);
+    private final UseAbilityCommand useAbility = new UseAbilityCommand(null, null, (String) null);
+
+    @Override
+    public Command attack(Character attacker, Character target) {
+        attack.reset(attacker, target);
+        return attack;
+    }
+
+    @Override
+    public Command defend(Character defender) {
+        defend.reset(defender);
+        return defend;
+    }
+
+    @Override
+    public Command useAbility(Character user, Character target, Ability ability) {
+        useAbility.reset(user, target, ability.getName(), ability);
+        return useAbility;
+    }
+
+    @Override
+    public Command useAbility(Character user, Character target, String ability) {
+        useAbility.reset(user, target, ability, Ability.fromName(ability));
+        return useAbility;
+    }
+}
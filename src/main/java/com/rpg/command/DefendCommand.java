@@ -1,33 +1,57 @@
 package com.rpg.command;
 
+import com.rpg.combat.CombatEngine;
 import com.rpg.model.Character;
+import com.rpg.observer.CombatEventSink;
+import com.rpg.observer.ConsoleCombatRenderer;
 
 public class DefendCommand implements Command {
     private Character defender;
     private int originalHealth;
+    private int healthBonus;
 
     public DefendCommand(Character defender) {
         this.defender = defender;
     }
 
+    /**
+     * Reuses this command for another defense (CommandPool).
+     */
+    void reset(Character defender) {
+        this.defender = defender;
+        this.originalHealth = 0;
+        this.healthBonus = 0;
+    }
+
     @Override
     public void execute() {
+        resolve(null);
+        report(new ConsoleCombatRenderer());
+    }
+
+    @Override
+    public void resolve(CombatEngine engine) {
         originalHealth = defender.getHealth();
-        int healthBonus = 20 + defender.getAgility() / 2;
+        healthBonus = 20 + defender.getAgility() / 2;
         defender.setHealth(defender.getHealth() + healthBonus);
-        System.out.println(defender.getName() + " se met en position défensive et gagne " + 
-                         healthBonus + " PV temporaires!");
-        System.out.println(defender.getName() + " a maintenant " + defender.getHealth() + " PV");
+        if (engine != null) {
+            engine.effectApplied(defender, defender, originalHealth);
+        }
+    }
+
+    @Override
+    public void report(CombatEventSink sink) {
+        sink.defended(defender, healthBonus);
     }
 
     @Override
     public ActionDTO toDTO() {
         return new ActionDTO("DEFEND")
-            .addArg("defender", defender.getName());
+            .addParticipant("defender", defender);
     }
 
     @Override
     public String toString() {
         return defender.getName() + " défend";
     }
-} 
\ No newline at end of file
+}
@@ -1,82 +1,108 @@
 package com.rpg.command;
 
+import com.rpg.combat.CombatEngine;
+import com.rpg.model.Ability;
 import com.rpg.model.Character;
+import com.rpg.observer.CombatEventSink;
+import com.rpg.observer.ConsoleCombatRenderer;
 import com.rpg.singleton.GameSettings;
 import com.rpg.validator.AbilitiesValidator;
-import com.rpg.validator.ValidationResult;
-import java.util.List;
 
 /**
  * Command for using a character's ability.
- * Validates ability count before execution.
+ * The ability is resolved from the registry once, when the command is created.
+ * Checks ability count against GameSettings before execution; a rejected use reports
+ * the AbilitiesValidator result.
  */
 public class UseAbilityCommand implements Command {
+    private static final AbilitiesValidator ABILITIES_VALIDATOR = new AbilitiesValidator();
+
     private Character user;
     private Character target;
     private String ability;
-    private AbilitiesValidator validator;
+    private Ability registered;
+    private boolean owned;
+    private boolean applied;
+    private int amount;
 
     public UseAbilityCommand(Character user, Character target, String ability) {
         this.user = user;
         this.target = target;
         this.ability = ability;
-        this.validator = new AbilitiesValidator();
+        this.registered = Ability.fromName(ability);
+    }
+
+    public UseAbilityCommand(Character user, Character target, Ability ability) {
+        this.user = user;
+        this.target = target;
+        this.ability = ability.getName();
+        this.registered = ability;
+    }
+
+    /**
+     * Reuses this command for another ability use (CommandPool).
+     * @param registered The ability resolved from the name, null if unknown
+     */
+    void reset(Character user, Character target, String ability, Ability registered) {
+        this.user = user;
+        this.target = target;
+        this.ability = ability;
+        this.registered = registered;
+        this.owned = false;
+        this.applied = false;
+        this.amount = 0;
     }
 
     @Override
     public void execute() {
-        List<String> abilities = user.getAbilities();
+        resolve(null);
+        report(new ConsoleCombatRenderer());
+    }
+
+    @Override
+    public void resolve(CombatEngine engine) {
+        applied = false;
+        amount = 0;
         
         // Validate ability exists
-        if (!abilities.contains(ability)) {
-            System.out.println(user.getName() + " ne possède pas la capacité: " + ability);
+        owned = registered != null ? user.hasAbility(registered) : user.getAbilities().contains(ability);
+        if (!owned) {
             return;
         }
 
-        // Revalidate ability count (should not exceed max)
-        ValidationResult validationResult = validator.validateWithErrors(user);
-        if (!validationResult.isValid()) {
-            System.out.println("❌ Validation failed: " + String.join(", ", validationResult.getErrors()));
+        // Ability count should not exceed max
+        if (user.getAbilityCount() > GameSettings.getInstance().getMaxAbilities()) {
             return;
         }
-
-        System.out.println(user.getName() + " utilise " + ability + " sur " + target.getName() + "!");
+        applied = true;
         
-        switch (ability) {
-            case "Invisibilite":
-                System.out.println(user.getName() + " devient invisible et esquive les attaques!");
-                user.setAgility(user.getAgility() + 3);
-                break;
-            case "Telepathie":
-                int mentalDamage = user.getIntelligence();
-                target.setHealth(Math.max(0, target.getHealth() - mentalDamage));
-                System.out.println("Attaque mentale! " + target.getName() + " perd " + mentalDamage + " PV");
-                break;
-            case "Super Force":
-                int damage = user.getStrength() * 2;
-                target.setHealth(Math.max(0, target.getHealth() - damage));
-                System.out.println("Coup surpuissant! " + target.getName() + " perd " + damage + " PV");
-                break;
-            case "Regeneration":
-                int heal = 30;
-                user.setHealth(user.getHealth() + heal);
-                System.out.println(user.getName() + " se régénère et gagne " + heal + " PV");
-                break;
-            case "Pouvoir du Feu":
-                int fireDamage = user.getStrength() + user.getIntelligence();
-                target.setHealth(Math.max(0, target.getHealth() - fireDamage));
-                System.out.println("Boule de feu! " + target.getName() + " perd " + fireDamage + " PV");
-                break;
+        if (registered != null) {
+            Character affected = registered.isOffensive() ? target : user;
+            int healthBefore = affected.getHealth();
+            amount = registered.apply(user, target);
+            if (engine != null) {
+                engine.effectApplied(user, affected, healthBefore);
+            }
+        }
+    }
+
+    @Override
+    public void report(CombatEventSink sink) {
+        if (applied) {
+            sink.abilityUsed(user, target, ability, registered, amount);
+        } else if (!owned) {
+            sink.abilityRejected(user, ability, null);
+        } else if (sink != CombatEventSink.NONE) {
+            // Headless battles reject often and report to no one: only validate for a real sink
+            sink.abilityRejected(user, ability, ABILITIES_VALIDATOR.validateWithErrors(user));
         }
-        
-        System.out.println(target.getName() + " a maintenant " + target.getHealth() + " PV");
     }
 
     @Override
     public ActionDTO toDTO() {
         return new ActionDTO("USE_ABILITY")
-            .addArg("user", user.getName())
-            .addArg("target", target.getName())
+            .addParticipant("user", user)
+            .addParticipant("target", target)
             .addArg("ability", ability);
     }
 
@@ -84,4 +110,4 @@ public class UseAbilityCommand implements Command {
     public String toString() {
         return user.getName() + " utilise " + ability + " sur " + target.getName();
     }
-} 
\ No newline at end of file
+}
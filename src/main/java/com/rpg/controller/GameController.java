@@ -7,13 +7,18 @@ import com.rpg.composite.*;
 import com.rpg.dao.FileCharacterDAO;
 import com.rpg.decorator.AbilityDecorator;
 import com.rpg.model.Character;
+import com.rpg.observer.AsyncCombatRenderer;
 import com.rpg.observer.CombatLogger;
+import com.rpg.random.CombatRandom;
 import com.rpg.singleton.GameSettings;
 import com.rpg.strategy.*;
 import com.rpg.util.DisplayUtil;
+import com.rpg.tournament.*;
 import com.rpg.validator.*;
 import com.rpg.view.ConsoleView;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 @SuppressWarnings("deprecation") // Using legacy AbilityDecorator for backward compatibility
@@ -26,6 +31,8 @@ public class GameController {
     private CharacterValidator validator;
     private CommandHistory commandHistory;
     private CombatLogger combatLogger;
+    private AsyncCombatRenderer combatDisplay;
+    private CombatEngine combatEngine;
     private TeamBattle teamBattle;
 
     public GameController() {
@@ -36,7 +43,9 @@ public class GameController {
         this.dao = new FileCharacterDAO();
         this.commandHistory = new CommandHistory();
         this.combatLogger = new CombatLogger();
-        this.teamBattle = new TeamBattle(combatLogger);
+        this.combatDisplay = new AsyncCombatRenderer();
+        this.combatEngine = new CombatEngine();
+        this.teamBattle = new TeamBattle(combatLogger, CombatRandom.create(), combatDisplay);
         setupValidator();
     }
 
@@ -79,8 +88,9 @@ public class GameController {
                     case "13": saveCharacters(); break;
                     case "14": loadCharacters(); break;
                     case "15": configureSettings(); break;
+                    case "16": tournamentMenu(); break;
                     case "0": running = false; break;
-                    default: view.showMessage(DisplayUtil.error("Choix invalide. Entrez un nombre entre 0 et 15"));
+                    default: view.showMessage(DisplayUtil.error("Choix invalide. Entrez un nombre entre 0 et 16"));
                 }
             } catch (Exception e) {
                 view.showMessage("❌ Erreur: " + e.getMessage());
@@ -199,7 +209,7 @@ public class GameController {
                     DisplayUtil.GREEN));
                 System.out.println("  • Capacités: " + String.join(", ", character.getAbilities()));
             } else {
-                character.getAbilities().remove(character.getAbilities().size() - 1);
+                character.removeLastAbility();
                 view.showMessage(DisplayUtil.error("Erreur de validation:"));
                 for (String error : abilityValidation.getErrors()) {
                     view.showMessage(DisplayUtil.warning("  • " + error));
@@ -405,95 +415,91 @@ public class GameController {
         int defenderInitialHP = defender.getHealth();
 
         // Affichage de l'introduction
-        System.out.println(DisplayUtil.createBorder("⚔ DUEL ⚔", 70));
-        System.out.println(DisplayUtil.colorize("  " + attacker.getName() + " [Niv." + attacker.getLevel() + "]", 
+        show(DisplayUtil.createBorder("⚔ DUEL ⚔", 70));
+        show(DisplayUtil.colorize("  " + attacker.getName() + " [Niv." + attacker.getLevel() + "]", 
                                                 DisplayUtil.CYAN + DisplayUtil.BOLD));
-        System.out.println("    Puissance: " + attacker.getPowerLevel());
-        System.out.println("    " + DisplayUtil.createHealthBar(attacker.getHealth(), attacker.getMaxHealth(), 20));
+        show("    Puissance: " + attacker.getPowerLevel());
+        show("    " + DisplayUtil.createHealthBar(attacker.getHealth(), attacker.getMaxHealth(), 20));
         
-        System.out.println(DisplayUtil.colorize("\n          ⚔ CONTRE ⚔\n", DisplayUtil.YELLOW));
+        show(DisplayUtil.colorize("\n          ⚔ CONTRE ⚔\n", DisplayUtil.YELLOW));
         
-        System.out.println(DisplayUtil.colorize("  " + defender.getName() + " [Niv." + defender.getLevel() + "]", 
+        show(DisplayUtil.colorize("  " + defender.getName() + " [Niv." + defender.getLevel() + "]", 
                                                 DisplayUtil.PURPLE + DisplayUtil.BOLD));
-        System.out.println("    Puissance: " + defender.getPowerLevel());
-        System.out.println("    " + DisplayUtil.createHealthBar(defender.getHealth(), defender.getMaxHealth(), 20));
-        System.out.println("\n" + DisplayUtil.closeBorder(70));
+        show("    Puissance: " + defender.getPowerLevel());
+        show("    " + DisplayUtil.createHealthBar(defender.getHealth(), defender.getMaxHealth(), 20));
+        show("\n" + DisplayUtil.closeBorder(70));
 
-        combatLogger.logCombatEvent("Combat entre " + attacker.getName() + " et " + defender.getName());
+        logCombat("Combat entre " + attacker.getName() + " et " + defender.getName());
 
         // Phase 1: Attaquant frappe
-        DisplayUtil.printSeparator();
-        System.out.println(DisplayUtil.colorize("\n▶ " + attacker.getName() + " attaque!", DisplayUtil.CYAN + DisplayUtil.BOLD));
+        separator();
+        show(DisplayUtil.colorize("\n▶ " + attacker.getName() + " attaque!", DisplayUtil.CYAN + DisplayUtil.BOLD));
         Command attackCmd = new AttackCommand(attacker, defender);
-        attackCmd.execute();
+        render(attackCmd, 1000);
         commandHistory.addCommand(attackCmd);
 
-        System.out.println("\n  État après l'attaque:");
-        System.out.println("    " + defender.getName() + ": " + 
+        show("\n  État après l'attaque:");
+        show("    " + defender.getName() + ": " + 
                          DisplayUtil.createHealthBar(defender.getHealth(), defender.getMaxHealth(), 20));
 
-        // Pause visuelle
-        try { Thread.sleep(1000); } catch (InterruptedException e) {}
-
         // Phase 2: Contre-attaque si encore en vie
         if (defender.getHealth() > 0) {
-            DisplayUtil.printSeparator();
-            System.out.println(DisplayUtil.colorize("\n▶ " + defender.getName() + " contre-attaque!", 
+            separator();
+            show(DisplayUtil.colorize("\n▶ " + defender.getName() + " contre-attaque!", 
                                                    DisplayUtil.PURPLE + DisplayUtil.BOLD));
             Command counterAttackCmd = new AttackCommand(defender, attacker);
-            counterAttackCmd.execute();
+            render(counterAttackCmd, 1000);
             commandHistory.addCommand(counterAttackCmd);
 
-            System.out.println("\n  État après la contre-attaque:");
-            System.out.println("    " + attacker.getName() + ": " + 
+            show("\n  État après la contre-attaque:");
+            show("    " + attacker.getName() + ": " + 
                              DisplayUtil.createHealthBar(attacker.getHealth(), attacker.getMaxHealth(), 20));
-
-            try { Thread.sleep(1000); } catch (InterruptedException e) {}
         }
 
         // Résultats finaux
-        DisplayUtil.printSeparator();
-        System.out.println(DisplayUtil.createBorder("📊 RÉSULTATS DU COMBAT 📊", 70));
+        separator();
+        show(DisplayUtil.createBorder("📊 RÉSULTATS DU COMBAT 📊", 70));
         
         // Tableau comparatif
-        System.out.println(String.format("  %-20s  %-25s  %-25s", "", attacker.getName(), defender.getName()));
-        System.out.println("  " + "─".repeat(68));
+        show(String.format("  %-20s  %-25s  %-25s", "", attacker.getName(), defender.getName()));
+        show("  " + "─".repeat(68));
         
-        System.out.println(String.format("  %-20s  %d → %d (%+d)", "Points de Vie", 
+        show(String.format("  %-20s  %d → %d (%+d)", "Points de Vie", 
             attackerInitialHP, attacker.getHealth(), attacker.getHealth() - attackerInitialHP));
-        System.out.println(String.format("  %-20s  %d → %d (%+d)", "", 
+        show(String.format("  %-20s  %d → %d (%+d)", "", 
             defenderInitialHP, defender.getHealth(), defender.getHealth() - defenderInitialHP));
         
-        System.out.println("\n  " + "─".repeat(68));
+        show("\n  " + "─".repeat(68));
         
         // Déterminer le vainqueur
         Character winner = null;
         if (attacker.getHealth() > defender.getHealth()) {
             winner = attacker;
-            System.out.println(DisplayUtil.colorize("\n  🏆 VAINQUEUR: " + attacker.getName(), 
+            show(DisplayUtil.colorize("\n  🏆 VAINQUEUR: " + attacker.getName(), 
                                                    DisplayUtil.GREEN + DisplayUtil.BOLD));
-            System.out.println("    Plus de PV restants (" + attacker.getHealth() + " vs " + defender.getHealth() + ")");
+            show("    Plus de PV restants (" + attacker.getHealth() + " vs " + defender.getHealth() + ")");
             attacker.addExperience(30);
-            System.out.println(DisplayUtil.info("    +" + 30 + " XP (Total: " + attacker.getExperience() + "/100)"));
+            show(DisplayUtil.info("    +" + 30 + " XP (Total: " + attacker.getExperience() + "/100)"));
         } else if (defender.getHealth() > attacker.getHealth()) {
             winner = defender;
-            System.out.println(DisplayUtil.colorize("\n  🏆 VAINQUEUR: " + defender.getName(), 
+            show(DisplayUtil.colorize("\n  🏆 VAINQUEUR: " + defender.getName(), 
                                                    DisplayUtil.GREEN + DisplayUtil.BOLD));
-            System.out.println("    Plus de PV restants (" + defender.getHealth() + " vs " + attacker.getHealth() + ")");
+            show("    Plus de PV restants (" + defender.getHealth() + " vs " + attacker.getHealth() + ")");
             defender.addExperience(30);
-            System.out.println(DisplayUtil.info("    +" + 30 + " XP (Total: " + defender.getExperience() + "/100)"));
+            show(DisplayUtil.info("    +" + 30 + " XP (Total: " + defender.getExperience() + "/100)"));
         } else {
-            System.out.println(DisplayUtil.colorize("\n  ⚖ MATCH NUL", DisplayUtil.YELLOW + DisplayUtil.BOLD));
-            System.out.println("    Les deux combattants ont le même nombre de PV");
+            show(DisplayUtil.colorize("\n  ⚖ MATCH NUL", DisplayUtil.YELLOW + DisplayUtil.BOLD));
+            show("    Les deux combattants ont le même nombre de PV");
             attacker.addExperience(15);
             defender.addExperience(15);
         }
 
-        System.out.println("\n" + DisplayUtil.closeBorder(70));
+        show("\n" + DisplayUtil.closeBorder(70));
         
         if (winner != null) {
-            combatLogger.logCombatEvent(winner.getName() + " remporte le duel!");
+            logCombat(winner.getName() + " remporte le duel!");
         }
+        combatDisplay.awaitIdle();
     }
 
     private void advancedCombat() {
@@ -525,62 +531,59 @@ public class GameController {
         long startTime = System.currentTimeMillis();
 
         // Affichage introduction
-        System.out.println(DisplayUtil.createBorder("⚔ COMBAT AVANCÉ ⚔", 70));
-        System.out.println(DisplayUtil.colorize("  " + char1.getName() + " [Niv." + char1.getLevel() + "]", 
+        show(DisplayUtil.createBorder("⚔ COMBAT AVANCÉ ⚔", 70));
+        show(DisplayUtil.colorize("  " + char1.getName() + " [Niv." + char1.getLevel() + "]", 
                                                 DisplayUtil.CYAN + DisplayUtil.BOLD));
-        System.out.println("    ⚔ Force: " + char1.getStrength() + 
+        show("    ⚔ Force: " + char1.getStrength() + 
                          " | 🏃 Agilité: " + char1.getAgility() + 
                          " | 🧠 Intelligence: " + char1.getIntelligence());
-        System.out.println("    " + DisplayUtil.createHealthBar(char1.getHealth(), char1.getMaxHealth(), 20));
+        show("    " + DisplayUtil.createHealthBar(char1.getHealth(), char1.getMaxHealth(), 20));
         if (!char1.getAbilities().isEmpty()) {
-            System.out.println("    📚 Capacités: " + String.join(", ", char1.getAbilities()));
+            show("    📚 Capacités: " + String.join(", ", char1.getAbilities()));
         }
         
-        System.out.println(DisplayUtil.colorize("\n          ⚔ CONTRE ⚔\n", DisplayUtil.YELLOW));
+        show(DisplayUtil.colorize("\n          ⚔ CONTRE ⚔\n", DisplayUtil.YELLOW));
         
-        System.out.println(DisplayUtil.colorize("  " + char2.getName() + " [Niv." + char2.getLevel() + "]", 
+        show(DisplayUtil.colorize("  " + char2.getName() + " [Niv." + char2.getLevel() + "]", 
                                                 DisplayUtil.PURPLE + DisplayUtil.BOLD));
-        System.out.println("    ⚔ Force: " + char2.getStrength() + 
+        show("    ⚔ Force: " + char2.getStrength() + 
                          " | 🏃 Agilité: " + char2.getAgility() + 
                          " | 🧠 Intelligence: " + char2.getIntelligence());
-        System.out.println("    " + DisplayUtil.createHealthBar(char2.getHealth(), char2.getMaxHealth(), 20));
+        show("    " + DisplayUtil.createHealthBar(char2.getHealth(), char2.getMaxHealth(), 20));
         if (!char2.getAbilities().isEmpty()) {
-            System.out.println("    📚 Capacités: " + String.join(", ", char2.getAbilities()));
+            show("    📚 Capacités: " + String.join(", ", char2.getAbilities()));
         }
-        System.out.println("\n" + DisplayUtil.closeBorder(70));
+        show("\n" + DisplayUtil.closeBorder(70));
 
-        combatLogger.logCombatEvent("Début du combat avancé entre " + char1.getName() + 
+        logCombat("Début du combat avancé entre " + char1.getName() + 
                                    " et " + char2.getName());
 
         boolean fighting = true;
         int round = 1;
 
         while (fighting && char1.getHealth() > 0 && char2.getHealth() > 0) {
-            DisplayUtil.printSeparator();
-            System.out.println(DisplayUtil.colorize("\n═══ ROUND " + round + " ═══", 
+            separator();
+            show(DisplayUtil.colorize("\n═══ ROUND " + round + " ═══", 
                                                    DisplayUtil.BOLD + DisplayUtil.YELLOW));
-            DisplayUtil.printSeparator();
+            separator();
             
             // Affichage de l'état actuel
-            System.out.println("\n📊 État des combattants:");
-            System.out.println("  • " + char1.getName() + ": " + 
+            show("\n📊 État des combattants:");
+            show("  • " + char1.getName() + ": " + 
                              DisplayUtil.createHealthBar(char1.getHealth(), char1.getMaxHealth(), 20));
-            System.out.println("  • " + char2.getName() + ": " + 
+            show("  • " + char2.getName() + ": " + 
                              DisplayUtil.createHealthBar(char2.getHealth(), char2.getMaxHealth(), 20));
 
             // Tour du personnage 1
-            System.out.println(DisplayUtil.colorize("\n▶ Tour de " + char1.getName(), 
+            show(DisplayUtil.colorize("\n▶ Tour de " + char1.getName(), 
                                                    DisplayUtil.CYAN + DisplayUtil.BOLD));
             Command cmd1 = chooseAction(char1, char2);
             if (cmd1 != null) {
-                cmd1.execute();
+                render(cmd1, 800);
                 commandHistory.addCommand(cmd1);
                 char1Actions++;
             }
 
-            // Pause visuelle
-            try { Thread.sleep(800); } catch (InterruptedException e) {}
-
             if (char2.getHealth() <= 0) {
                 displayCombatVictory(char1, char2, round, char1Actions, char2Actions, 
                                     char1InitialHP, char2InitialHP, startTime);
@@ -588,17 +591,15 @@ public class GameController {
             }
 
             // Tour du personnage 2
-            System.out.println(DisplayUtil.colorize("\n▶ Tour de " + char2.getName(), 
+            show(DisplayUtil.colorize("\n▶ Tour de " + char2.getName(), 
                                                    DisplayUtil.PURPLE + DisplayUtil.BOLD));
             Command cmd2 = chooseAction(char2, char1);
             if (cmd2 != null) {
-                cmd2.execute();
+                render(cmd2, 800);
                 commandHistory.addCommand(cmd2);
                 char2Actions++;
             }
 
-            try { Thread.sleep(800); } catch (InterruptedException e) {}
-
             if (char1.getHealth() <= 0) {
                 displayCombatVictory(char2, char1, round, char2Actions, char1Actions, 
                                     char2InitialHP, char1InitialHP, startTime);
@@ -606,6 +607,7 @@ public class GameController {
             }
 
             // Demander si on continue
+            combatDisplay.awaitIdle();
             System.out.print(DisplayUtil.info("\nContinuer le combat? (o/n): "));
             String choice = view.getUserInput();
             if (choice.equalsIgnoreCase("n")) {
@@ -615,6 +617,33 @@ public class GameController {
 
             round++;
         }
+        combatDisplay.awaitIdle();
+    }
+
+    /**
+     * Exécute une commande et publie son résultat au rendu du combat, suivi d'une pause
+     * dont la durée dépend de la vitesse d'affichage. Ne fait qu'enfiler: la pause est jouée
+     * par le thread d'affichage, jamais par le combat.
+     */
+    private void render(Command command, long pauseMillis) {
+        command.resolve(combatEngine);
+        command.report(combatDisplay);
+        combatDisplay.pause(pauseMillis);
+    }
+
+    /**
+     * Affiche une ligne à la suite du rendu du combat.
+     */
+    private void show(String line) {
+        combatDisplay.println(line);
+    }
+
+    private void separator() {
+        show(DisplayUtil.CYAN + "═".repeat(60) + DisplayUtil.RESET);
+    }
+
+    private void logCombat(String event) {
+        show("⚔ " + combatLogger.recordCombatEvent(event));
     }
 
     private void displayCombatVictory(Character winner, Character loser, int rounds, 
@@ -622,36 +651,36 @@ public class GameController {
                                      int winnerInitialHP, int loserInitialHP, long startTime) {
         long duration = (System.currentTimeMillis() - startTime) / 1000;
         
-        System.out.println("\n" + DisplayUtil.createBorder("🏆 VICTOIRE 🏆", 70));
-        System.out.println(DisplayUtil.colorize("  " + winner.getName() + " remporte le combat!", 
+        show("\n" + DisplayUtil.createBorder("🏆 VICTOIRE 🏆", 70));
+        show(DisplayUtil.colorize("  " + winner.getName() + " remporte le combat!", 
                                                 DisplayUtil.GREEN + DisplayUtil.BOLD));
         
-        System.out.println("\n  📊 Statistiques du combat:");
-        System.out.println("    • Durée: " + duration + " secondes");
-        System.out.println("    • Rounds: " + rounds);
-        System.out.println("    • Actions totales: " + (winnerActions + loserActions));
+        show("\n  📊 Statistiques du combat:");
+        show("    • Durée: " + duration + " secondes");
+        show("    • Rounds: " + rounds);
+        show("    • Actions totales: " + (winnerActions + loserActions));
         
-        System.out.println("\n  👤 Vainqueur - " + winner.getName() + ":");
-        System.out.println("    " + DisplayUtil.createHealthBar(winner.getHealth(), winner.getMaxHealth(), 20));
-        System.out.println("    • PV: " + winnerInitialHP + " → " + winner.getHealth() + 
+        show("\n  👤 Vainqueur - " + winner.getName() + ":");
+        show("    " + DisplayUtil.createHealthBar(winner.getHealth(), winner.getMaxHealth(), 20));
+        show("    • PV: " + winnerInitialHP + " → " + winner.getHealth() + 
                          " (" + (winner.getHealth() - winnerInitialHP) + ")");
-        System.out.println("    • Actions: " + winnerActions);
+        show("    • Actions: " + winnerActions);
         
-        System.out.println("\n  💀 Vaincu - " + loser.getName() + ":");
-        System.out.println("    " + DisplayUtil.createHealthBar(loser.getHealth(), loser.getMaxHealth(), 20));
-        System.out.println("    • PV: " + loserInitialHP + " → " + loser.getHealth() + 
+        show("\n  💀 Vaincu - " + loser.getName() + ":");
+        show("    " + DisplayUtil.createHealthBar(loser.getHealth(), loser.getMaxHealth(), 20));
+        show("    • PV: " + loserInitialHP + " → " + loser.getHealth() + 
                          " (" + (loser.getHealth() - loserInitialHP) + ")");
-        System.out.println("    • Actions: " + loserActions);
+        show("    • Actions: " + loserActions);
         
         // Expérience
         int expGain = 50;
         winner.addExperience(expGain);
-        System.out.println("\n  " + DisplayUtil.success(winner.getName() + " gagne " + expGain + 
+        show("\n  " + DisplayUtil.success(winner.getName() + " gagne " + expGain + 
                          " XP (Total: " + winner.getExperience() + "/100)"));
         
-        System.out.println("\n" + DisplayUtil.closeBorder(70));
+        show("\n" + DisplayUtil.closeBorder(70));
         
-        combatLogger.logCombatEvent(winner.getName() + " a vaincu " + loser.getName() + 
+        logCombat(winner.getName() + " a vaincu " + loser.getName() + 
                                    " après " + rounds + " rounds");
     }
 
@@ -659,32 +688,33 @@ public class GameController {
                                   int actions1, int actions2, long startTime) {
         long duration = (System.currentTimeMillis() - startTime) / 1000;
         
-        System.out.println("\n" + DisplayUtil.createBorder("⚖ COMBAT INTERROMPU ⚖", 70));
-        System.out.println(DisplayUtil.colorize("  Le combat s'arrête avant qu'un vainqueur ne soit désigné", 
+        show("\n" + DisplayUtil.createBorder("⚖ COMBAT INTERROMPU ⚖", 70));
+        show(DisplayUtil.colorize("  Le combat s'arrête avant qu'un vainqueur ne soit désigné", 
                                                 DisplayUtil.YELLOW + DisplayUtil.BOLD));
         
-        System.out.println("\n  📊 Statistiques:");
-        System.out.println("    • Durée: " + duration + " secondes");
-        System.out.println("    • Rounds: " + rounds);
-        System.out.println("    • Actions totales: " + (actions1 + actions2));
+        show("\n  📊 Statistiques:");
+        show("    • Durée: " + duration + " secondes");
+        show("    • Rounds: " + rounds);
+        show("    • Actions totales: " + (actions1 + actions2));
         
-        System.out.println("\n  État final:");
-        System.out.println("    • " + char1.getName() + ": " + 
+        show("\n  État final:");
+        show("    • " + char1.getName() + ": " + 
                          DisplayUtil.createHealthBar(char1.getHealth(), char1.getMaxHealth(), 20));
-        System.out.println("    • " + char2.getName() + ": " + 
+        show("    • " + char2.getName() + ": " + 
                          DisplayUtil.createHealthBar(char2.getHealth(), char2.getMaxHealth(), 20));
         
         // Expérience réduite
         char1.addExperience(20);
         char2.addExperience(20);
-        System.out.println("\n  " + DisplayUtil.info("Les deux combattants gagnent 20 XP"));
+        show("\n  " + DisplayUtil.info("Les deux combattants gagnent 20 XP"));
         
-        System.out.println("\n" + DisplayUtil.closeBorder(70));
+        show("\n" + DisplayUtil.closeBorder(70));
         
-        combatLogger.logCombatEvent("Combat interrompu après " + rounds + " rounds");
+        logCombat("Combat interrompu après " + rounds + " rounds");
     }
 
     private Command chooseAction(Character actor, Character target) {
+        combatDisplay.awaitIdle();
         view.showMessage("\n" + actor.getName() + " - Actions:");
         view.showMessage("  1. Attaquer");
         view.showMessage("  2. Défendre");
@@ -736,6 +766,7 @@ public class GameController {
         view.showMessage("2. Personnages max par équipe: " + settings.getMaxCharactersPerTeam());
         view.showMessage("3. Capacités max par personnage: " + settings.getMaxAbilities());
         view.showMessage("4. Équipes max par armée: " + settings.getMaxTeamsPerArmy());
+        view.showMessage("5. Vitesse d'affichage des combats: " + combatDisplay.getPacing());
         view.showMessage("0. Retour");
 
         int choice = view.askIntInput("Modifier quel paramètre?");
@@ -761,6 +792,17 @@ public class GameController {
                 settings.setMaxTeamsPerArmy(maxTeams);
                 view.showMessage("✅ Paramètre modifié");
                 break;
+            case 5:
+                AsyncCombatRenderer.Pacing[] pacings = AsyncCombatRenderer.Pacing.values();
+                for (int i = 0; i < pacings.length; i++) {
+                    view.showMessage("  " + (i + 1) + ". " + pacings[i]);
+                }
+                int pacing = view.askIntInput("Nouvelle vitesse") - 1;
+                if (pacing >= 0 && pacing < pacings.length) {
+                    combatDisplay.setPacing(pacings[pacing]);
+                    view.showMessage("✅ Paramètre modifié");
+                }
+                break;
         }
     }
 
@@ -800,9 +842,10 @@ public class GameController {
         view.showMessage("1. ⚔ Agressive - Attaque constamment");
         view.showMessage("2. 🛡 Défensive - Privilégie la défense et survie");
         view.showMessage("3. ⚖ Équilibrée - S'adapte à la situation");
+        view.showMessage("4. 🧠 MCTS - Simule la suite du duel avant d'agir");
         
-        int strat1Choice = view.askIntInput("\nStratégie pour " + team1.getName() + " (1-3)");
-        int strat2Choice = view.askIntInput("Stratégie pour " + team2.getName() + " (1-3)");
+        int strat1Choice = view.askIntInput("\nStratégie pour " + team1.getName() + " (1-4)");
+        int strat2Choice = view.askIntInput("Stratégie pour " + team2.getName() + " (1-4)");
         
         CombatStrategy strategy1 = getStrategy(strat1Choice);
         CombatStrategy strategy2 = getStrategy(strat2Choice);
@@ -811,11 +854,43 @@ public class GameController {
         teamBattle.startTeamBattle(team1, team2, strategy1, strategy2);
     }
     
+    private void tournamentMenu() {
+        List<TeamComposite> allGroups = new ArrayList<>();
+        allGroups.addAll(teams);
+        allGroups.addAll(armies);
+        if (allGroups.size() < 2) {
+            view.showMessage(DisplayUtil.error("Il faut au moins 2 équipes ou armées pour un tournoi!"));
+            return;
+        }
+
+        DisplayUtil.printSectionTitle("TOURNOI - TOUTES LES ÉQUIPES ET ARMÉES");
+        int battles = view.askIntInput("Combats par rencontre (min 2)");
+        if (battles < 2) {
+            view.showMessage(DisplayUtil.error("Nombre de combats invalide"));
+            return;
+        }
+        int seed = view.askIntInput("Graine (même graine = mêmes résultats, reprise possible)");
+
+        Tournament tournament = new Tournament(allGroups, Arrays.asList(StrategyType.values()), battles, seed);
+        tournament.setCheckpointFile(Paths.get("tournament-" + seed + ".txt"));
+        int step = Math.max(1, tournament.getPairingCount() / 10);
+        tournament.addListener((result, completed, total) -> {
+            if (completed % step == 0 || completed == total) {
+                System.out.println(DisplayUtil.info("  Rencontres terminées: " + completed + "/" + total));
+            }
+        });
+
+        TournamentResult result = tournament.run();
+        result.display();
+        combatLogger.logCombatEvent("Tournoi terminé: " + result.getRanking().get(0).getName() + " en tête");
+    }
+    
     private CombatStrategy getStrategy(int choice) {
         switch (choice) {
             case 1: return new AggressiveStrategy();
             case 2: return new DefensiveStrategy();
             case 3: return new BalancedStrategy();
+            case 4: return new MctsStrategy();
             default: return new BalancedStrategy();
         }
     }
@@ -0,0 +1,129 @@
+package com.rpg.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Registry of the special abilities.
+ * Each ability has a compact id (its bit in a character's ability mask) and a
+ * precompiled effect, so combat code resolves an ability name once and then
+ * works with ids and bitmasks instead of comparing strings on every action.
+ */
+public enum Ability {
+    INVISIBILITE("Invisibilite", false) {
+        @Override
+        public int power(Character user) {
+            return 0; // Defensive ability
+        }
+
+        @Override
+        public int apply(Character user, Character target) {
+            user.setAgility(user.getAgility() + 3);
+            return 0;
+        }
+    },
+    TELEPATHIE("Telepathie", true) {
+        @Override
+        public int power(Character user) {
+            return user.getIntelligence();
+        }
+    },
+    SUPER_FORCE("Super Force", true) {
+        @Override
+        public int power(Character user) {
+            return user.getStrength() * 2;
+        }
+    },
+    REGENERATION("Regeneration", false) {
+        @Override
+        public int power(Character user) {
+            return 30;
+        }
+
+        @Override
+        public int apply(Character user, Character target) {
+            int heal = power(user);
+            user.setHealth(user.getHealth() + heal);
+            return heal;
+        }
+    },
+    POUVOIR_DU_FEU("Pouvoir du Feu", true) {
+        @Override
+        public int power(Character user) {
+            return user.getStrength() + user.getIntelligence();
+        }
+    };
+
+    /** Mask of the abilities that damage their target. */
+    public static final int OFFENSIVE_MASK;
+
+    private static final Ability[] BY_ID = values();
+    private static final Map<String, Ability> BY_NAME = new HashMap<>();
+
+    static {
+        int offensive = 0;
+        for (Ability ability : BY_ID) {
+            BY_NAME.put(ability.name, ability);
+            if (ability.offensive) {
+                offensive |= ability.bit();
+            }
+        }
+        OFFENSIVE_MASK = offensive;
+    }
+
+    private final String name;
+    private final boolean offensive;
+
+    Ability(String name, boolean offensive) {
+        this.name = name;
+        this.offensive = offensive;
+    }
+
+    /**
+     * Damage or healing amount of the ability for the given user.
+     */
+    public abstract int power(Character user);
+
+    /**
+     * Applies the ability's effect. Offensive abilities damage the target by their power.
+     * @return The damage or healing amount
+     */
+    public int apply(Character user, Character target) {
+        int damage = power(user);
+        target.setHealth(Math.max(0, target.getHealth() - damage));
+        return damage;
+    }
+
+    /**
+     * @return The ability name as stored in Character.getAbilities()
+     */
+    public String getName() {
+        return name;
+    }
+
+    public boolean isOffensive() {
+        return offensive;
+    }
+
+    public int getId() {
+        return ordinal();
+    }
+
+    /**
+     * @return The bit of this ability in an ability mask
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * @return The ability with this name, or null if the name is not a known ability
+     */
+    public static Ability fromName(String name) {
+        return BY_NAME.get(name);
+    }
+
+    public static Ability byId(int id) {
+        return BY_ID[id];
+    }
+}
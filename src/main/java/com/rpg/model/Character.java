@@ -1,6 +1,7 @@
 package com.rpg.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class Character {
@@ -10,7 +11,10 @@ public class Character {
     private int intelligence;
     private int health;
     private int maxHealth;
+    // Copy-on-write: both lists are unmodifiable and replaced on change, so copies share them
     private List<String> abilities;
+    private List<Ability> registeredAbilities; // same order as abilities, null for unknown names
+    private int abilityMask;
     private int level;
     private int experience;
 
@@ -21,11 +25,39 @@ public class Character {
         this.intelligence = intelligence;
         this.maxHealth = 100;
         this.health = maxHealth;
-        this.abilities = new ArrayList<>();
+        this.abilities = Collections.emptyList();
+        this.registeredAbilities = Collections.emptyList();
         this.level = 1;
         this.experience = 0;
     }
 
+    /**
+     * Copy constructor: duplicates the stats, health and abilities of another character.
+     * Used by simulations that must not alter the roster. The ability lists are shared
+     * (copy-on-write), so a copy only costs its scalar fields.
+     */
+    public Character(Character other) {
+        copyFrom(other);
+    }
+
+    /**
+     * Overwrites this character with the state of another, like the copy constructor,
+     * for simulations that reuse scratch copies instead of allocating one per action.
+     */
+    protected final void copyFrom(Character other) {
+        this.name = other.name;
+        this.strength = other.strength;
+        this.agility = other.agility;
+        this.intelligence = other.intelligence;
+        this.maxHealth = other.maxHealth;
+        this.health = other.health;
+        this.abilities = other.abilities;
+        this.registeredAbilities = other.registeredAbilities;
+        this.abilityMask = other.abilityMask;
+        this.level = other.level;
+        this.experience = other.experience;
+    }
+
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
     public int getStrength() { return strength; }
@@ -42,7 +74,31 @@ public class Character {
         if (this.health > maxHealth) this.health = maxHealth;
     }
     public List<String> getAbilities() { return abilities; }
-    public void addAbility(String ability) { this.abilities.add(ability); }
+    public void addAbility(String ability) {
+        Ability registered = Ability.fromName(ability);
+        List<String> names = new ArrayList<>(abilities);
+        List<Ability> resolved = new ArrayList<>(registeredAbilities);
+        names.add(ability);
+        resolved.add(registered);
+        this.abilities = Collections.unmodifiableList(names);
+        this.registeredAbilities = Collections.unmodifiableList(resolved);
+        if (registered != null) abilityMask |= registered.bit();
+    }
+    public void removeLastAbility() {
+        if (abilities.isEmpty()) return;
+        abilities = Collections.unmodifiableList(new ArrayList<>(abilities.subList(0, abilities.size() - 1)));
+        registeredAbilities = Collections.unmodifiableList(
+            new ArrayList<>(registeredAbilities.subList(0, registeredAbilities.size() - 1)));
+        abilityMask = 0;
+        for (Ability registered : registeredAbilities) {
+            if (registered != null) abilityMask |= registered.bit();
+        }
+    }
+    public int getAbilityCount() { return abilities.size(); }
+    /** @return The registered ability at this position, or null if its name is unknown */
+    public Ability getAbilityAt(int index) { return registeredAbilities.get(index); }
+    public boolean hasAbility(Ability ability) { return (abilityMask & ability.bit()) != 0; }
+    public int getAbilityMask() { return abilityMask; }
     public int getLevel() { return level; }
     public void setLevel(int level) { this.level = level; }
     public int getExperience() { return experience; }
@@ -0,0 +1,333 @@
+package com.rpg.observer;
+
+import com.rpg.combat.CombatStatistics;
+import com.rpg.model.Ability;
+import com.rpg.model.Character;
+import com.rpg.validator.ValidationResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Rendu console des combats sur un thread dédié.
+ *
+ * Events are formatted by a ConsoleCombatRenderer on the publishing thread, which only costs
+ * string building, and the text is handed to a daemon thread through a bounded queue: the combat
+ * never waits for the terminal. Pacing (the pause before each action) is applied by that thread
+ * according to the Pacing setting, never inside the combat.
+ *
+ * Output is grouped into frames: an action with its results, or a key frame (round, turn, K.O.,
+ * free text). When the terminal falls behind and the queue is full, action frames are dropped and
+ * counted, and the next rendered frame reports how many were skipped. A quarter of the queue is
+ * kept for key frames; a key frame arriving on a full queue evicts the oldest frame.
+ *
+ * Code printing directly to the console between frames must call awaitIdle() first, so that
+ * its output comes after the frames already published. One publishing thread at a time.
+ */
+public class AsyncCombatRenderer implements CombatEventSink, AutoCloseable {
+
+    /**
+     * Vitesse d'affichage des combats.
+     */
+    public enum Pacing {
+        /** Pauses of the original console combat */
+        REAL_TIME(1.0),
+        /** Ten times faster */
+        FAST(0.1),
+        /** No pause */
+        INSTANT(0.0);
+
+        private final double factor;
+
+        Pacing(double factor) {
+            this.factor = factor;
+        }
+
+        public double getFactor() {
+            return factor;
+        }
+    }
+
+    public static final int DEFAULT_CAPACITY = 256;
+    /** Pause before each action at REAL_TIME, the former Thread.sleep of TeamBattle */
+    public static final long ACTION_PAUSE_MILLIS = 500;
+
+    private final PrintStream out;
+    private final BlockingQueue<Frame> queue;
+    private final int keyReserve;
+    private final Thread thread;
+
+    // Publishing side: formatting into a buffer, frame being built
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final ConsoleCombatRenderer formatter =
+        new ConsoleCombatRenderer(new PrintStream(buffer, true, StandardCharsets.UTF_8));
+    private StringBuilder pending;
+    private long pendingPause;
+    private boolean pendingDroppable;
+
+    private volatile Pacing pacing;
+    private volatile boolean closed;
+    private final Object progress = new Object();
+    private long submitted;
+    private long completed;
+    private long dropped;
+    private long droppedTotal;
+
+    /**
+     * Creates a renderer printing to System.out in real time.
+     */
+    public AsyncCombatRenderer() {
+        this(System.out, Pacing.REAL_TIME, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity Maximum number of frames waiting to be rendered
+     */
+    public AsyncCombatRenderer(PrintStream out, Pacing pacing, int capacity) {
+        if (capacity < 4) {
+            throw new IllegalArgumentException("La file d'affichage doit contenir au moins 4 images");
+        }
+        this.out = out;
+        this.pacing = pacing;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.keyReserve = capacity / 4;
+        this.thread = new Thread(this::renderLoop, "combat-renderer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public Pacing getPacing() {
+        return pacing;
+    }
+
+    /**
+     * Changes the pacing, from the next frame on.
+     */
+    public void setPacing(Pacing pacing) {
+        this.pacing = pacing;
+    }
+
+    /**
+     * @return Number of action frames dropped since creation because the terminal fell behind
+     */
+    public long getDroppedFrames() {
+        synchronized (progress) {
+            return droppedTotal;
+        }
+    }
+
+    // ===== Combat events =====
+
+    @Override
+    public void roundStarted(int round) {
+        formatter.roundStarted(round);
+        keyFrame();
+    }
+
+    @Override
+    public void turnStarted(String teamName, int side) {
+        formatter.turnStarted(teamName, side);
+        keyFrame();
+    }
+
+    @Override
+    public void actionStarted(Character actor) {
+        submitPending();
+        formatter.actionStarted(actor);
+        pending = new StringBuilder(takeBuffer());
+        pendingPause = ACTION_PAUSE_MILLIS;
+        pendingDroppable = true;
+    }
+
+    @Override
+    public void attacked(Character attacker, Character target, int damage, boolean critical) {
+        formatter.attacked(attacker, target, damage, critical);
+        appendToAction();
+    }
+
+    @Override
+    public void defended(Character defender, int healthBonus) {
+        formatter.defended(defender, healthBonus);
+        appendToAction();
+    }
+
+    @Override
+    public void abilityUsed(Character user, Character target, String ability, Ability registered, int amount) {
+        formatter.abilityUsed(user, target, ability, registered, amount);
+        appendToAction();
+    }
+
+    @Override
+    public void abilityRejected(Character user, String ability, ValidationResult validation) {
+        formatter.abilityRejected(user, ability, validation);
+        appendToAction();
+    }
+
+    @Override
+    public void knockedOut(Character fighter) {
+        formatter.knockedOut(fighter);
+        keyFrame();
+    }
+
+    /**
+     * Renders the end-of-battle statistics as a key frame.
+     */
+    public void renderStatistics(CombatStatistics stats) {
+        formatter.renderStatistics(stats);
+        keyFrame();
+    }
+
+    /**
+     * Prints a line of free text as part of the combat output.
+     */
+    public void println(String line) {
+        if (pending == null || pendingDroppable) {
+            submitPending();
+            pending = new StringBuilder();
+            pendingPause = 0;
+            pendingDroppable = false;
+        }
+        pending.append(line).append(System.lineSeparator());
+    }
+
+    /**
+     * Adds a pause to the output after the frames already published, scaled by the pacing.
+     */
+    public void pause(long millis) {
+        submitPending();
+        submit(new Frame("", millis, false));
+    }
+
+    // ===== Frames =====
+
+    private String takeBuffer() {
+        String text = buffer.toString(StandardCharsets.UTF_8);
+        buffer.reset();
+        return text;
+    }
+
+    private void appendToAction() {
+        if (pending == null || !pendingDroppable) {
+            submitPending();
+            pending = new StringBuilder();
+            pendingPause = 0;
+            pendingDroppable = true;
+        }
+        pending.append(takeBuffer());
+    }
+
+    private void keyFrame() {
+        submitPending();
+        submit(new Frame(takeBuffer(), 0, false));
+    }
+
+    private void submitPending() {
+        if (pending != null) {
+            submit(new Frame(pending.toString(), pendingPause, pendingDroppable));
+            pending = null;
+        }
+    }
+
+    private void submit(Frame frame) {
+        if (closed) {
+            throw new IllegalStateException("Le rendu du combat est fermé");
+        }
+        synchronized (progress) {
+            if (frame.droppable) {
+                if (queue.remainingCapacity() <= keyReserve || !queue.offer(frame)) {
+                    dropped++;
+                    droppedTotal++;
+                    return;
+                }
+            } else {
+                while (!queue.offer(frame)) {
+                    if (queue.poll() != null) {
+                        completed++;
+                        dropped++;
+                        droppedTotal++;
+                    }
+                }
+            }
+            submitted++;
+        }
+    }
+
+    /**
+     * Waits until every frame published so far has been rendered.
+     */
+    public void awaitIdle() {
+        submitPending();
+        synchronized (progress) {
+            long target = submitted;
+            while (completed < target) {
+                try {
+                    progress.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Renders the remaining frames and stops the rendering thread.
+     */
+    @Override
+    public void close() {
+        awaitIdle();
+        closed = true;
+        thread.interrupt();
+    }
+
+    private void renderLoop() {
+        while (!closed) {
+            Frame frame;
+            try {
+                frame = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            long skipped;
+            synchronized (progress) {
+                skipped = dropped;
+                dropped = 0;
+            }
+            if (skipped > 0) {
+                out.println("  … " + skipped + " action(s) non affichée(s)");
+            }
+            long pause = (long) (frame.pauseMillis * pacing.getFactor());
+            if (pause > 0) {
+                try {
+                    Thread.sleep(pause);
+                } catch (InterruptedException e) {
+                    closed = true;
+                }
+            }
+            out.print(frame.text);
+            out.flush();
+            synchronized (progress) {
+                completed++;
+                progress.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Text rendered in one go, after its pause.
+     */
+    private static final class Frame {
+        final String text;
+        final long pauseMillis;
+        final boolean droppable;
+
+        Frame(String text, long pauseMillis, boolean droppable) {
+            this.text = text;
+            this.pauseMillis = pauseMillis;
+            this.droppable = droppable;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.rpg.observer;
+
+import com.rpg.model.Ability;
+import com.rpg.model.Character;
+import com.rpg.validator.ValidationResult;
+
+/**
+ * Fan-out of combat events to several sinks, see CombatEventSink.broadcast().
+ */
+class BroadcastSink implements CombatEventSink {
+    private final CombatEventSink[] sinks;
+
+    BroadcastSink(CombatEventSink[] sinks) {
+        this.sinks = sinks;
+    }
+
+    @Override
+    public void roundStarted(int round) {
+        for (CombatEventSink sink : sinks) sink.roundStarted(round);
+    }
+
+    @Override
+    public void turnStarted(String teamName, int side) {
+        for (CombatEventSink sink : sinks) sink.turnStarted(teamName, side);
+    }
+
+    @Override
+    public void actionStarted(Character actor) {
+        for (CombatEventSink sink : sinks) sink.actionStarted(actor);
+    }
+
+    @Override
+    public void attacked(Character attacker, Character target, int damage, boolean critical) {
+        for (CombatEventSink sink : sinks) sink.attacked(attacker, target, damage, critical);
+    }
+
+    @Override
+    public void defended(Character defender, int healthBonus) {
+        for (CombatEventSink sink : sinks) sink.defended(defender, healthBonus);
+    }
+
+    @Override
+    public void abilityUsed(Character user, Character target, String ability, Ability registered, int amount) {
+        for (CombatEventSink sink : sinks) sink.abilityUsed(user, target, ability, registered, amount);
+    }
+
+    @Override
+    public void abilityRejected(Character user, String ability, ValidationResult validation) {
+        for (CombatEventSink sink : sinks) sink.abilityRejected(user, ability, validation);
+    }
+
+    @Override
+    public void knockedOut(Character fighter) {
+        for (CombatEventSink sink : sinks) sink.knockedOut(fighter);
+    }
+}
@@ -0,0 +1,60 @@
+package com.rpg.observer;
+
+import com.rpg.model.Ability;
+import com.rpg.model.Character;
+import com.rpg.validator.ValidationResult;
+
+/**
+ * Observer des événements de combat.
+ * Combat logic publishes compact typed events here instead of printing; rendering them
+ * (ConsoleCombatRenderer), counting them (CombatStatistics) or ignoring them (NONE)
+ * is the subscriber's business. Events are published synchronously, right after the
+ * state change they describe, so subscribers may read the fighters' current state.
+ *
+ * Every method defaults to doing nothing, so NONE costs a no-op call per event
+ * and publishing allocates nothing.
+ */
+public interface CombatEventSink {
+    /**
+     * Sink that ignores every event, used by silent simulations.
+     */
+    CombatEventSink NONE = new CombatEventSink() { };
+
+    default void roundStarted(int round) { }
+
+    /**
+     * @param teamName The team about to act
+     * @param side 1 or 2
+     */
+    default void turnStarted(String teamName, int side) { }
+
+    default void actionStarted(Character actor) { }
+
+    /**
+     * An attack landed; damage already includes the critical multiplier.
+     */
+    default void attacked(Character attacker, Character target, int damage, boolean critical) { }
+
+    default void defended(Character defender, int healthBonus) { }
+
+    /**
+     * @param registered The registered ability, or null for an unknown name (no effect)
+     * @param amount Damage dealt or health restored, 0 if the ability has no numeric effect
+     */
+    default void abilityUsed(Character user, Character target, String ability, Ability registered, int amount) { }
+
+    /**
+     * @param validation The failed AbilitiesValidator result when the user has too many abilities,
+     *                   or null if the user does not have the ability
+     */
+    default void abilityRejected(Character user, String ability, ValidationResult validation) { }
+
+    default void knockedOut(Character fighter) { }
+
+    /**
+     * Publishes every event to each sink, in order.
+     */
+    static CombatEventSink broadcast(CombatEventSink... sinks) {
+        return new BroadcastSink(sinks.clone());
+    }
+}
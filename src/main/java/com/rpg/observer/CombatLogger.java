@@ -27,10 +27,18 @@ public class CombatLogger implements TeamObserver {
     }
 
     public void logCombatEvent(String event) {
+        System.out.println("⚔ " + recordCombatEvent(event));
+    }
+
+    /**
+     * Enregistre un événement de combat sans l'afficher.
+     * @return L'entrée du journal, pour un affichage différé (AsyncCombatRenderer)
+     */
+    public String recordCombatEvent(String event) {
         String timestamp = LocalDateTime.now().format(formatter);
         String logEntry = String.format("[%s] COMBAT: %s", timestamp, event);
         logs.add(logEntry);
-        System.out.println("⚔ " + logEntry);
+        return logEntry;
     }
 
     public void displayLogs() {
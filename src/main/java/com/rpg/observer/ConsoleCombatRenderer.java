@@ -0,0 +1,198 @@
+package com.rpg.observer;
+
+import com.rpg.combat.CombatStatistics;
+import com.rpg.combat.LogHistogram;
+import com.rpg.model.Ability;
+import com.rpg.model.Character;
+import com.rpg.util.DisplayUtil;
+import com.rpg.validator.ValidationResult;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders combat events and statistics as French console text.
+ * The only place where combat output is formatted: commands, battles and statistics
+ * publish events or expose data, and this subscriber turns them into text.
+ */
+public class ConsoleCombatRenderer implements CombatEventSink {
+    private final PrintStream out;
+
+    /**
+     * Creates a renderer printing to System.out.
+     */
+    public ConsoleCombatRenderer() {
+        this(System.out);
+    }
+
+    public ConsoleCombatRenderer(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void roundStarted(int round) {
+        printSeparator();
+        out.println(DisplayUtil.colorize("\n═══ ROUND " + round + " ═══", DisplayUtil.BOLD + DisplayUtil.YELLOW));
+        printSeparator();
+    }
+
+    private void printSeparator() {
+        out.println(DisplayUtil.CYAN + "═".repeat(60) + DisplayUtil.RESET);
+    }
+
+    @Override
+    public void turnStarted(String teamName, int side) {
+        out.println(DisplayUtil.colorize("\n▶ Tour de " + teamName, side == 1 ? DisplayUtil.CYAN : DisplayUtil.PURPLE));
+    }
+
+    @Override
+    public void actionStarted(Character actor) {
+        out.println("\n  → " + actor.getName() + " agit:");
+    }
+
+    @Override
+    public void attacked(Character attacker, Character target, int damage, boolean critical) {
+        if (critical) {
+            out.println("★ COUP CRITIQUE! ★");
+        }
+        out.println(attacker.getName() + " attaque " + target.getName() +
+                    " et inflige " + damage + " dégâts" + (critical ? " (critique)" : "") + "!");
+        out.println(target.getName() + " a maintenant " + target.getHealth() + " PV");
+    }
+
+    @Override
+    public void defended(Character defender, int healthBonus) {
+        out.println(defender.getName() + " se met en position défensive et gagne " +
+                    healthBonus + " PV temporaires!");
+        out.println(defender.getName() + " a maintenant " + defender.getHealth() + " PV");
+    }
+
+    @Override
+    public void abilityUsed(Character user, Character target, String ability, Ability registered, int amount) {
+        out.println(user.getName() + " utilise " + ability + " sur " + target.getName() + "!");
+
+        if (registered != null) {
+            switch (registered) {
+                case INVISIBILITE:
+                    out.println(user.getName() + " devient invisible et esquive les attaques!");
+                    break;
+                case TELEPATHIE:
+                    out.println("Attaque mentale! " + target.getName() + " perd " + amount + " PV");
+                    break;
+                case SUPER_FORCE:
+                    out.println("Coup surpuissant! " + target.getName() + " perd " + amount + " PV");
+                    break;
+                case REGENERATION:
+                    out.println(user.getName() + " se régénère et gagne " + amount + " PV");
+                    break;
+                case POUVOIR_DU_FEU:
+                    out.println("Boule de feu! " + target.getName() + " perd " + amount + " PV");
+                    break;
+            }
+        }
+
+        out.println(target.getName() + " a maintenant " + target.getHealth() + " PV");
+    }
+
+    @Override
+    public void abilityRejected(Character user, String ability, ValidationResult validation) {
+        if (validation == null) {
+            out.println(user.getName() + " ne possède pas la capacité: " + ability);
+        } else {
+            for (String error : validation.getErrors()) {
+                out.println("❌ Validation failed: " + error);
+            }
+        }
+    }
+
+    @Override
+    public void knockedOut(Character fighter) {
+        out.println(DisplayUtil.colorize("\n  💀 " + fighter.getName() + " est K.O.!", DisplayUtil.RED));
+    }
+
+    /**
+     * Renders the end-of-battle statistics.
+     */
+    public void renderStatistics(CombatStatistics stats) {
+        long duration = stats.getDurationSeconds();
+        int totalActions = stats.getTotalActions();
+
+        out.println("\n" + DisplayUtil.createBorder("📊 STATISTIQUES DU COMBAT 📊", 70));
+
+        out.println(DisplayUtil.colorize("  Durée du combat: ", DisplayUtil.CYAN) + duration + " secondes");
+        out.println(DisplayUtil.colorize("  Nombre de tours: ", DisplayUtil.CYAN) + stats.getTurns());
+        out.println(DisplayUtil.colorize("  Total d'actions: ", DisplayUtil.CYAN) + totalActions);
+
+        Map<String, Integer> actionsCount = stats.getActionsCount();
+        if (!actionsCount.isEmpty()) {
+            out.println("\n" + DisplayUtil.colorize("  Actions par combattant:", DisplayUtil.BOLD));
+
+            // Trier par nombre d'actions
+            List<Map.Entry<String, Integer>> sorted = new ArrayList<>(actionsCount.entrySet());
+            sorted.sort((a, b) -> b.getValue().compareTo(a.getValue()));
+
+            for (Map.Entry<String, Integer> entry : sorted) {
+                int percentage = (int)((double)entry.getValue() / totalActions * 100);
+                out.println(String.format("    • %-20s: %2d actions (%d%%)",
+                    entry.getKey(), entry.getValue(), percentage));
+            }
+        }
+
+        Map<String, Integer> damageDealt = stats.getDamageDealt();
+        Map<String, Integer> criticalHits = stats.getCriticalHits();
+        if (!damageDealt.isEmpty()) {
+            out.println("\n" + DisplayUtil.colorize("  Dégâts infligés:", DisplayUtil.BOLD));
+
+            List<Map.Entry<String, Integer>> sortedDamage = new ArrayList<>(damageDealt.entrySet());
+            sortedDamage.sort((a, b) -> b.getValue().compareTo(a.getValue()));
+
+            for (Map.Entry<String, Integer> entry : sortedDamage) {
+                int dps = duration > 0 ? entry.getValue() / (int)duration : entry.getValue();
+                String crits = criticalHits.containsKey(entry.getKey()) ?
+                    " (★" + criticalHits.get(entry.getKey()) + " crits)" : "";
+                out.println(String.format("    • %-20s: %3d dégâts (DPS: %d)%s",
+                    entry.getKey(), entry.getValue(), dps, crits));
+            }
+        }
+
+        Map<String, Integer> healingReceived = stats.getHealingReceived();
+        if (!healingReceived.isEmpty()) {
+            out.println("\n" + DisplayUtil.colorize("  Soins reçus:", DisplayUtil.BOLD));
+
+            List<Map.Entry<String, Integer>> sortedHealing = new ArrayList<>(healingReceived.entrySet());
+            sortedHealing.sort((a, b) -> b.getValue().compareTo(a.getValue()));
+
+            for (Map.Entry<String, Integer> entry : sortedHealing) {
+                out.println(String.format("    • %-20s: %3d PV rendus", entry.getKey(), entry.getValue()));
+            }
+        }
+
+        LogHistogram damagePerHit = stats.getDamagePerHit();
+        LogHistogram actionNanos = stats.getActionNanos();
+        if (damagePerHit.getCount() > 0 || actionNanos.getCount() > 0) {
+            out.println("\n" + DisplayUtil.colorize("  Distributions:", DisplayUtil.BOLD));
+            if (damagePerHit.getCount() > 0) {
+                out.println(String.format("    • Dégâts par coup     : médiane %d, p99 %d, max %d (%d coups)",
+                    damagePerHit.getValueAtQuantile(0.5), damagePerHit.getValueAtQuantile(0.99),
+                    damagePerHit.getMax(), damagePerHit.getCount()));
+            }
+            if (actionNanos.getCount() > 0) {
+                out.println(String.format("    • Temps par action    : médiane %d µs, p99 %d µs, max %d µs",
+                    actionNanos.getValueAtQuantile(0.5) / 1000, actionNanos.getValueAtQuantile(0.99) / 1000,
+                    actionNanos.getMax() / 1000));
+            }
+        }
+
+        List<String> koList = stats.getKOList();
+        if (!koList.isEmpty()) {
+            out.println("\n" + DisplayUtil.colorize("  K.O. (ordre):", DisplayUtil.RED));
+            for (int i = 0; i < koList.size(); i++) {
+                out.println("    " + (i+1) + ". " + koList.get(i));
+            }
+        }
+
+        out.println("\n" + DisplayUtil.closeBorder(70));
+    }
+}
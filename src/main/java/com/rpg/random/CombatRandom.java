@@ -0,0 +1,73 @@
+package com.rpg.random;
+
+import java.util.Random;
+
+/**
+ * Random number source used by the whole combat path (engine, strategies, target selection).
+ * Implementations are not thread-safe: each battle or thread owns its own stream and derives
+ * independent children with split() instead of sharing one generator.
+ */
+public interface CombatRandom {
+    /**
+     * @param bound The upper bound (exclusive), must be positive
+     * @return A uniform value in [0, bound)
+     */
+    int nextInt(int bound);
+
+    /**
+     * @return A uniform value in [0, 1)
+     */
+    double nextDouble();
+
+    /**
+     * @return A uniform 64-bit value
+     */
+    long nextLong();
+
+    /**
+     * Derives an independent child stream. Advances this stream.
+     * @return The new stream
+     */
+    CombatRandom split();
+
+    /**
+     * Copies this stream: the copy and this stream then produce the same sequence independently.
+     * Used to snapshot a battle in progress. Does not advance this stream.
+     * @return The copy
+     */
+    CombatRandom copy();
+
+    /**
+     * Creates the default fast generator with an arbitrary seed.
+     */
+    static CombatRandom create() {
+        return new SplittableCombatRandom();
+    }
+
+    /**
+     * Creates the default fast generator with a fixed seed.
+     * @param seed The seed; the same seed always gives the same sequence
+     */
+    static CombatRandom seeded(long seed) {
+        return new SplittableCombatRandom(seed);
+    }
+
+    /**
+     * Adapts a java.util.Random, for callers that still inject one.
+     */
+    static CombatRandom wrap(Random random) {
+        return new JdkCombatRandom(random);
+    }
+
+    /**
+     * Derives a well-mixed seed for sub-stream number {@code stream} of a master seed
+     * (SplitMix64 finalizer). Useful when streams must be addressed by index rather than
+     * split in sequence, e.g. one stream per simulated battle.
+     */
+    static long mixSeed(long seed, long stream) {
+        long z = seed + (stream + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,66 @@
+package com.rpg.random;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
+/**
+ * Adapter over java.util.Random, kept for callers that inject a Random.
+ * Produces the exact same sequence as the wrapped generator.
+ */
+public class JdkCombatRandom implements CombatRandom {
+    private final Random random;
+
+    public JdkCombatRandom(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    @Override
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    @Override
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    @Override
+    public CombatRandom split() {
+        return new JdkCombatRandom(new Random(random.nextLong()));
+    }
+
+    /**
+     * java.util.Random hides its seed, so the generator is copied through serialization.
+     * Slow; prefer the default generator when battles are snapshotted often.
+     */
+    @Override
+    public CombatRandom copy() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(random);
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                return new JdkCombatRandom((Random) in.readObject());
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Impossible de copier le générateur " + random.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * @return The wrapped generator
+     */
+    public Random getRandom() {
+        return random;
+    }
+}
@@ -0,0 +1,109 @@
+package com.rpg.random;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Default generator: the SplitMix64 algorithm of java.util.SplittableRandom, with the same
+ * output for the same seed, but holding its state in plain fields so that it can be copied.
+ * No atomic seed updates, and split() yields statistically independent streams.
+ */
+public class SplittableCombatRandom implements CombatRandom {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long seed;
+    private long gamma;
+
+    public SplittableCombatRandom() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    public SplittableCombatRandom(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    private SplittableCombatRandom(long seed, long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    private long nextSeed() {
+        return seed += gamma;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+        return (int) (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+    }
+
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int transitions = Long.bitCount(z ^ (z >>> 1));
+        return transitions < 24 ? z ^ 0xAAAAAAAAAAAAAAAAL : z;
+    }
+
+    /**
+     * Same rejection scheme as SplittableRandom.nextInt(int), so seeded sequences are unchanged.
+     */
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        int r = mix32(nextSeed());
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            return r & m;
+        }
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = mix32(nextSeed()) >>> 1) {
+            // reject over-represented values
+        }
+        return r;
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    @Override
+    public CombatRandom split() {
+        return new SplittableCombatRandom(nextLong(), mixGamma(nextSeed()));
+    }
+
+    /**
+     * Restarts this stream as if it were new SplittableCombatRandom(seed), for loops that reuse
+     * one generator per stream instead of allocating it.
+     */
+    public void reseed(long seed) {
+        this.seed = seed;
+        this.gamma = GOLDEN_GAMMA;
+    }
+
+    /**
+     * Same as split(), but turns an existing stream into the child instead of allocating one.
+     * @return The child
+     */
+    public SplittableCombatRandom splitInto(SplittableCombatRandom child) {
+        child.seed = nextLong();
+        child.gamma = mixGamma(nextSeed());
+        return child;
+    }
+
+    @Override
+    public CombatRandom copy() {
+        return new SplittableCombatRandom(seed, gamma);
+    }
+}
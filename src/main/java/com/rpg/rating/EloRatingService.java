@@ -0,0 +1,309 @@
+package com.rpg.rating;
+
+import com.rpg.combat.BattleResult;
+import com.rpg.combat.TeamBattle;
+import com.rpg.composite.TeamComposite;
+import com.rpg.model.Character;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Incremental Elo ratings for characters and teams.
+ *
+ * Each rating lives in its own atomic cell, so results recorded from many threads never
+ * block each other; a game reads both ratings and adds the Elo deltas with compare-and-set.
+ * Characters and teams are rated in separate maps, so names never collide across the two.
+ * rerate() recomputes everything from a stored history over primitive arrays.
+ *
+ * Snapshots are cached and rebuilt by one caller at a time, at most once per version; other
+ * callers get the cached snapshot meanwhile, so reading costs nothing while updates continue.
+ * Games count themselves as started before touching a cell and finished after, like a seqlock:
+ * a copy is only published if every game started before it ended had finished before it began,
+ * so a snapshot never holds half a game.
+ */
+public class EloRatingService {
+    public static final double DEFAULT_INITIAL_RATING = 1500.0;
+    public static final double DEFAULT_K_FACTOR = 24.0;
+
+    private static final int MAX_COPY_ATTEMPTS = 4;
+
+    private final double initialRating;
+    private final double kFactor;
+    private final ConcurrentHashMap<String, AtomicLong> ratings;
+    private final ConcurrentHashMap<String, AtomicLong> teamRatings;
+    /** Games started, incremented before a game touches any cell */
+    private final AtomicLong started;
+    /** Games finished, incremented after a game's last cell update */
+    private final AtomicLong version;
+    private final AtomicBoolean rebuilding;
+    private volatile RatingSnapshot snapshot;
+
+    public EloRatingService() {
+        this(DEFAULT_INITIAL_RATING, DEFAULT_K_FACTOR);
+    }
+
+    public EloRatingService(double initialRating, double kFactor) {
+        this.initialRating = initialRating;
+        this.kFactor = kFactor;
+        this.ratings = new ConcurrentHashMap<>();
+        this.teamRatings = new ConcurrentHashMap<>();
+        this.started = new AtomicLong();
+        this.version = new AtomicLong();
+        this.rebuilding = new AtomicBoolean();
+        this.snapshot = new RatingSnapshot(0, new HashMap<>(), new HashMap<>(), initialRating);
+    }
+
+    /**
+     * Expected score of a player rated ratingA against a player rated ratingB.
+     */
+    public static double expectedScore(double ratingA, double ratingB) {
+        return 1.0 / (1.0 + Math.pow(10.0, (ratingB - ratingA) / 400.0));
+    }
+
+    /**
+     * Records one game or team battle, e.g. read back from a MatchHistory.
+     */
+    public void record(MatchRecord record) {
+        if (!record.isTeamBattle()) {
+            record(record.getPlayerA(), record.getPlayerB(), record.getScoreA());
+            return;
+        }
+        started.incrementAndGet();
+        try {
+            double score1 = record.getScoreA();
+            List<String> fighters1 = record.getFightersA();
+            List<String> fighters2 = record.getFightersB();
+            double mean1 = meanRating(fighters1);
+            double mean2 = meanRating(fighters2);
+            for (String fighter : fighters1) {
+                AtomicLong cell = cell(ratings, fighter);
+                add(cell, kFactor * (score1 - expectedScore(Double.longBitsToDouble(cell.get()), mean2)));
+            }
+            for (String fighter : fighters2) {
+                AtomicLong cell = cell(ratings, fighter);
+                add(cell, kFactor * ((1 - score1) - expectedScore(Double.longBitsToDouble(cell.get()), mean1)));
+            }
+            game(teamRatings, record.getPlayerA(), record.getPlayerB(), score1);
+        } finally {
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Records one game between two characters.
+     * @param scoreA 1 if A won, 0.5 for a draw, 0 if B won
+     */
+    public void record(String characterA, String characterB, double scoreA) {
+        started.incrementAndGet();
+        try {
+            game(ratings, characterA, characterB, scoreA);
+        } finally {
+            version.incrementAndGet();
+        }
+    }
+
+    private void game(ConcurrentHashMap<String, AtomicLong> map, String playerA, String playerB, double scoreA) {
+        AtomicLong cellA = cell(map, playerA);
+        AtomicLong cellB = cell(map, playerB);
+        double ratingA = Double.longBitsToDouble(cellA.get());
+        double ratingB = Double.longBitsToDouble(cellB.get());
+        double delta = kFactor * (scoreA - expectedScore(ratingA, ratingB));
+        add(cellA, delta);
+        add(cellB, -delta);
+    }
+
+    /**
+     * Records a team battle: one game between the two teams, and for every fighter one game
+     * against the average rating of the opposing fighters.
+     * @return The battle with its fighters, to store in a MatchHistory
+     */
+    public MatchRecord recordBattle(BattleResult result, TeamComposite team1, TeamComposite team2) {
+        double score1 = result.getOutcome() == BattleResult.Outcome.TEAM1_WIN ? 1.0
+                      : result.getOutcome() == BattleResult.Outcome.TEAM2_WIN ? 0.0 : 0.5;
+        MatchRecord record = new MatchRecord(team1.getName(), team2.getName(), score1,
+                                             names(TeamBattle.extractCharacters(team1)),
+                                             names(TeamBattle.extractCharacters(team2)));
+        record(record);
+        return record;
+    }
+
+    private static List<String> names(List<Character> fighters) {
+        List<String> names = new ArrayList<>(fighters.size());
+        for (Character fighter : fighters) {
+            names.add(fighter.getName());
+        }
+        return names;
+    }
+
+    /**
+     * @return The character's current rating, or the initial rating for an unknown character
+     */
+    public double getRating(String character) {
+        return rating(ratings, character);
+    }
+
+    /**
+     * @return The team's current rating, or the initial rating for an unknown team
+     */
+    public double getTeamRating(String team) {
+        return rating(teamRatings, team);
+    }
+
+    private double rating(ConcurrentHashMap<String, AtomicLong> map, String player) {
+        AtomicLong cell = map.get(player);
+        return cell != null ? Double.longBitsToDouble(cell.get()) : initialRating;
+    }
+
+    /**
+     * Returns a view of all ratings while updates continue, holding every game entirely or not
+     * at all: exactly the games finished when its copy began, which is its version.
+     * Without concurrent updates it is up to date. With concurrent updates it may lag: while
+     * another caller rebuilds it, or when games kept landing during MAX_COPY_ATTEMPTS copies,
+     * the previous snapshot is returned and the next call tries again.
+     */
+    public RatingSnapshot snapshot() {
+        RatingSnapshot current = snapshot;
+        if (current.getVersion() == version.get() || !rebuilding.compareAndSet(false, true)) {
+            return current;
+        }
+        try {
+            for (int attempt = 0; attempt < MAX_COPY_ATTEMPTS; attempt++) {
+                long finished = version.get();
+                Map<String, Double> characterCopy = copy(ratings);
+                Map<String, Double> teamCopy = copy(teamRatings);
+                // No game started before the copies ended unless it had finished before they began
+                if (started.get() == finished) {
+                    RatingSnapshot fresh = new RatingSnapshot(finished, characterCopy, teamCopy, initialRating);
+                    snapshot = fresh;
+                    return fresh;
+                }
+            }
+            return snapshot;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private static Map<String, Double> copy(ConcurrentHashMap<String, AtomicLong> map) {
+        Map<String, Double> copy = new HashMap<>(map.size() * 2);
+        map.forEach((player, cell) -> copy.put(player, Double.longBitsToDouble(cell.get())));
+        return copy;
+    }
+
+    /**
+     * Replaces all ratings by a full recomputation from a stored history, in order.
+     * Gives the ratings that recording the same history one game at a time gives.
+     * Players are mapped to array indices once, then the games are replayed over double[],
+     * which handles millions of games per second.
+     * Must not run concurrently with record().
+     */
+    public void rerate(List<MatchRecord> history) {
+        Map<String, Integer> characterIndex = new HashMap<>();
+        Map<String, Integer> teamIndex = new HashMap<>();
+        List<String> characters = new ArrayList<>();
+        List<String> teams = new ArrayList<>();
+        int[] a = new int[history.size()];
+        int[] b = new int[history.size()];
+        int[][] fightersA = new int[history.size()][];
+        int[][] fightersB = new int[history.size()][];
+        double[] scores = new double[history.size()];
+        for (int i = 0; i < history.size(); i++) {
+            MatchRecord record = history.get(i);
+            if (record.isTeamBattle()) {
+                a[i] = index(teamIndex, teams, record.getPlayerA());
+                b[i] = index(teamIndex, teams, record.getPlayerB());
+                fightersA[i] = indices(characterIndex, characters, record.getFightersA());
+                fightersB[i] = indices(characterIndex, characters, record.getFightersB());
+            } else {
+                a[i] = index(characterIndex, characters, record.getPlayerA());
+                b[i] = index(characterIndex, characters, record.getPlayerB());
+            }
+            scores[i] = record.getScoreA();
+        }
+
+        double[] values = new double[characters.size()];
+        double[] teamValues = new double[teams.size()];
+        Arrays.fill(values, initialRating);
+        Arrays.fill(teamValues, initialRating);
+        for (int i = 0; i < scores.length; i++) {
+            double[] players = values;
+            if (fightersA[i] != null) {
+                double mean1 = meanRating(values, fightersA[i]);
+                double mean2 = meanRating(values, fightersB[i]);
+                for (int f : fightersA[i]) {
+                    values[f] += kFactor * (scores[i] - expectedScore(values[f], mean2));
+                }
+                for (int f : fightersB[i]) {
+                    values[f] += kFactor * ((1 - scores[i]) - expectedScore(values[f], mean1));
+                }
+                players = teamValues;
+            }
+            double delta = kFactor * (scores[i] - expectedScore(players[a[i]], players[b[i]]));
+            players[a[i]] += delta;
+            players[b[i]] -= delta;
+        }
+
+        started.incrementAndGet();
+        ratings.clear();
+        teamRatings.clear();
+        for (int p = 0; p < values.length; p++) {
+            ratings.put(characters.get(p), new AtomicLong(Double.doubleToRawLongBits(values[p])));
+        }
+        for (int p = 0; p < teamValues.length; p++) {
+            teamRatings.put(teams.get(p), new AtomicLong(Double.doubleToRawLongBits(teamValues[p])));
+        }
+        version.incrementAndGet();
+    }
+
+    private static int index(Map<String, Integer> index, List<String> players, String player) {
+        return index.computeIfAbsent(player, p -> { players.add(p); return players.size() - 1; });
+    }
+
+    private static int[] indices(Map<String, Integer> index, List<String> players, List<String> names) {
+        int[] indices = new int[names.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = index(index, players, names.get(i));
+        }
+        return indices;
+    }
+
+    private double meanRating(double[] values, int[] fighters) {
+        double total = 0;
+        for (int f : fighters) {
+            total += values[f];
+        }
+        return fighters.length == 0 ? initialRating : total / fighters.length;
+    }
+
+    private double meanRating(List<String> fighters) {
+        double total = 0;
+        for (String fighter : fighters) {
+            total += getRating(fighter);
+        }
+        return fighters.isEmpty() ? initialRating : total / fighters.size();
+    }
+
+    private AtomicLong cell(ConcurrentHashMap<String, AtomicLong> map, String player) {
+        AtomicLong cell = map.get(player);
+        if (cell == null) {
+            cell = map.computeIfAbsent(player, p -> new AtomicLong(Double.doubleToRawLongBits(initialRating)));
+        }
+        return cell;
+    }
+
+    private static void add(AtomicLong cell, double delta) {
+        long current;
+        long updated;
+        do {
+            current = cell.get();
+            updated = Double.doubleToRawLongBits(Double.longBitsToDouble(current) + delta);
+        } while (!cell.compareAndSet(current, updated));
+    }
+}
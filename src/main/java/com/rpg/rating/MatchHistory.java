@@ -0,0 +1,60 @@
+package com.rpg.rating;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Stored result history: one MatchRecord per line, in the format of MatchRecord.toString().
+ */
+public class MatchHistory {
+    private final Path file;
+
+    public MatchHistory(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Appends records to the history file.
+     */
+    public void append(Collection<MatchRecord> records) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (MatchRecord record : records) {
+                writer.write(record.toString());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture de l'historique impossible: " + file, e);
+        }
+    }
+
+    /**
+     * @return All records in file order, empty if the file does not exist
+     */
+    public List<MatchRecord> load() {
+        List<MatchRecord> records = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return records;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    records.add(MatchRecord.parse(line));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture de l'historique impossible: " + file, e);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,161 @@
+package com.rpg.rating;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One rated game, as stored in a match history: either a game between two characters,
+ * or a team battle with the fighters of both sides, so that replaying the history
+ * reproduces the character ratings as well as the team ratings.
+ */
+public class MatchRecord {
+    private final String playerA;
+    private final String playerB;
+    private final double scoreA;
+    private final List<String> fightersA;
+    private final List<String> fightersB;
+
+    /**
+     * A game between two characters.
+     * @param scoreA 1 if A won, 0.5 for a draw, 0 if B won
+     */
+    public MatchRecord(String playerA, String playerB, double scoreA) {
+        this(playerA, playerB, scoreA, null, null);
+    }
+
+    /**
+     * A battle between two teams.
+     * @param fightersA Names of the fighters of team A, in team order
+     */
+    public MatchRecord(String teamA, String teamB, double scoreA, List<String> fightersA, List<String> fightersB) {
+        if (scoreA < 0 || scoreA > 1) {
+            throw new IllegalArgumentException("Le score doit être entre 0 et 1");
+        }
+        if ((fightersA == null) != (fightersB == null)) {
+            throw new IllegalArgumentException("Les combattants des deux équipes sont requis");
+        }
+        this.playerA = teamA;
+        this.playerB = teamB;
+        this.scoreA = scoreA;
+        this.fightersA = fightersA != null ? Collections.unmodifiableList(new ArrayList<>(fightersA)) : null;
+        this.fightersB = fightersB != null ? Collections.unmodifiableList(new ArrayList<>(fightersB)) : null;
+    }
+
+    public String getPlayerA() { return playerA; }
+    public String getPlayerB() { return playerB; }
+    public double getScoreA() { return scoreA; }
+
+    /**
+     * @return True if the players are teams, false if they are characters
+     */
+    public boolean isTeamBattle() {
+        return fightersA != null;
+    }
+
+    /**
+     * @return The fighters of team A, empty for a game between characters
+     */
+    public List<String> getFightersA() {
+        return fightersA != null ? fightersA : Collections.emptyList();
+    }
+
+    public List<String> getFightersB() {
+        return fightersB != null ? fightersB : Collections.emptyList();
+    }
+
+    /**
+     * Reads a line written by toString().
+     */
+    public static MatchRecord parse(String line) {
+        List<String> parts = split(line, ';');
+        try {
+            if (parts.size() == 3) {
+                return new MatchRecord(unescape(parts.get(0)), unescape(parts.get(1)), Double.parseDouble(parts.get(2)));
+            }
+            if (parts.size() == 5) {
+                return new MatchRecord(unescape(parts.get(0)), unescape(parts.get(1)), Double.parseDouble(parts.get(2)),
+                                       names(parts.get(3)), names(parts.get(4)));
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Partie invalide: " + line, e);
+        }
+        throw new IllegalArgumentException("Partie invalide: " + line);
+    }
+
+    /**
+     * @return "A;B;score" for characters, "A;B;score;a1,a2;b1,b2" for teams, with '\', ';' and ','
+     *         in names escaped by '\'
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(escape(playerA)).append(';').append(escape(playerB)).append(';').append(scoreA);
+        if (isTeamBattle()) {
+            sb.append(';').append(join(fightersA)).append(';').append(join(fightersB));
+        }
+        return sb.toString();
+    }
+
+    private static String join(List<String> names) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < names.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append(escape(names.get(i)));
+        }
+        return sb.toString();
+    }
+
+    private static List<String> names(String field) {
+        List<String> names = new ArrayList<>();
+        if (!field.isEmpty()) {
+            for (String name : split(field, ',')) {
+                names.add(unescape(name));
+            }
+        }
+        return names;
+    }
+
+    private static String escape(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' || c == ';' || c == ',') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private static String unescape(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                c = text.charAt(++i);
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Splits on a separator not preceded by the escape character, keeping escapes in the parts.
+     */
+    private static List<String> split(String text, char separator) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == separator) {
+                parts.add(text.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(text.substring(start));
+        return parts;
+    }
+}
@@ -0,0 +1,78 @@
+package com.rpg.rating;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of all ratings at one point in time.
+ * Character and team ratings are kept apart, so a team may share a name with a character.
+ */
+public class RatingSnapshot {
+    private final long version;
+    private final Map<String, Double> ratings;
+    private final Map<String, Double> teamRatings;
+    private final double initialRating;
+
+    RatingSnapshot(long version, Map<String, Double> ratings, Map<String, Double> teamRatings, double initialRating) {
+        this.version = version;
+        this.ratings = Collections.unmodifiableMap(ratings);
+        this.teamRatings = Collections.unmodifiableMap(teamRatings);
+        this.initialRating = initialRating;
+    }
+
+    /**
+     * @return Number of updates applied when the snapshot was taken
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return The character's rating, or the initial rating for an unknown character
+     */
+    public double getRating(String character) {
+        Double rating = ratings.get(character);
+        return rating != null ? rating : initialRating;
+    }
+
+    /**
+     * @return The team's rating, or the initial rating for an unknown team
+     */
+    public double getTeamRating(String team) {
+        Double rating = teamRatings.get(team);
+        return rating != null ? rating : initialRating;
+    }
+
+    /**
+     * @return The character ratings
+     */
+    public Map<String, Double> getRatings() {
+        return ratings;
+    }
+
+    public Map<String, Double> getTeamRatings() {
+        return teamRatings;
+    }
+
+    /**
+     * @return The characters sorted by rating, best first
+     */
+    public List<Map.Entry<String, Double>> getRanking() {
+        return rank(ratings);
+    }
+
+    /**
+     * @return The teams sorted by rating, best first
+     */
+    public List<Map.Entry<String, Double>> getTeamRanking() {
+        return rank(teamRatings);
+    }
+
+    private static List<Map.Entry<String, Double>> rank(Map<String, Double> ratings) {
+        List<Map.Entry<String, Double>> ranking = new ArrayList<>(ratings.entrySet());
+        ranking.sort((a, b) -> Double.compare(b.getValue(), a.getValue()));
+        return ranking;
+    }
+}
@@ -0,0 +1,205 @@
+package com.rpg.replay;
+
+import com.rpg.command.ActionDTO;
+import com.rpg.model.Character;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Everything needed to replay a battle: the fighters' initial state, the engine seed and
+ * the ordered action stream, each action followed by the state checksum observed live.
+ */
+public class BattleLog {
+    private final long engineSeed;
+    private final List<Character> initialFighters;
+    private final List<Entry> entries;
+
+    public BattleLog(long engineSeed, List<Character> initialFighters, List<Entry> entries) {
+        this.engineSeed = engineSeed;
+        this.initialFighters = Collections.unmodifiableList(new ArrayList<>(initialFighters));
+        this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+    }
+
+    public long getEngineSeed() { return engineSeed; }
+
+    /**
+     * @return Fighters as they were when recording started, in BattleContext order
+     */
+    public List<Character> getInitialFighters() { return initialFighters; }
+
+    public List<Entry> getEntries() { return entries; }
+
+    /**
+     * Writes the log as text, fields separated by ';' like characters.txt and abilities by ',';
+     * '\', ';' and ',' in names and abilities are escaped by '\'.
+     */
+    public void write(Path file) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("SEED;" + engineSeed);
+            writer.newLine();
+            for (Character c : initialFighters) {
+                writer.write("FIGHTER;" + escape(c.getName()) + ";" + c.getStrength() + ";" + c.getAgility() + ";" +
+                             c.getIntelligence() + ";" + c.getHealth() + ";" + c.getMaxHealth() + ";" +
+                             c.getLevel() + ";" + join(c.getAbilities()));
+                writer.newLine();
+            }
+            for (Entry entry : entries) {
+                ActionDTO action = entry.getAction();
+                writer.write(action.getActionType() + ";" + entry.getActorIndex() + ";" + entry.getTargetIndex() +
+                             ";" + (entry.getAbility() != null ? escape(entry.getAbility()) : "") + ";" + entry.getChecksum());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture du journal impossible: " + file, e);
+        }
+    }
+
+    /**
+     * Reads a log written by write().
+     */
+    public static BattleLog read(Path file) {
+        long seed = 0;
+        List<Character> fighters = new ArrayList<>();
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                List<String> parts = split(line, ';');
+                switch (parts.get(0)) {
+                    case "SEED":
+                        seed = Long.parseLong(parts.get(1));
+                        break;
+                    case "FIGHTER":
+                        Character c = new Character(unescape(parts.get(1)), Integer.parseInt(parts.get(2)),
+                                                    Integer.parseInt(parts.get(3)), Integer.parseInt(parts.get(4)));
+                        c.setMaxHealth(Integer.parseInt(parts.get(6)));
+                        c.setHealth(Integer.parseInt(parts.get(5)));
+                        c.setLevel(Integer.parseInt(parts.get(7)));
+                        if (!parts.get(8).isEmpty()) {
+                            for (String ability : split(parts.get(8), ',')) {
+                                c.addAbility(unescape(ability));
+                            }
+                        }
+                        fighters.add(c);
+                        break;
+                    default:
+                        entries.add(Entry.of(parts.get(0), Integer.parseInt(parts.get(1)), Integer.parseInt(parts.get(2)),
+                                             parts.get(3).isEmpty() ? null : unescape(parts.get(3)),
+                                             Long.parseLong(parts.get(4))));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture du journal impossible: " + file, e);
+        }
+        return new BattleLog(seed, fighters, entries);
+    }
+
+    private static String join(List<String> abilities) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < abilities.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append(escape(abilities.get(i)));
+        }
+        return sb.toString();
+    }
+
+    private static String escape(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' || c == ';' || c == ',') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private static String unescape(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                c = text.charAt(++i);
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Splits on a separator not preceded by the escape character, keeping escapes in the parts.
+     */
+    private static List<String> split(String text, char separator) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == separator) {
+                parts.add(text.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(text.substring(start));
+        return parts;
+    }
+
+    /**
+     * One recorded action and the checksum of the battle state right after it.
+     */
+    public static class Entry {
+        private final ActionDTO action;
+        private final long checksum;
+
+        public Entry(ActionDTO action, long checksum) {
+            this.action = action;
+            this.checksum = checksum;
+        }
+
+        static Entry of(String type, int actorIndex, int targetIndex, String ability, long checksum) {
+            ActionDTO action = new ActionDTO(type);
+            switch (type) {
+                case "ATTACK":
+                    action.addArg("attackerIndex", actorIndex).addArg("targetIndex", targetIndex);
+                    break;
+                case "DEFEND":
+                    action.addArg("defenderIndex", actorIndex);
+                    break;
+                default:
+                    action.addArg("userIndex", actorIndex).addArg("targetIndex", targetIndex)
+                          .addArg("ability", ability);
+            }
+            return new Entry(action, checksum);
+        }
+
+        public ActionDTO getAction() { return action; }
+        public long getChecksum() { return checksum; }
+
+        public int getActorIndex() {
+            Integer index = action.getIntArg("attackerIndex");
+            if (index == null) index = action.getIntArg("defenderIndex");
+            if (index == null) index = action.getIntArg("userIndex");
+            return index != null ? index : -1;
+        }
+
+        public int getTargetIndex() {
+            Integer index = action.getIntArg("targetIndex");
+            return index != null ? index : -1;
+        }
+
+        public String getAbility() {
+            return action.getStringArg("ability");
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.rpg.replay;
+
+import com.rpg.combat.BattleContext;
+import com.rpg.combat.Combatant;
+import com.rpg.command.ActionDTO;
+import com.rpg.command.Command;
+import com.rpg.model.Character;
+import com.rpg.random.CombatRandom;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the actions of a battle with a rolling checksum of the battle state.
+ *
+ * The state hash is a sum of one hashed term per fighter (index, health, agility). An action
+ * only changes its actor and its target, so the hash is updated in O(1) per action by
+ * replacing those two terms. The rolling checksum mixes the state hash into the previous
+ * checksum, so the first divergent action is pinpointed exactly.
+ */
+public class BattleRecorder {
+    private final BattleContext context;
+    private final List<Character> initialFighters;
+    private final List<BattleLog.Entry> entries;
+    private final long[] terms;
+    private long stateHash;
+    private long checksum;
+
+    public BattleRecorder(BattleContext context) {
+        this.context = context;
+        this.initialFighters = new ArrayList<>();
+        this.entries = new ArrayList<>();
+        List<Combatant> combatants = context.getCombatants();
+        this.terms = new long[combatants.size()];
+        for (Combatant combatant : combatants) {
+            initialFighters.add(new Character(combatant));
+            terms[combatant.getIndex()] = term(combatant);
+            stateHash += terms[combatant.getIndex()];
+        }
+    }
+
+    /**
+     * Records a command that was just applied.
+     */
+    public void record(Command command) {
+        ActionDTO action = command.toDTO();
+        BattleLog.Entry probe = new BattleLog.Entry(action, 0);
+        refresh(probe.getActorIndex());
+        refresh(probe.getTargetIndex());
+        checksum = CombatRandom.mixSeed(checksum ^ stateHash, entries.size());
+        entries.add(new BattleLog.Entry(action, checksum));
+    }
+
+    private void refresh(int index) {
+        if (index < 0) {
+            return;
+        }
+        long updated = term(context.getCombatants().get(index));
+        stateHash += updated - terms[index];
+        terms[index] = updated;
+    }
+
+    private static long term(Combatant combatant) {
+        long state = ((long) combatant.getHealth() << 32) | (combatant.getAgility() & 0xFFFFFFFFL);
+        return CombatRandom.mixSeed(state, combatant.getIndex());
+    }
+
+    /**
+     * @return The checksum after the last recorded action
+     */
+    public long getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * @return The log recorded so far
+     */
+    public BattleLog toLog() {
+        return new BattleLog(context.getEngineSeed(), initialFighters, entries);
+    }
+}
@@ -0,0 +1,60 @@
+package com.rpg.replay;
+
+import com.rpg.combat.BattleContext;
+import com.rpg.combat.Combatant;
+import com.rpg.command.ActionDTO;
+import com.rpg.command.AttackCommand;
+import com.rpg.command.Command;
+import com.rpg.command.DefendCommand;
+import com.rpg.command.UseAbilityCommand;
+import com.rpg.model.Character;
+
+import java.util.List;
+
+/**
+ * Lockstep replay of a BattleLog.
+ * Rebuilds the initial fighters, re-applies the recorded ActionDTO stream with the recorded
+ * engine seed, and compares the rolling checksum after every action. Nothing is printed and
+ * no strategy or target selection runs, so a replay is much faster than the live battle.
+ *
+ * Unlike CommandHistory.replay(), this never touches the characters of the original battle.
+ */
+public class ReplayEngine {
+
+    /**
+     * Replays a log, stopping at the first divergent action.
+     */
+    public ReplayResult replay(BattleLog log) {
+        BattleContext context = BattleContext.replaying(log.getEngineSeed());
+        for (Character fighter : log.getInitialFighters()) {
+            context.enlist(fighter);
+        }
+        List<Combatant> fighters = context.getCombatants();
+        BattleRecorder recorder = context.startRecording();
+
+        List<BattleLog.Entry> entries = log.getEntries();
+        for (int step = 0; step < entries.size(); step++) {
+            BattleLog.Entry entry = entries.get(step);
+            context.resolve(toCommand(entry, fighters));
+            if (recorder.getChecksum() != entry.getChecksum()) {
+                return new ReplayResult(step + 1, step, entry.getChecksum(), recorder.getChecksum(), fighters);
+            }
+        }
+        return new ReplayResult(entries.size(), -1, recorder.getChecksum(), recorder.getChecksum(), fighters);
+    }
+
+    private static Command toCommand(BattleLog.Entry entry, List<Combatant> fighters) {
+        ActionDTO action = entry.getAction();
+        Combatant actor = fighters.get(entry.getActorIndex());
+        switch (action.getActionType()) {
+            case "ATTACK":
+                return new AttackCommand(actor, fighters.get(entry.getTargetIndex()));
+            case "DEFEND":
+                return new DefendCommand(actor);
+            case "USE_ABILITY":
+                return new UseAbilityCommand(actor, fighters.get(entry.getTargetIndex()), entry.getAbility());
+            default:
+                throw new IllegalArgumentException("Action non rejouable: " + action.getActionType());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.rpg.replay;
+
+import com.rpg.model.Character;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a replay: either every checksum matched, or the index of the first divergent action.
+ */
+public class ReplayResult {
+    private final int actionsReplayed;
+    private final int divergenceStep;
+    private final long expectedChecksum;
+    private final long actualChecksum;
+    private final List<? extends Character> finalFighters;
+
+    ReplayResult(int actionsReplayed, int divergenceStep, long expectedChecksum, long actualChecksum,
+                 List<? extends Character> finalFighters) {
+        this.actionsReplayed = actionsReplayed;
+        this.divergenceStep = divergenceStep;
+        this.expectedChecksum = expectedChecksum;
+        this.actualChecksum = actualChecksum;
+        this.finalFighters = Collections.unmodifiableList(finalFighters);
+    }
+
+    public boolean isConsistent() {
+        return divergenceStep < 0;
+    }
+
+    /**
+     * @return Index (0-based) of the first action whose checksum differs, or -1
+     */
+    public int getDivergenceStep() {
+        return divergenceStep;
+    }
+
+    public int getActionsReplayed() {
+        return actionsReplayed;
+    }
+
+    public long getExpectedChecksum() {
+        return expectedChecksum;
+    }
+
+    public long getActualChecksum() {
+        return actualChecksum;
+    }
+
+    /**
+     * @return Fighter states at the end of the replay (or at the divergent action)
+     */
+    public List<? extends Character> getFinalFighters() {
+        return finalFighters;
+    }
+
+    @Override
+    public String toString() {
+        if (isConsistent()) {
+            return "Replay conforme (" + actionsReplayed + " actions)";
+        }
+        return String.format("Divergence à l'action %d (attendu %016x, obtenu %016x)",
+                           divergenceStep + 1, expectedChecksum, actualChecksum);
+    }
+}
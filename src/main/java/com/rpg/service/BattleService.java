@@ -0,0 +1,157 @@
+package com.rpg.service;
+
+import com.rpg.combat.BattleResult;
+import com.rpg.combat.BattleSimulator;
+import com.rpg.composite.TeamComposite;
+import com.rpg.model.Character;
+import com.rpg.random.CombatRandom;
+import com.rpg.strategy.CombatStrategy;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-process service running duels and team battles concurrently, without any console I/O.
+ *
+ * Each battle runs on its own virtual thread when the JVM provides them (Java 21+), otherwise
+ * on a fixed pool of platform threads sized to the concurrency cap. At most
+ * maxConcurrentBattles battles run at once; the others wait for a permit.
+ * Results come back as CompletableFutures. Cancelling a future, or reaching its timeout,
+ * interrupts the battle, which stops at the next round.
+ *
+ * Strategies hold random state: pass fresh instances for every request.
+ */
+public class BattleService implements AutoCloseable {
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final Duration defaultTimeout;
+    private final long seed;
+    private final AtomicLong sequence;
+    private final AtomicInteger activeBattles;
+
+    /**
+     * @param maxConcurrentBattles Maximum number of battles running at the same time
+     * @param defaultTimeout Timeout applied when a request does not give one
+     */
+    public BattleService(int maxConcurrentBattles, Duration defaultTimeout) {
+        this(maxConcurrentBattles, defaultTimeout, System.nanoTime());
+    }
+
+    /**
+     * @param seed Master seed; battle n uses a stream derived from it and n
+     */
+    public BattleService(int maxConcurrentBattles, Duration defaultTimeout, long seed) {
+        if (maxConcurrentBattles <= 0) {
+            throw new IllegalArgumentException("Le nombre de combats simultanés doit être positif");
+        }
+        this.executor = newBattleExecutor(maxConcurrentBattles);
+        this.permits = new Semaphore(maxConcurrentBattles);
+        this.defaultTimeout = defaultTimeout;
+        this.seed = seed;
+        this.sequence = new AtomicLong();
+        this.activeBattles = new AtomicInteger();
+    }
+
+    /**
+     * Uses Executors.newVirtualThreadPerTaskExecutor() when available, without requiring Java 21 to compile.
+     */
+    private static ExecutorService newBattleExecutor(int maxConcurrentBattles) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(maxConcurrentBattles, runnable -> {
+                Thread thread = new Thread(runnable, "battle-service");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public CompletableFuture<BattleResult> submitDuel(Character character1, Character character2,
+                                                      CombatStrategy strategy1, CombatStrategy strategy2) {
+        return submitDuel(character1, character2, strategy1, strategy2, defaultTimeout);
+    }
+
+    /**
+     * Submits a one-on-one battle.
+     * @param timeout Maximum duration, including the wait for a free slot
+     */
+    public CompletableFuture<BattleResult> submitDuel(Character character1, Character character2,
+                                                      CombatStrategy strategy1, CombatStrategy strategy2,
+                                                      Duration timeout) {
+        return submit(simulator -> simulator.duel(character1, character2, strategy1, strategy2), timeout);
+    }
+
+    public CompletableFuture<BattleResult> submitTeamBattle(TeamComposite team1, TeamComposite team2,
+                                                            CombatStrategy strategy1, CombatStrategy strategy2) {
+        return submitTeamBattle(team1, team2, strategy1, strategy2, defaultTimeout);
+    }
+
+    /**
+     * Submits a team battle.
+     * @param timeout Maximum duration, including the wait for a free slot
+     */
+    public CompletableFuture<BattleResult> submitTeamBattle(TeamComposite team1, TeamComposite team2,
+                                                            CombatStrategy strategy1, CombatStrategy strategy2,
+                                                            Duration timeout) {
+        return submit(simulator -> simulator.simulate(team1, team2, strategy1, strategy2), timeout);
+    }
+
+    private CompletableFuture<BattleResult> submit(Function<BattleSimulator, BattleResult> battle, Duration timeout) {
+        CombatRandom random = CombatRandom.seeded(CombatRandom.mixSeed(seed, sequence.getAndIncrement()));
+        CompletableFuture<BattleResult> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                result.cancel(false);
+                return;
+            }
+            activeBattles.incrementAndGet();
+            try {
+                if (!result.isDone()) {
+                    result.complete(battle.apply(new BattleSimulator(random)));
+                }
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            } finally {
+                activeBattles.decrementAndGet();
+                permits.release();
+            }
+        });
+        if (timeout != null) {
+            result.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        result.whenComplete((value, error) -> {
+            if (error != null) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @return Number of battles currently running (not waiting for a slot)
+     */
+    public int getActiveBattles() {
+        return activeBattles.get();
+    }
+
+    /**
+     * Stops accepting battles and interrupts the running ones.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
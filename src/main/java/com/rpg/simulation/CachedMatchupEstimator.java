@@ -0,0 +1,35 @@
+package com.rpg.simulation;
+
+import com.rpg.composite.TeamComposite;
+import com.rpg.strategy.StrategyParameters;
+
+/**
+ * MatchupEstimator answering repeated questions from an OutcomeCache.
+ * Matchups are identified by their MatchupKey, so teams that differ only by names or fighter
+ * order share one estimate. Each matchup is simulated with a seed derived from its key:
+ * the answer does not depend on whether it came from the cache.
+ */
+public class CachedMatchupEstimator {
+    private final MatchupEstimator estimator;
+    private final OutcomeCache cache;
+
+    public CachedMatchupEstimator(MatchupEstimator estimator, OutcomeCache cache) {
+        this.estimator = estimator;
+        this.cache = cache;
+    }
+
+    /**
+     * Estimates the outcome of team1 against team2 with built-in strategies.
+     * @param samples Number of battles to simulate on a cache miss
+     */
+    public MatchupEstimate estimate(TeamComposite team1, TeamComposite team2,
+                                    StrategyParameters strategy1, StrategyParameters strategy2, int samples) {
+        MatchupKey key = MatchupKey.of(team1, team2, strategy1, strategy2, samples);
+        return cache.computeIfAbsent(key, () -> estimator.estimate(team1, team2,
+            strategy1::createStrategy, strategy2::createStrategy, samples, key.hash64()));
+    }
+
+    public OutcomeCache getCache() {
+        return cache;
+    }
+}
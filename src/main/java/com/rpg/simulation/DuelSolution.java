@@ -0,0 +1,41 @@
+package com.rpg.simulation;
+
+/**
+ * Exact outcome probabilities of a duel, character 1 against character 2, computed by DuelSolver.
+ */
+public class DuelSolution {
+    private final double winProbability;
+    private final double drawProbability;
+    private final double lossProbability;
+    private final double expectedRounds;
+    private final int maxStates;
+
+    public DuelSolution(double winProbability, double drawProbability, double lossProbability,
+                        double expectedRounds, int maxStates) {
+        this.winProbability = winProbability;
+        this.drawProbability = drawProbability;
+        this.lossProbability = lossProbability;
+        this.expectedRounds = expectedRounds;
+        this.maxStates = maxStates;
+    }
+
+    public double getWinProbability() { return winProbability; }
+    public double getDrawProbability() { return drawProbability; }
+    public double getLossProbability() { return lossProbability; }
+
+    /**
+     * @return Expected number of rounds, a draw counting for the round limit like in BattleResult
+     */
+    public double getExpectedRounds() { return expectedRounds; }
+
+    /**
+     * @return Largest number of distinct duel states alive at the same time during the solve
+     */
+    public int getMaxStates() { return maxStates; }
+
+    @Override
+    public String toString() {
+        return String.format("Victoires %.2f%%, Nuls %.2f%%, Défaites %.2f%%, %.2f rounds en moyenne (exact)",
+                           winProbability * 100, drawProbability * 100, lossProbability * 100, expectedRounds);
+    }
+}
@@ -0,0 +1,412 @@
+package com.rpg.simulation;
+
+import com.rpg.combat.CombatStatistics;
+import com.rpg.model.Ability;
+import com.rpg.model.Character;
+import com.rpg.random.CombatRandom;
+import com.rpg.singleton.GameSettings;
+import com.rpg.strategy.StrategyParameters;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exact solver of a one-on-one duel between built-in strategies, with the rules of
+ * BattleSimulator.duel(): character 1 acts first, a draw after CombatStatistics.MAX_TURNS rounds.
+ *
+ * Instead of sampling battles, the solver propagates the probability of every duel state
+ * (health and agility of both fighters) turn by turn: each strategy's decision rules become
+ * probabilities from its parameters, and each action's outcome is enumerated over the eleven
+ * damage rolls of CombatEngine and the critical hit chance. The probability reaching a K.O.
+ * at round r is a win or loss in r rounds; what is left after the last round is the draw.
+ * States live in a primitive open-addressing table, so a solve allocates nothing per state.
+ *
+ * Solutions are memoised by MatchupKey, so repeated questions about the same stat lines and
+ * strategies, whatever the names, are answered from the cache. Thread-safe.
+ */
+public class DuelSolver {
+    public static final int DEFAULT_CACHE_SIZE = 4096;
+
+    private static final int BASE_DAMAGE_VARIANCE = 10;
+    private static final int DEFENSE_BONUS = 20;
+    private static final int FIELD_LIMIT = 0xFFFF;
+
+    private final int maxRounds;
+    private final Map<MatchupKey, DuelSolution> cache;
+
+    public DuelSolver() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param cacheSize Maximum number of memoised solutions, least recently used evicted first
+     */
+    public DuelSolver(int cacheSize) {
+        this.maxRounds = CombatStatistics.MAX_TURNS;
+        this.cache = new LinkedHashMap<MatchupKey, DuelSolution>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MatchupKey, DuelSolution> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Solves the duel of character1 (acting first) against character2.
+     * @throws IllegalArgumentException if health or agility cannot be represented (above 65534)
+     */
+    public DuelSolution solve(Character character1, Character character2,
+                              StrategyParameters strategy1, StrategyParameters strategy2) {
+        MatchupKey key = MatchupKey.of(character1, character2, strategy1, strategy2);
+        synchronized (cache) {
+            DuelSolution cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        DuelSolution solution = new Solve(new Fighter(character1, strategy1), new Fighter(character2, strategy2),
+                                          character1.getHealth(), character2.getHealth()).run();
+        synchronized (cache) {
+            cache.put(key, solution);
+        }
+        return solution;
+    }
+
+    public int getCacheSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Immutable combat profile of a fighter and its strategy.
+     */
+    private final class Fighter {
+        final int strength;
+        final int intelligence;
+        final int agility;
+        final int maxHealth;
+        final int abilityCount;
+        final Ability[] abilities;
+        final int abilityMask;
+        final boolean abilitiesValid;
+        final StrategyParameters strategy;
+
+        Fighter(Character c, StrategyParameters strategy) {
+            this.strength = c.getStrength();
+            this.intelligence = c.getIntelligence();
+            this.agility = c.getAgility();
+            this.maxHealth = c.getMaxHealth();
+            this.abilityCount = c.getAbilityCount();
+            this.abilities = new Ability[abilityCount];
+            for (int i = 0; i < abilityCount; i++) {
+                abilities[i] = c.getAbilityAt(i);
+            }
+            this.abilityMask = c.getAbilityMask();
+            this.abilitiesValid = abilityCount <= GameSettings.getInstance().getMaxAbilities();
+            this.strategy = strategy;
+
+            int maxAgility = agility + (c.hasAbility(Ability.INVISIBILITE) ? 3 * maxRounds : 0);
+            if (maxHealth >= FIELD_LIMIT || maxAgility >= FIELD_LIMIT || agility < 0) {
+                throw new IllegalArgumentException("Statistiques hors des limites du solveur exact: " + c.getName());
+            }
+        }
+
+        boolean has(Ability ability) {
+            return (abilityMask & ability.bit()) != 0;
+        }
+    }
+
+    /**
+     * One solve: the state tables and the absorbed probabilities.
+     */
+    private final class Solve {
+        // Action codes: ATTACK, DEFEND, NOTHING, or ABILITY + ability id
+        static final int ATTACK = 0;
+        static final int DEFEND = 1;
+        static final int NOTHING = 2;
+        static final int ABILITY = 3;
+
+        final Fighter[] fighters;
+        final int health1;
+        final int health2;
+        StateTable current = new StateTable(1024);
+        StateTable next = new StateTable(1024);
+        final double[] won = new double[2];
+        double roundsSum;
+        int maxStates;
+
+        // Decision of the acting fighter in the current state
+        final int[] actions;
+        final double[] weights;
+        int actionCount;
+
+        Solve(Fighter fighter1, Fighter fighter2, int health1, int health2) {
+            this.fighters = new Fighter[] {fighter1, fighter2};
+            this.health1 = health1;
+            this.health2 = health2;
+            int maxActions = 2 + Math.max(fighter1.abilityCount, fighter2.abilityCount);
+            this.actions = new int[maxActions];
+            this.weights = new double[maxActions];
+        }
+
+        DuelSolution run() {
+            // Same checks as BattleSimulator on fighters knocked out from the start
+            if (health2 <= 0) {
+                return new DuelSolution(1.0, 0.0, 0.0, 1.0, 0);
+            }
+            if (health1 <= 0) {
+                return new DuelSolution(0.0, 0.0, 1.0, 1.0, 0);
+            }
+            current.add(pack(health1, health2, fighters[0].agility, fighters[1].agility), 1.0);
+            for (int round = 1; round <= maxRounds && current.size > 0; round++) {
+                halfTurn(0, round);
+                halfTurn(1, round);
+            }
+            double draw = 0;
+            for (int slot = 0; slot < current.keys.length; slot++) {
+                if (current.keys[slot] != StateTable.EMPTY) {
+                    draw += current.values[slot];
+                }
+            }
+            return new DuelSolution(won[0], draw, won[1], roundsSum + draw * maxRounds, maxStates);
+        }
+
+        /**
+         * Plays one fighter's turn from every state of the current table into the next one.
+         */
+        void halfTurn(int side, int round) {
+            maxStates = Math.max(maxStates, current.size);
+            next.clear();
+            long[] keys = current.keys;
+            double[] values = current.values;
+            int other = 1 - side;
+            Fighter actor = fighters[side];
+            int[] health = new int[2];
+            int[] agility = new int[2];
+            for (int slot = 0; slot < keys.length; slot++) {
+                long key = keys[slot];
+                if (key == StateTable.EMPTY) continue;
+                double p = values[slot];
+                health[0] = (int) (key >>> 48) & FIELD_LIMIT;
+                health[1] = (int) (key >>> 32) & FIELD_LIMIT;
+                agility[0] = (int) (key >>> 16) & FIELD_LIMIT;
+                agility[1] = (int) key & FIELD_LIMIT;
+
+                decide(actor, health[side], fighters[other], health[other]);
+                for (int a = 0; a < actionCount; a++) {
+                    double q = p * weights[a];
+                    if (q > 0) {
+                        apply(side, other, actions[a], q, health, agility, round);
+                    }
+                }
+            }
+            StateTable swap = current;
+            current = next;
+            next = swap;
+        }
+
+        /**
+         * Fills actions and weights with the decision of the actor's strategy,
+         * the same rules as AggressiveStrategy, DefensiveStrategy and BalancedStrategy.
+         */
+        void decide(Fighter actor, int actorHealth, Fighter target, int targetHealth) {
+            actionCount = 0;
+            StrategyParameters p = actor.strategy;
+            int count = actor.abilityCount;
+            switch (p.getType()) {
+                case AGGRESSIVE:
+                    if (count > 0 && (actor.abilityMask & Ability.OFFENSIVE_MASK) != 0) {
+                        Ability offensive = null;
+                        for (Ability ability : actor.abilities) {
+                            if (ability != null && ability.isOffensive()) {
+                                offensive = ability;
+                                break;
+                            }
+                        }
+                        choose(ABILITY + offensive.getId(), 1.0 - p.get(0));
+                        choose(ATTACK, p.get(0));
+                    } else {
+                        choose(ATTACK, 1.0);
+                    }
+                    return;
+                case DEFENSIVE:
+                    if ((double) actorHealth / actor.maxHealth < p.get(0)) {
+                        choose(actor.has(Ability.REGENERATION) ? ABILITY + Ability.REGENERATION.getId() : DEFEND, 1.0);
+                    } else {
+                        choose(ATTACK, 1.0 - p.get(1));
+                        choose(DEFEND, p.get(1));
+                    }
+                    return;
+                default:
+                    if ((double) actorHealth / actor.maxHealth < p.get(0)) {
+                        if (actor.has(Ability.REGENERATION)) {
+                            choose(ABILITY + Ability.REGENERATION.getId(), 1.0 - p.get(1));
+                            choose(DEFEND, p.get(1));
+                        } else {
+                            choose(DEFEND, 1.0);
+                        }
+                    } else if ((double) targetHealth / target.maxHealth < p.get(2)) {
+                        if (count > 0) {
+                            chooseAnyAbility(actor, 1.0 - p.get(3));
+                            choose(ATTACK, p.get(3));
+                        } else {
+                            choose(ATTACK, 1.0);
+                        }
+                    } else {
+                        double defend = p.get(4);
+                        double ability = count > 0 ? Math.max(0.0, defend - p.get(5)) : 0.0;
+                        choose(DEFEND, 1.0 - defend);
+                        chooseAnyAbility(actor, ability);
+                        choose(ATTACK, defend - ability);
+                    }
+                    return;
+            }
+        }
+
+        void chooseAnyAbility(Fighter actor, double weight) {
+            for (Ability ability : actor.abilities) {
+                choose(ability != null ? ABILITY + ability.getId() : NOTHING, weight / actor.abilityCount);
+            }
+        }
+
+        void choose(int action, double weight) {
+            actions[actionCount] = action;
+            weights[actionCount++] = weight;
+        }
+
+        /**
+         * Same effects as AttackCommand, DefendCommand and UseAbilityCommand.
+         */
+        void apply(int side, int other, int action, double q, int[] health, int[] agility, int round) {
+            Fighter actor = fighters[side];
+            int actorHealth = health[side];
+            int actorAgility = agility[side];
+            int targetHealth = health[other];
+            int targetAgility = agility[other];
+
+            if (action == ATTACK) {
+                int powerLevel = actor.strength + actorAgility + actor.intelligence + actor.abilityCount * 5;
+                int base = actor.strength + powerLevel / 10;
+                double crit = Math.min(30, actorAgility / 2) / 100.0;
+                double roll = q / (BASE_DAMAGE_VARIANCE + 1);
+                for (int v = 0; v <= BASE_DAMAGE_VARIANCE; v++) {
+                    int damage = base + v;
+                    if (crit < 1.0) {
+                        emit(side, actorHealth, actorAgility, Math.max(0, targetHealth - damage), targetAgility,
+                             roll * (1.0 - crit), round);
+                    }
+                    if (crit > 0.0) {
+                        int critical = (int) (damage * 1.5);
+                        emit(side, actorHealth, actorAgility, Math.max(0, targetHealth - critical), targetAgility,
+                             roll * crit, round);
+                    }
+                }
+                return;
+            }
+            if (action == DEFEND) {
+                int healed = Math.min(actor.maxHealth, actorHealth + DEFENSE_BONUS + actorAgility / 2);
+                emit(side, healed, actorAgility, targetHealth, targetAgility, q, round);
+                return;
+            }
+            if (action == NOTHING || !actor.abilitiesValid) {
+                emit(side, actorHealth, actorAgility, targetHealth, targetAgility, q, round);
+                return;
+            }
+            Ability ability = Ability.byId(action - ABILITY);
+            switch (ability) {
+                case INVISIBILITE:
+                    emit(side, actorHealth, actorAgility + 3, targetHealth, targetAgility, q, round);
+                    break;
+                case REGENERATION:
+                    emit(side, Math.min(actor.maxHealth, actorHealth + ability.power(null)), actorAgility,
+                         targetHealth, targetAgility, q, round);
+                    break;
+                default:
+                    int power = ability == Ability.TELEPATHIE ? actor.intelligence
+                              : ability == Ability.SUPER_FORCE ? actor.strength * 2
+                              : actor.strength + actor.intelligence;
+                    emit(side, actorHealth, actorAgility, Math.max(0, targetHealth - power), targetAgility, q, round);
+                    break;
+            }
+        }
+
+        /**
+         * Records a resulting state: a K.O. ends the duel in this round, anything else goes on.
+         */
+        void emit(int side, int actorHealth, int actorAgility, int targetHealth, int targetAgility,
+                  double q, int round) {
+            if (targetHealth == 0) {
+                won[side] += q;
+                roundsSum += q * round;
+                return;
+            }
+            long key;
+            if (side == 0) {
+                key = pack(actorHealth, targetHealth, actorAgility, targetAgility);
+            } else {
+                key = pack(targetHealth, actorHealth, targetAgility, actorAgility);
+            }
+            next.add(key, q);
+        }
+    }
+
+    private static long pack(int health1, int health2, int agility1, int agility2) {
+        return ((long) health1 << 48) | ((long) health2 << 32) | ((long) agility1 << 16) | agility2;
+    }
+
+    /**
+     * Open-addressing table from packed duel state to probability.
+     */
+    private static final class StateTable {
+        static final long EMPTY = -1L;
+
+        long[] keys;
+        double[] values;
+        int size;
+
+        StateTable(int capacity) {
+            keys = new long[capacity];
+            values = new double[capacity];
+            Arrays.fill(keys, EMPTY);
+        }
+
+        void add(long key, double probability) {
+            if (2 * (size + 1) > keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            int slot = (int) CombatRandom.mixSeed(key, 0) & mask;
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key) {
+                    values[slot] += probability;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = probability;
+            size++;
+        }
+
+        void clear() {
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            double[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new double[oldKeys.length * 2];
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    add(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.rpg.simulation;
+
+/**
+ * Win/draw/loss probabilities of team 1 against team 2, estimated by simulation,
+ * with 95% Wilson score confidence intervals and the mean battle length.
+ */
+public class MatchupEstimate {
+    private static final double Z_95 = 1.96;
+
+    private final int samples;
+    private final int wins;
+    private final int draws;
+    private final int losses;
+    private final long totalRounds;
+    private final double meanRounds;
+
+    public MatchupEstimate(int samples, int wins, int draws, int losses, long totalRounds) {
+        this.samples = samples;
+        this.wins = wins;
+        this.draws = draws;
+        this.losses = losses;
+        this.totalRounds = totalRounds;
+        this.meanRounds = samples > 0 ? (double) totalRounds / samples : 0.0;
+    }
+
+    public int getSamples() { return samples; }
+    public int getWins() { return wins; }
+    public int getDraws() { return draws; }
+    public int getLosses() { return losses; }
+    public long getTotalRounds() { return totalRounds; }
+    public double getMeanRounds() { return meanRounds; }
+
+    public double getWinProbability() { return ratio(wins); }
+    public double getDrawProbability() { return ratio(draws); }
+    public double getLossProbability() { return ratio(losses); }
+
+    public ConfidenceInterval getWinInterval() { return wilson(wins); }
+    public ConfidenceInterval getDrawInterval() { return wilson(draws); }
+    public ConfidenceInterval getLossInterval() { return wilson(losses); }
+
+    private double ratio(int count) {
+        return samples > 0 ? (double) count / samples : 0.0;
+    }
+
+    /**
+     * Wilson score interval, which stays inside [0, 1] even for rare outcomes.
+     */
+    private ConfidenceInterval wilson(int count) {
+        if (samples == 0) {
+            return new ConfidenceInterval(0.0, 1.0);
+        }
+        double n = samples;
+        double p = count / n;
+        double z2 = Z_95 * Z_95;
+        double denominator = 1 + z2 / n;
+        double center = (p + z2 / (2 * n)) / denominator;
+        double margin = Z_95 * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n)) / denominator;
+        return new ConfidenceInterval(Math.max(0.0, center - margin), Math.min(1.0, center + margin));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Victoires %.1f%% %s, Nuls %.1f%% %s, Défaites %.1f%% %s, %.1f rounds en moyenne (%d simulations)",
+                           getWinProbability() * 100, getWinInterval(),
+                           getDrawProbability() * 100, getDrawInterval(),
+                           getLossProbability() * 100, getLossInterval(),
+                           meanRounds, samples);
+    }
+
+    /**
+     * Lower and upper bound of a probability estimate.
+     */
+    public static class ConfidenceInterval {
+        private final double low;
+        private final double high;
+
+        public ConfidenceInterval(double low, double high) {
+            this.low = low;
+            this.high = high;
+        }
+
+        public double getLow() { return low; }
+        public double getHigh() { return high; }
+
+        @Override
+        public String toString() {
+            return String.format("[%.1f%% - %.1f%%]", low * 100, high * 100);
+        }
+    }
+}
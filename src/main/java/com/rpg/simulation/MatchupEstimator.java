@@ -0,0 +1,189 @@
+package com.rpg.simulation;
+
+import com.rpg.combat.BattleResult;
+import com.rpg.combat.BattleSimulator;
+import com.rpg.combat.BattleSnapshot;
+import com.rpg.combat.StatisticsAggregator;
+import com.rpg.combat.TerminationPolicy;
+import com.rpg.composite.TeamComposite;
+import com.rpg.random.CombatRandom;
+import com.rpg.strategy.CombatStrategy;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Parallel Monte Carlo estimator of a matchup's win probability.
+ * Runs independent headless battles on a fork/join pool. Every battle derives its
+ * random streams from the master seed and its own index, so the estimate is the
+ * same whatever the number of threads.
+ * Battles stop as soon as a draw is proven (TerminationPolicy.PROVEN_DRAW): such a draw is still
+ * counted with the full round limit, so the estimate is the same as with battles played to the end.
+ */
+public class MatchupEstimator {
+    private static final int SEQUENTIAL_THRESHOLD = 64;
+
+    private final ForkJoinPool pool;
+    private volatile StatisticsAggregator statistics;
+
+    /**
+     * Creates an estimator running on the common fork/join pool.
+     */
+    public MatchupEstimator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public MatchupEstimator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Records every battle of the following estimates into an aggregator, which may be shared
+     * by several estimators running at the same time.
+     * @param statistics The aggregator, null (default) to record nothing
+     */
+    public void setStatistics(StatisticsAggregator statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Estimates the outcome of team1 against team2.
+     * Strategies are created per battle because they hold their own random state.
+     * @param samples Number of battles to simulate
+     * @param seed Master seed; the same seed always gives the same estimate
+     */
+    public MatchupEstimate estimate(TeamComposite team1, TeamComposite team2,
+                                    Supplier<? extends CombatStrategy> strategy1,
+                                    Supplier<? extends CombatStrategy> strategy2,
+                                    int samples, long seed) {
+        if (samples <= 0) {
+            throw new IllegalArgumentException("Le nombre de simulations doit être positif");
+        }
+        Matchup matchup = new Matchup(team1, team2, strategy1, strategy2, seed, statistics);
+        Tally tally = pool.invoke(new SimulationTask(matchup, 0, samples));
+        return new MatchupEstimate(samples, tally.wins, tally.draws, tally.losses, tally.rounds);
+    }
+
+    /**
+     * Estimates the outcome of a battle in progress, from independent continuations of a snapshot.
+     * Answers what-if questions: estimate the same snapshot with and without a ForcedActionStrategy.
+     * @param samples Number of continuations to simulate
+     * @param seed Master seed; the same seed always gives the same estimate
+     */
+    public MatchupEstimate estimate(BattleSnapshot snapshot,
+                                    Supplier<? extends CombatStrategy> strategy1,
+                                    Supplier<? extends CombatStrategy> strategy2,
+                                    int samples, long seed) {
+        if (samples <= 0) {
+            throw new IllegalArgumentException("Le nombre de simulations doit être positif");
+        }
+        Matchup matchup = new Matchup(snapshot, strategy1, strategy2, seed, statistics);
+        Tally tally = pool.invoke(new SimulationTask(matchup, 0, samples));
+        return new MatchupEstimate(samples, tally.wins, tally.draws, tally.losses, tally.rounds);
+    }
+
+    private static class Matchup {
+        final TeamComposite team1;
+        final TeamComposite team2;
+        final BattleSnapshot snapshot;
+        final Supplier<? extends CombatStrategy> strategy1;
+        final Supplier<? extends CombatStrategy> strategy2;
+        final long seed;
+        final StatisticsAggregator statistics;
+
+        Matchup(TeamComposite team1, TeamComposite team2,
+                Supplier<? extends CombatStrategy> strategy1,
+                Supplier<? extends CombatStrategy> strategy2, long seed, StatisticsAggregator statistics) {
+            this.team1 = team1;
+            this.team2 = team2;
+            this.snapshot = null;
+            this.strategy1 = strategy1;
+            this.strategy2 = strategy2;
+            this.seed = seed;
+            this.statistics = statistics;
+        }
+
+        Matchup(BattleSnapshot snapshot,
+                Supplier<? extends CombatStrategy> strategy1,
+                Supplier<? extends CombatStrategy> strategy2, long seed, StatisticsAggregator statistics) {
+            this.team1 = null;
+            this.team2 = null;
+            this.snapshot = snapshot;
+            this.strategy1 = strategy1;
+            this.strategy2 = strategy2;
+            this.seed = seed;
+            this.statistics = statistics;
+        }
+
+        BattleResult run(int index) {
+            CombatRandom battleRandom = CombatRandom.seeded(CombatRandom.mixSeed(seed, index));
+            CombatStrategy s1 = strategy1.get();
+            CombatStrategy s2 = strategy2.get();
+            s1.setRandom(battleRandom.split());
+            s2.setRandom(battleRandom.split());
+            BattleSimulator simulator = new BattleSimulator(battleRandom);
+            simulator.setTerminationPolicy(TerminationPolicy.PROVEN_DRAW);
+            BattleResult result = snapshot != null ? simulator.branch(snapshot, s1, s2)
+                                                    : simulator.simulate(team1, team2, s1, s2);
+            if (statistics != null) {
+                statistics.record(result, s1.getStrategyName(), s2.getStrategyName());
+            }
+            return result;
+        }
+    }
+
+    private static class Tally {
+        int wins;
+        int draws;
+        int losses;
+        long rounds;
+
+        void add(BattleResult result) {
+            switch (result.getOutcome()) {
+                case TEAM1_WIN: wins++; break;
+                case TEAM2_WIN: losses++; break;
+                default: draws++; break;
+            }
+            rounds += result.getRounds();
+        }
+
+        Tally merge(Tally other) {
+            wins += other.wins;
+            draws += other.draws;
+            losses += other.losses;
+            rounds += other.rounds;
+            return this;
+        }
+    }
+
+    private static class SimulationTask extends RecursiveTask<Tally> {
+        private static final long serialVersionUID = 1L;
+
+        private final Matchup matchup;
+        private final int from;
+        private final int to;
+
+        SimulationTask(Matchup matchup, int from, int to) {
+            this.matchup = matchup;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                Tally tally = new Tally();
+                for (int i = from; i < to; i++) {
+                    tally.add(matchup.run(i));
+                }
+                return tally;
+            }
+            int middle = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(matchup, from, middle);
+            left.fork();
+            Tally right = new SimulationTask(matchup, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.rpg.simulation;
+
+import com.rpg.combat.CombatStatistics;
+import com.rpg.combat.TeamBattle;
+import com.rpg.composite.TeamComposite;
+import com.rpg.model.Character;
+import com.rpg.random.CombatRandom;
+import com.rpg.singleton.GameSettings;
+import com.rpg.strategy.StrategyParameters;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Canonical identity of a simulated matchup, for OutcomeCache.
+ *
+ * Each side is the sorted multiset of its fighters' combat tuples (strength, agility,
+ * intelligence, health, max health and abilities in their order), so names, levels and the
+ * order of fighters within a side do not matter. The key also holds both strategies with their
+ * parameters, the combat rules read from GameSettings and the number of simulations.
+ * Sides are not interchangeable: team 1 always acts first.
+ *
+ * Fighter order only changes who acts first within a turn, so matchups differing only by it
+ * are treated as the same question.
+ */
+public final class MatchupKey {
+    private final String canonical;
+    private final long hash;
+
+    private MatchupKey(String canonical) {
+        this.canonical = canonical;
+        long h = 0;
+        for (int i = 0; i < canonical.length(); i++) {
+            h = 31 * h + canonical.charAt(i);
+        }
+        this.hash = CombatRandom.mixSeed(h, canonical.length());
+    }
+
+    /**
+     * @param samples Number of simulations the cached estimate is based on
+     */
+    public static MatchupKey of(TeamComposite team1, TeamComposite team2,
+                                StrategyParameters strategy1, StrategyParameters strategy2, int samples) {
+        return new MatchupKey("rules=" + GameSettings.getInstance().getMaxAbilities() + "," + CombatStatistics.MAX_TURNS +
+                              ";n=" + samples +
+                              ";s1=" + strategy1.getType() + ":" + strategy1.format() +
+                              ";s2=" + strategy2.getType() + ":" + strategy2.format() +
+                              ";t1=" + side(team1) +
+                              ";t2=" + side(team2));
+    }
+
+    /**
+     * Key of a one-on-one duel solved exactly (DuelSolver), with no number of simulations.
+     */
+    public static MatchupKey of(Character character1, Character character2,
+                                StrategyParameters strategy1, StrategyParameters strategy2) {
+        return new MatchupKey("rules=" + GameSettings.getInstance().getMaxAbilities() + "," + CombatStatistics.MAX_TURNS +
+                              ";n=exact" +
+                              ";s1=" + strategy1.getType() + ":" + strategy1.format() +
+                              ";s2=" + strategy2.getType() + ":" + strategy2.format() +
+                              ";t1=" + fighter(character1) +
+                              ";t2=" + fighter(character2));
+    }
+
+    /**
+     * Recreates a key from its canonical form, as written by toString().
+     */
+    public static MatchupKey parse(String canonical) {
+        return new MatchupKey(canonical);
+    }
+
+    /**
+     * Identity of a roster for checkpoints, unlike the keys: fighter order matters there,
+     * since saved results refer to teams by position and battles depend on who acts first.
+     * @return A 64-bit hash of the team names and their fighters' names and combat stats, in order
+     */
+    public static long rosterHash(List<TeamComposite> teams) {
+        StringBuilder sb = new StringBuilder();
+        for (TeamComposite team : teams) {
+            sb.append(team.getName()).append('[');
+            for (Character c : TeamBattle.extractCharacters(team)) {
+                sb.append(c.getName()).append('/').append(c.getStrength()).append('/')
+                  .append(c.getAgility()).append('/').append(c.getIntelligence()).append('/')
+                  .append(c.getHealth()).append('/').append(c.getMaxHealth());
+                for (String ability : c.getAbilities()) {
+                    sb.append(',').append(ability);
+                }
+                sb.append('|');
+            }
+            sb.append(']');
+        }
+        long h = 0;
+        for (int i = 0; i < sb.length(); i++) {
+            h = 31 * h + sb.charAt(i);
+        }
+        return CombatRandom.mixSeed(h, sb.length());
+    }
+
+    private static String side(TeamComposite team) {
+        List<String> fighters = new ArrayList<>();
+        for (Character c : TeamBattle.extractCharacters(team)) {
+            fighters.add(fighter(c));
+        }
+        Collections.sort(fighters);
+        return String.join("|", fighters);
+    }
+
+    private static String fighter(Character c) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(c.getStrength()).append('/').append(c.getAgility()).append('/')
+          .append(c.getIntelligence()).append('/').append(c.getHealth()).append('/')
+          .append(c.getMaxHealth());
+        for (String ability : c.getAbilities()) {
+            sb.append(',').append(ability);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return A 64-bit hash of the key, used as the seed of its simulations
+     */
+    public long hash64() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MatchupKey)) return false;
+        MatchupKey other = (MatchupKey) o;
+        return hash == other.hash && canonical.equals(other.canonical);
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * @return The canonical form of the key
+     */
+    @Override
+    public String toString() {
+        return canonical;
+    }
+}
@@ -0,0 +1,154 @@
+package com.rpg.simulation;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded cache of matchup estimates, evicting the least recently used entry.
+ *
+ * The cache can be saved to and loaded from a file: one entry per line, separated by ';' like
+ * characters.txt, with the key last since it contains ';' itself. Entries are written from least
+ * to most recently used, so a loaded cache keeps the same eviction order.
+ * Thread-safe. Two threads missing the same key at the same time both compute it.
+ */
+public class OutcomeCache {
+    private final int maxEntries;
+    private final LinkedHashMap<MatchupKey, MatchupEstimate> entries;
+    private long hits;
+    private long misses;
+
+    /**
+     * @param maxEntries Maximum number of cached matchups
+     */
+    public OutcomeCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("La taille du cache doit être positive");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<MatchupKey, MatchupEstimate>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MatchupKey, MatchupEstimate> eldest) {
+                return size() > OutcomeCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return The cached estimate, or null
+     */
+    public synchronized MatchupEstimate get(MatchupKey key) {
+        MatchupEstimate estimate = entries.get(key);
+        if (estimate != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return estimate;
+    }
+
+    public synchronized void put(MatchupKey key, MatchupEstimate estimate) {
+        entries.put(key, estimate);
+    }
+
+    /**
+     * Returns the cached estimate, or computes and caches it. The computation runs outside the lock.
+     */
+    public MatchupEstimate computeIfAbsent(MatchupKey key, Supplier<MatchupEstimate> compute) {
+        MatchupEstimate estimate = get(key);
+        if (estimate == null) {
+            estimate = compute.get();
+            put(key, estimate);
+        }
+        return estimate;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * Writes every entry to a file, replacing it atomically.
+     */
+    public void save(Path file) {
+        List<Map.Entry<MatchupKey, MatchupEstimate>> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(entries.entrySet());
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                for (Map.Entry<MatchupKey, MatchupEstimate> entry : snapshot) {
+                    MatchupEstimate e = entry.getValue();
+                    writer.write(e.getSamples() + ";" + e.getWins() + ";" + e.getDraws() + ";" + e.getLosses() + ";" +
+                                 e.getTotalRounds() + ";" + entry.getKey());
+                    writer.newLine();
+                }
+            }
+            try {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture du cache impossible: " + file, e);
+        }
+    }
+
+    /**
+     * Adds the entries of a file written by save(). A missing file is ignored.
+     * @return Number of entries read
+     */
+    public int load(Path file) {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(";", 6);
+                if (parts.length != 6) {
+                    continue; // Ligne invalide
+                }
+                MatchupEstimate estimate = new MatchupEstimate(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+                                                               Integer.parseInt(parts[2]), Integer.parseInt(parts[3]),
+                                                               Long.parseLong(parts[4]));
+                put(MatchupKey.parse(parts[5]), estimate);
+                count++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture du cache impossible: " + file, e);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,322 @@
+package com.rpg.simulation;
+
+import com.rpg.composite.TeamComposite;
+import com.rpg.random.CombatRandom;
+import com.rpg.strategy.StrategyParameters;
+import com.rpg.strategy.StrategyType;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Genetic algorithm tuning the thresholds of a built-in strategy.
+ *
+ * A candidate's fitness is its mean score against a reference pool of parameter vectors,
+ * 1 for a win and 0.5 for a draw, over series of seeded battles between two teams, half of
+ * them with the sides swapped. Every candidate meets the references with the same seeds,
+ * so candidates are compared on the same battles. All the series of a generation are submitted
+ * to the pool at once, each run by MatchupEstimator, so even small series keep every core busy.
+ *
+ * Each generation keeps its best candidates, then breeds the rest by tournament selection,
+ * uniform crossover and Gaussian mutation. Parameters are rounded to hundredths so that
+ * re-discovered candidates hit the fitness cache instead of being simulated again.
+ * With a checkpoint file, the state is saved after every generation and an interrupted
+ * run resumes at the next one; generation g always draws from the same stream, so a
+ * resumed run ends exactly like an uninterrupted one. The checkpoint identifies both teams
+ * by MatchupKey.rosterHash, so a team edited or reordered since is rejected, not resumed.
+ */
+public class StrategyTuner {
+    /** Parameters are rounded to multiples of 1 / GRID_STEPS */
+    public static final int GRID_STEPS = 100;
+
+    private static final int TOURNAMENT_SIZE = 3;
+    private static final double MUTATION_RATE = 0.25;
+    private static final double MUTATION_SIGMA = 0.1;
+
+    private final StrategyType type;
+    private final TeamComposite team1;
+    private final TeamComposite team2;
+    private final List<StrategyParameters> references;
+    private final long seed;
+    private final ForkJoinPool pool;
+    private final MatchupEstimator estimator;
+    private int populationSize = 16;
+    private int eliteCount = 2;
+    private int battlesPerReference = 64;
+    private Path checkpointFile;
+
+    /**
+     * @param type The strategy to tune
+     * @param team1 First team of every battle
+     * @param team2 Second team of every battle
+     * @param references Parameter vectors the candidates play against
+     * @param seed Master seed; the same seed always gives the same result
+     */
+    public StrategyTuner(StrategyType type, TeamComposite team1, TeamComposite team2,
+                         List<StrategyParameters> references, long seed) {
+        this(type, team1, team2, references, seed, ForkJoinPool.commonPool());
+    }
+
+    public StrategyTuner(StrategyType type, TeamComposite team1, TeamComposite team2,
+                         List<StrategyParameters> references, long seed, ForkJoinPool pool) {
+        if (references.isEmpty()) {
+            throw new IllegalArgumentException("Il faut au moins une stratégie de référence");
+        }
+        this.type = type;
+        this.team1 = team1;
+        this.team2 = team2;
+        this.references = new ArrayList<>(references);
+        this.seed = seed;
+        this.pool = pool;
+        this.estimator = new MatchupEstimator(pool);
+    }
+
+    public void setPopulationSize(int populationSize) {
+        if (populationSize < 2) {
+            throw new IllegalArgumentException("La population doit compter au moins 2 candidats");
+        }
+        this.populationSize = populationSize;
+        this.eliteCount = Math.min(eliteCount, populationSize - 1);
+    }
+
+    /**
+     * @param eliteCount Best candidates copied unchanged into the next generation
+     */
+    public void setEliteCount(int eliteCount) {
+        if (eliteCount < 0 || eliteCount >= populationSize) {
+            throw new IllegalArgumentException("Nombre d'élites invalide: " + eliteCount);
+        }
+        this.eliteCount = eliteCount;
+    }
+
+    /**
+     * @param battlesPerReference Battles against each reference (at least 2, half with the sides swapped)
+     */
+    public void setBattlesPerReference(int battlesPerReference) {
+        if (battlesPerReference < 2) {
+            throw new IllegalArgumentException("Il faut au moins 2 combats par référence");
+        }
+        this.battlesPerReference = battlesPerReference;
+    }
+
+    /**
+     * Enables checkpointing to the given file. An existing file is resumed.
+     */
+    public void setCheckpointFile(Path checkpointFile) {
+        this.checkpointFile = checkpointFile;
+    }
+
+    /**
+     * Runs the given number of generations, minus those already in the checkpoint.
+     * @return The best candidate found and the history of every generation
+     */
+    public TuningResult run(int generations) {
+        TuningCheckpoint checkpoint = checkpointFile == null ? null
+            : new TuningCheckpoint(checkpointFile, type, settings());
+        TuningCheckpoint.State state = checkpoint != null ? checkpoint.load() : null;
+        if (state == null) {
+            state = new TuningCheckpoint.State();
+            state.population.addAll(initialPopulation());
+        }
+
+        while (state.generation < generations) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            List<Scored> scored = evaluate(state.population, state.fitness);
+            double total = 0;
+            for (Scored candidate : scored) {
+                total += candidate.fitness;
+            }
+            Scored best = scored.get(0);
+            state.history.add(new TuningResult.Generation(state.generation + 1, best.parameters,
+                                                          best.fitness, total / scored.size()));
+
+            List<StrategyParameters> next = breed(scored, CombatRandom.seeded(CombatRandom.mixSeed(seed, state.generation)));
+            state.population.clear();
+            state.population.addAll(next);
+            state.generation++;
+            if (checkpoint != null) {
+                checkpoint.save(state);
+            }
+        }
+
+        StrategyParameters best = type.getDefaultParameters();
+        double bestFitness = Double.NEGATIVE_INFINITY;
+        for (TuningResult.Generation generation : state.history) {
+            if (generation.getBestFitness() > bestFitness) {
+                best = generation.getBest();
+                bestFitness = generation.getBestFitness();
+            }
+        }
+        if (state.history.isEmpty()) {
+            bestFitness = fitness(best, state.fitness);
+        }
+        return new TuningResult(best, bestFitness, state.history, state.fitness.size());
+    }
+
+    /**
+     * Fitness of a single parameter vector against the reference pool, e.g. the defaults as a baseline.
+     */
+    public double evaluate(StrategyParameters parameters) {
+        return fitness(parameters, new LinkedHashMap<>());
+    }
+
+    private String settings() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("seed=").append(seed)
+          .append(";population=").append(populationSize)
+          .append(";elites=").append(eliteCount)
+          .append(";battles=").append(battlesPerReference)
+          .append(";teams=").append(team1.getName()).append('/').append(team2.getName())
+          .append(";roster=").append(Long.toHexString(MatchupKey.rosterHash(List.of(team1, team2))))
+          .append(";references=");
+        for (int i = 0; i < references.size(); i++) {
+            if (i > 0) sb.append('|');
+            sb.append(references.get(i).getType()).append(':').append(references.get(i).format());
+        }
+        return sb.toString();
+    }
+
+    // ===== Fitness =====
+
+    private List<Scored> evaluate(List<StrategyParameters> population, Map<StrategyParameters, Double> cache) {
+        score(population, cache);
+        List<Scored> scored = new ArrayList<>();
+        for (StrategyParameters candidate : population) {
+            scored.add(new Scored(candidate, cache.get(candidate)));
+        }
+        // Stable sort: ties keep population order, so the ranking is deterministic
+        scored.sort(Comparator.comparingDouble((Scored s) -> s.fitness).reversed());
+        return scored;
+    }
+
+    private double fitness(StrategyParameters candidate, Map<StrategyParameters, Double> cache) {
+        score(List.of(candidate), cache);
+        return cache.get(candidate);
+    }
+
+    /**
+     * Scores every candidate missing from the cache. The series of all (candidate, reference,
+     * side) triples are submitted to the pool together, then collected in order.
+     */
+    private void score(Collection<StrategyParameters> candidates, Map<StrategyParameters, Double> cache) {
+        Set<StrategyParameters> pending = new LinkedHashSet<>();
+        for (StrategyParameters candidate : candidates) {
+            if (!cache.containsKey(candidate)) {
+                pending.add(candidate);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        int firstHalf = battlesPerReference / 2;
+        int secondHalf = battlesPerReference - firstHalf;
+        List<ForkJoinTask<MatchupEstimate>> series = new ArrayList<>();
+        for (StrategyParameters candidate : pending) {
+            for (int r = 0; r < references.size(); r++) {
+                StrategyParameters reference = references.get(r);
+                long firstSeed = CombatRandom.mixSeed(seed, 2L * r);
+                long secondSeed = CombatRandom.mixSeed(seed, 2L * r + 1);
+                series.add(pool.submit(() -> estimator.estimate(team1, team2,
+                    candidate::createStrategy, reference::createStrategy, firstHalf, firstSeed)));
+                series.add(pool.submit(() -> estimator.estimate(team1, team2,
+                    reference::createStrategy, candidate::createStrategy, secondHalf, secondSeed)));
+            }
+        }
+        int next = 0;
+        for (StrategyParameters candidate : pending) {
+            double score = 0;
+            for (int r = 0; r < references.size(); r++) {
+                MatchupEstimate first = series.get(next++).join();
+                MatchupEstimate second = series.get(next++).join();
+                score += first.getWins() + second.getLosses() + 0.5 * (first.getDraws() + second.getDraws());
+            }
+            cache.put(candidate, score / ((double) battlesPerReference * references.size()));
+        }
+    }
+
+    // ===== Variation =====
+
+    private List<StrategyParameters> initialPopulation() {
+        CombatRandom random = CombatRandom.seeded(CombatRandom.mixSeed(seed, -1L));
+        List<StrategyParameters> population = new ArrayList<>();
+        population.add(type.getDefaultParameters());
+        int size = type.getParameterNames().length;
+        while (population.size() < populationSize) {
+            double[] values = new double[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = random.nextDouble();
+            }
+            population.add(snap(values));
+        }
+        return population;
+    }
+
+    private List<StrategyParameters> breed(List<Scored> scored, CombatRandom random) {
+        List<StrategyParameters> next = new ArrayList<>();
+        for (int i = 0; i < eliteCount; i++) {
+            next.add(scored.get(i).parameters);
+        }
+        while (next.size() < populationSize) {
+            double[] mother = select(scored, random).toArray();
+            double[] father = select(scored, random).toArray();
+            double[] child = new double[mother.length];
+            for (int i = 0; i < child.length; i++) {
+                child[i] = random.nextDouble() < 0.5 ? mother[i] : father[i];
+                if (random.nextDouble() < MUTATION_RATE) {
+                    child[i] += MUTATION_SIGMA * gaussian(random);
+                }
+            }
+            next.add(snap(child));
+        }
+        return next;
+    }
+
+    /**
+     * Tournament selection: the best of TOURNAMENT_SIZE candidates drawn at random.
+     */
+    private static StrategyParameters select(List<Scored> scored, CombatRandom random) {
+        int best = random.nextInt(scored.size());
+        for (int i = 1; i < TOURNAMENT_SIZE; i++) {
+            // The list is sorted by fitness, so the lowest position wins
+            best = Math.min(best, random.nextInt(scored.size()));
+        }
+        return scored.get(best).parameters;
+    }
+
+    /**
+     * Standard normal deviate by the Box-Muller transform.
+     */
+    private static double gaussian(CombatRandom random) {
+        double u = 1.0 - random.nextDouble();
+        double v = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * v);
+    }
+
+    private StrategyParameters snap(double[] values) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.round(Math.max(0.0, Math.min(1.0, values[i])) * GRID_STEPS) / (double) GRID_STEPS;
+        }
+        return new StrategyParameters(type, values);
+    }
+
+    private static class Scored {
+        final StrategyParameters parameters;
+        final double fitness;
+
+        Scored(StrategyParameters parameters, double fitness) {
+            this.parameters = parameters;
+            this.fitness = fitness;
+        }
+    }
+}
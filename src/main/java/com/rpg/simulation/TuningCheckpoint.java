@@ -0,0 +1,133 @@
+package com.rpg.simulation;
+
+import com.rpg.strategy.StrategyParameters;
+import com.rpg.strategy.StrategyType;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checkpoint file of a StrategyTuner run, rewritten after every generation so that an
+ * interrupted run resumes at the next one. Lines are separated by ';' like characters.txt;
+ * the first line records the run parameters and is checked when resuming.
+ * The file is written to a temporary file first and then moved over the old one,
+ * so an interruption never leaves a half-written checkpoint.
+ */
+class TuningCheckpoint {
+    private final Path file;
+    private final StrategyType type;
+    private final String header;
+
+    /**
+     * @param file The checkpoint file
+     * @param type The tuned strategy
+     * @param settings Description of the run parameters, compared when resuming
+     */
+    TuningCheckpoint(Path file, StrategyType type, String settings) {
+        this.file = file;
+        this.type = type;
+        this.header = "# type=" + type + ";" + settings;
+    }
+
+    /**
+     * Loads the state saved by a previous run.
+     * @return The state, or null if the file does not exist
+     * @throws IllegalStateException if the file belongs to a run with other parameters
+     */
+    State load() {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        State state = new State();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String first = reader.readLine();
+            if (first == null || !first.equals(header)) {
+                throw new IllegalStateException("Le checkpoint " + file + " correspond à un autre réglage (" + first + ")");
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(";");
+                switch (parts[0]) {
+                    case "generation":
+                        state.generation = Integer.parseInt(parts[1]);
+                        break;
+                    case "P":
+                        state.population.add(StrategyParameters.parse(type, parts[1]));
+                        break;
+                    case "F":
+                        state.fitness.put(StrategyParameters.parse(type, parts[1]), Double.parseDouble(parts[2]));
+                        break;
+                    case "H":
+                        state.history.add(new TuningResult.Generation(Integer.parseInt(parts[1]),
+                            StrategyParameters.parse(type, parts[2]),
+                            Double.parseDouble(parts[3]), Double.parseDouble(parts[4])));
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture du checkpoint impossible: " + file, e);
+        }
+        return state;
+    }
+
+    /**
+     * Replaces the checkpoint with the given state.
+     */
+    void save(State state) {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                writer.write(header);
+                writer.newLine();
+                writer.write("generation;" + state.generation);
+                writer.newLine();
+                for (StrategyParameters parameters : state.population) {
+                    writer.write("P;" + parameters.format());
+                    writer.newLine();
+                }
+                for (Map.Entry<StrategyParameters, Double> entry : state.fitness.entrySet()) {
+                    writer.write("F;" + entry.getKey().format() + ";" + entry.getValue());
+                    writer.newLine();
+                }
+                for (TuningResult.Generation generation : state.history) {
+                    writer.write("H;" + generation.getNumber() + ";" + generation.getBest().format() + ";" +
+                                 generation.getBestFitness() + ";" + generation.getMeanFitness());
+                    writer.newLine();
+                }
+            }
+            try {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture du checkpoint impossible: " + file, e);
+        }
+    }
+
+    /**
+     * Tuner state after a completed generation.
+     */
+    static class State {
+        /** Number of completed generations */
+        int generation;
+        /** Population of the next generation */
+        final List<StrategyParameters> population = new ArrayList<>();
+        /** Fitness of every evaluated parameter vector */
+        final Map<StrategyParameters, Double> fitness = new LinkedHashMap<>();
+        final List<TuningResult.Generation> history = new ArrayList<>();
+    }
+}
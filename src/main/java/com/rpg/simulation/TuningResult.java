@@ -0,0 +1,67 @@
+package com.rpg.simulation;
+
+import com.rpg.strategy.StrategyParameters;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a StrategyTuner run: the best parameters found and the progress of every generation.
+ */
+public class TuningResult {
+    private final StrategyParameters best;
+    private final double bestFitness;
+    private final List<Generation> history;
+    private final int evaluations;
+
+    public TuningResult(StrategyParameters best, double bestFitness, List<Generation> history, int evaluations) {
+        this.best = best;
+        this.bestFitness = bestFitness;
+        this.history = Collections.unmodifiableList(new ArrayList<>(history));
+        this.evaluations = evaluations;
+    }
+
+    public StrategyParameters getBest() { return best; }
+    public double getBestFitness() { return bestFitness; }
+    public List<Generation> getHistory() { return history; }
+
+    /**
+     * @return Number of distinct parameter vectors evaluated by simulation
+     */
+    public int getEvaluations() { return evaluations; }
+
+    @Override
+    public String toString() {
+        return String.format("Meilleurs paramètres %s, score %.3f (%d générations, %d évaluations)",
+                           best, bestFitness, history.size(), evaluations);
+    }
+
+    /**
+     * Fitness summary of one generation.
+     */
+    public static class Generation {
+        private final int number;
+        private final StrategyParameters best;
+        private final double bestFitness;
+        private final double meanFitness;
+
+        public Generation(int number, StrategyParameters best, double bestFitness, double meanFitness) {
+            this.number = number;
+            this.best = best;
+            this.bestFitness = bestFitness;
+            this.meanFitness = meanFitness;
+        }
+
+        public int getNumber() { return number; }
+        public StrategyParameters getBest() { return best; }
+        public double getBestFitness() { return bestFitness; }
+        public double getMeanFitness() { return meanFitness; }
+
+        @Override
+        public String toString() {
+            return String.format("Génération %d: meilleur %.3f, moyenne %.3f %s",
+                               number, bestFitness, meanFitness, best);
+        }
+    }
+}
@@ -1,45 +1,75 @@
 package com.rpg.strategy;
 
 import com.rpg.command.*;
+import com.rpg.model.Ability;
 import com.rpg.model.Character;
+import com.rpg.random.CombatRandom;
 import java.util.Random;
 
 /**
  * Stratégie agressive - Privilégie les attaques et capacités offensives.
- * Uses injected Random for deterministic testing.
+ * Uses injected CombatRandom for deterministic testing.
  */
 public class AggressiveStrategy implements CombatStrategy {
-    private Random random;
+    private CombatRandom random;
+    private final StrategyParameters parameters;
+    private final double abilityThreshold;
     
     public AggressiveStrategy() {
-        this.random = new Random();
+        this(CombatRandom.create());
     }
     
     public AggressiveStrategy(Random random) {
+        this(CombatRandom.wrap(random));
+    }
+    
+    public AggressiveStrategy(CombatRandom random) {
+        this(random, StrategyType.AGGRESSIVE.getDefaultParameters());
+    }
+
+    /**
+     * @param parameters Thresholds of the rules, see StrategyType.AGGRESSIVE
+     */
+    public AggressiveStrategy(CombatRandom random, StrategyParameters parameters) {
+        if (parameters.getType() != StrategyType.AGGRESSIVE) {
+            throw new IllegalArgumentException("Paramètres de " + parameters.getType() + " pour la stratégie AGGRESSIVE");
+        }
         this.random = random;
+        this.parameters = parameters;
+        this.abilityThreshold = parameters.get(0);
     }
     
     @Override
-    public void setRandom(Random random) {
+    public void setRandom(CombatRandom random) {
         this.random = random;
     }
     
     @Override
     public Command chooseAction(Character actor, Character target) {
-        // Si le personnage a des capacités offensives, les utiliser (70% chance)
-        if (!actor.getAbilities().isEmpty() && random.nextDouble() > 0.3) {
-            for (String ability : actor.getAbilities()) {
-                if (ability.equals("Super Force") || ability.equals("Pouvoir du Feu") || 
-                    ability.equals("Telepathie")) {
-                    return new UseAbilityCommand(actor, target, ability);
+        return chooseAction(actor, target, CommandFactory.NEW);
+    }
+
+    @Override
+    public Command chooseAction(Character actor, Character target, CommandFactory commands) {
+        // Si le personnage a des capacités offensives, les utiliser (70% chance par défaut)
+        if (actor.getAbilityCount() > 0 && random.nextDouble() > abilityThreshold
+                && (actor.getAbilityMask() & Ability.OFFENSIVE_MASK) != 0) {
+            for (int i = 0; i < actor.getAbilityCount(); i++) {
+                Ability ability = actor.getAbilityAt(i);
+                if (ability != null && ability.isOffensive()) {
+                    return commands.useAbility(actor, target, ability);
                 }
             }
         }
         
         // Sinon, attaquer normalement
-        return new AttackCommand(actor, target);
+        return commands.attack(actor, target);
     }
     
+    public StrategyParameters getParameters() {
+        return parameters;
+    }
+
     @Override
     public String getStrategyName() {
         return "⚔ AGRESSIVE";
@@ -1,63 +1,102 @@
 package com.rpg.strategy;
 
 import com.rpg.command.*;
+import com.rpg.model.Ability;
 import com.rpg.model.Character;
+import com.rpg.random.CombatRandom;
 import java.util.Random;
 
 /**
  * Stratégie équilibrée - S'adapte selon la situation.
- * Uses injected Random for deterministic testing.
+ * Uses injected CombatRandom for deterministic testing.
  */
 public class BalancedStrategy implements CombatStrategy {
-    private Random random;
+    private CombatRandom random;
+    private final StrategyParameters parameters;
+    private final double lowHealth;
+    private final double regenerationThreshold;
+    private final double weakTarget;
+    private final double finishThreshold;
+    private final double defendThreshold;
+    private final double abilityThreshold;
     
     public BalancedStrategy() {
-        this.random = new Random();
+        this(CombatRandom.create());
     }
     
     public BalancedStrategy(Random random) {
+        this(CombatRandom.wrap(random));
+    }
+    
+    public BalancedStrategy(CombatRandom random) {
+        this(random, StrategyType.BALANCED.getDefaultParameters());
+    }
+
+    /**
+     * @param parameters Thresholds of the rules, see StrategyType.BALANCED
+     */
+    public BalancedStrategy(CombatRandom random, StrategyParameters parameters) {
+        if (parameters.getType() != StrategyType.BALANCED) {
+            throw new IllegalArgumentException("Paramètres de " + parameters.getType() + " pour la stratégie BALANCED");
+        }
         this.random = random;
+        this.parameters = parameters;
+        this.lowHealth = parameters.get(0);
+        this.regenerationThreshold = parameters.get(1);
+        this.weakTarget = parameters.get(2);
+        this.finishThreshold = parameters.get(3);
+        this.defendThreshold = parameters.get(4);
+        this.abilityThreshold = parameters.get(5);
     }
     
     @Override
-    public void setRandom(Random random) {
+    public void setRandom(CombatRandom random) {
         this.random = random;
     }
     
     @Override
     public Command chooseAction(Character actor, Character target) {
+        return chooseAction(actor, target, CommandFactory.NEW);
+    }
+
+    @Override
+    public Command chooseAction(Character actor, Character target, CommandFactory commands) {
         double actorHealthPercentage = (double) actor.getHealth() / actor.getMaxHealth();
         double targetHealthPercentage = (double) target.getHealth() / target.getMaxHealth();
         
         // Si acteur a peu de PV, se régénérer ou défendre
-        if (actorHealthPercentage < 0.3) {
-            if (actor.getAbilities().contains("Regeneration") && random.nextDouble() > 0.5) {
-                return new UseAbilityCommand(actor, actor, "Regeneration");
+        if (actorHealthPercentage < lowHealth) {
+            if (actor.hasAbility(Ability.REGENERATION) && random.nextDouble() > regenerationThreshold) {
+                return commands.useAbility(actor, actor, Ability.REGENERATION);
             }
-            return new DefendCommand(actor);
+            return commands.defend(actor);
         }
         
         // Si la cible est faible, attaquer agressivement
-        if (targetHealthPercentage < 0.3) {
-            if (!actor.getAbilities().isEmpty() && random.nextDouble() > 0.5) {
-                return new UseAbilityCommand(actor, target, 
-                    actor.getAbilities().get(random.nextInt(actor.getAbilities().size())));
+        if (targetHealthPercentage < weakTarget) {
+            if (actor.getAbilityCount() > 0 && random.nextDouble() > finishThreshold) {
+                return commands.useAbility(actor, target, 
+                    actor.getAbilities().get(random.nextInt(actor.getAbilityCount())));
             }
-            return new AttackCommand(actor, target);
+            return commands.attack(actor, target);
         }
         
         // Sinon, comportement aléatoire équilibré
         double action = random.nextDouble();
-        if (action > 0.7) {
-            return new DefendCommand(actor);
-        } else if (action > 0.3 && !actor.getAbilities().isEmpty()) {
-            return new UseAbilityCommand(actor, target, 
-                actor.getAbilities().get(random.nextInt(actor.getAbilities().size())));
+        if (action > defendThreshold) {
+            return commands.defend(actor);
+        } else if (action > abilityThreshold && actor.getAbilityCount() > 0) {
+            return commands.useAbility(actor, target, 
+                actor.getAbilities().get(random.nextInt(actor.getAbilityCount())));
         } else {
-            return new AttackCommand(actor, target);
+            return commands.attack(actor, target);
         }
     }
     
+    public StrategyParameters getParameters() {
+        return parameters;
+    }
+
     @Override
     public String getStrategyName() {
         return "⚖ ÉQUILIBRÉE";
@@ -2,12 +2,13 @@ package com.rpg.strategy;
 
 import com.rpg.model.Character;
 import com.rpg.command.Command;
-import com.rpg.combat.CombatEngine;
+import com.rpg.command.CommandFactory;
+import com.rpg.random.CombatRandom;
 import java.util.Random;
 
 /**
  * Pattern Strategy - Interface pour les différentes stratégies de combat.
- * Supports Random injection for deterministic testing.
+ * Supports CombatRandom injection for deterministic testing.
  */
 public interface CombatStrategy {
     /**
@@ -17,12 +18,31 @@ public interface CombatStrategy {
      * @return The command to execute
      */
     Command chooseAction(Character actor, Character target);
+
+    /**
+     * Chooses an action, creating the command with the given factory.
+     * A battle loop passes a CommandPool so that choosing an action does not allocate.
+     * Default implementation ignores the factory and calls chooseAction(actor, target).
+     * @param commands The factory of the returned command
+     * @return The command to execute
+     */
+    default Command chooseAction(Character actor, Character target, CommandFactory commands) {
+        return chooseAction(actor, target);
+    }
     
     /**
-     * Sets the random generator for deterministic behavior.
+     * Sets the random stream for deterministic behavior.
+     * @param random The random stream to use
+     */
+    void setRandom(CombatRandom random);
+
+    /**
+     * Sets a java.util.Random as the random source.
      * @param random The random generator to use
      */
-    void setRandom(Random random);
+    default void setRandom(Random random) {
+        setRandom(CombatRandom.wrap(random));
+    }
     
     /**
      * Gets the strategy name.
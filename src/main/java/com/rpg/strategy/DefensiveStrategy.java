@@ -1,51 +1,82 @@
 package com.rpg.strategy;
 
 import com.rpg.command.*;
+import com.rpg.model.Ability;
 import com.rpg.model.Character;
+import com.rpg.random.CombatRandom;
 import java.util.Random;
 
 /**
  * Stratégie défensive - Privilégie la défense et la régénération.
- * Uses injected Random for deterministic testing.
+ * Uses injected CombatRandom for deterministic testing.
  */
 public class DefensiveStrategy implements CombatStrategy {
-    private Random random;
+    private CombatRandom random;
+    private final StrategyParameters parameters;
+    private final double lowHealth;
+    private final double attackThreshold;
     
     public DefensiveStrategy() {
-        this.random = new Random();
+        this(CombatRandom.create());
     }
     
     public DefensiveStrategy(Random random) {
+        this(CombatRandom.wrap(random));
+    }
+    
+    public DefensiveStrategy(CombatRandom random) {
+        this(random, StrategyType.DEFENSIVE.getDefaultParameters());
+    }
+
+    /**
+     * @param parameters Thresholds of the rules, see StrategyType.DEFENSIVE
+     */
+    public DefensiveStrategy(CombatRandom random, StrategyParameters parameters) {
+        if (parameters.getType() != StrategyType.DEFENSIVE) {
+            throw new IllegalArgumentException("Paramètres de " + parameters.getType() + " pour la stratégie DEFENSIVE");
+        }
         this.random = random;
+        this.parameters = parameters;
+        this.lowHealth = parameters.get(0);
+        this.attackThreshold = parameters.get(1);
     }
     
     @Override
-    public void setRandom(Random random) {
+    public void setRandom(CombatRandom random) {
         this.random = random;
     }
     
     @Override
     public Command chooseAction(Character actor, Character target) {
+        return chooseAction(actor, target, CommandFactory.NEW);
+    }
+
+    @Override
+    public Command chooseAction(Character actor, Character target, CommandFactory commands) {
         // Si les PV sont bas, se régénérer ou se défendre
         double healthPercentage = (double) actor.getHealth() / actor.getMaxHealth();
         
-        if (healthPercentage < 0.5) {
+        if (healthPercentage < lowHealth) {
             // Essayer de se régénérer si possible
-            if (actor.getAbilities().contains("Regeneration")) {
-                return new UseAbilityCommand(actor, actor, "Regeneration");
+            if (actor.hasAbility(Ability.REGENERATION)) {
+                return commands.useAbility(actor, actor, Ability.REGENERATION);
             }
             // Sinon se défendre
-            return new DefendCommand(actor);
+            return commands.defend(actor);
         }
         
-        // Si la santé est bonne, alterner entre défense et attaque (40% attaque, 60% défense)
-        if (random.nextDouble() > 0.6) {
-            return new AttackCommand(actor, target);
+        // Si la santé est bonne, alterner entre défense et attaque (40% attaque, 60% défense par défaut)
+        if (random.nextDouble() > attackThreshold) {
+            return commands.attack(actor, target);
         } else {
-            return new DefendCommand(actor);
+            return commands.defend(actor);
         }
     }
     
+    public StrategyParameters getParameters() {
+        return parameters;
+    }
+
     @Override
     public String getStrategyName() {
         return "🛡 DÉFENSIVE";
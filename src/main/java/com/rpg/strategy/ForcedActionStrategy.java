@@ -0,0 +1,64 @@
+package com.rpg.strategy;
+
+import com.rpg.combat.Combatant;
+import com.rpg.command.Command;
+import com.rpg.command.CommandFactory;
+import com.rpg.model.Character;
+import com.rpg.random.CombatRandom;
+
+import java.util.function.BiFunction;
+
+/**
+ * Pattern Decorator - Forces the next action of one fighter, then behaves like the wrapped strategy.
+ * Used for what-if analysis on a battle snapshot ("what if this fighter defends instead of
+ * attacking on round 4"). The wrapped strategy still chooses the replaced action, so its random
+ * stream stays aligned with the unforced continuation.
+ */
+public class ForcedActionStrategy implements CombatStrategy {
+    private final CombatStrategy strategy;
+    private final int fighterIndex;
+    private final BiFunction<Character, Character, Command> action;
+    private boolean used;
+
+    /**
+     * @param strategy The strategy to follow otherwise
+     * @param fighterIndex Combatant index of the fighter (its position in BattleSnapshot.getFighters())
+     * @param action Builds the forced command from the actor and its target
+     */
+    public ForcedActionStrategy(CombatStrategy strategy, int fighterIndex,
+                                BiFunction<Character, Character, Command> action) {
+        this.strategy = strategy;
+        this.fighterIndex = fighterIndex;
+        this.action = action;
+    }
+
+    @Override
+    public Command chooseAction(Character actor, Character target) {
+        return chooseAction(actor, target, CommandFactory.NEW);
+    }
+
+    @Override
+    public Command chooseAction(Character actor, Character target, CommandFactory commands) {
+        Command chosen = strategy.chooseAction(actor, target, commands);
+        if (!used && actor instanceof Combatant && ((Combatant) actor).getIndex() == fighterIndex) {
+            used = true;
+            return action.apply(actor, target);
+        }
+        return chosen;
+    }
+
+    @Override
+    public void setRandom(CombatRandom random) {
+        strategy.setRandom(random);
+    }
+
+    @Override
+    public String getStrategyName() {
+        return strategy.getStrategyName() + " (action forcée)";
+    }
+
+    @Override
+    public String getDescription() {
+        return strategy.getDescription() + " Action imposée une fois au combattant #" + fighterIndex + ".";
+    }
+}
@@ -0,0 +1,467 @@
+package com.rpg.strategy;
+
+import com.rpg.command.Command;
+import com.rpg.command.CommandFactory;
+import com.rpg.model.Ability;
+import com.rpg.model.Character;
+import com.rpg.random.CombatRandom;
+import com.rpg.singleton.GameSettings;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Stratégie MCTS - Choisit l'action par recherche arborescente Monte Carlo.
+ *
+ * Searches the duel between the actor and its target: attack, defend or any owned ability,
+ * the target answering with its own options. Each iteration selects actions with UCB1 (the
+ * target minimising the actor's value), samples damage rolls and crits like CombatEngine,
+ * then finishes with a random rollout scored 1 for a win, 0 for a loss, or by health
+ * difference at the horizon. The most visited action is played.
+ *
+ * The simulation works on a few ints, and the tree lives in primitive arrays indexed by an
+ * open-addressing table keyed by the duel state (health and agility of both sides, side to
+ * move) together with a hash of both fighters' fixed stats and options. One strategy instance
+ * plays every fighter of a side against random targets, so the table is shared by all their
+ * duels and kept across turns: whenever the same pair meets again, its states have usually
+ * been searched already. The arrays are allocated on the first decision and grow with the
+ * tree, up to TREES_KEPT decisions' worth of nodes for the iteration budget (a decision adds at
+ * most one node per iteration); the table is then emptied by clearing the slots it used.
+ *
+ * The search stops at the iteration budget or the time budget, whichever comes first.
+ * With no time budget, a seeded strategy is deterministic. As StrategyParameters (see
+ * StrategyType.MCTS), "iterations" is the budget divided by MAX_TUNED_ITERATIONS and
+ * "exploration" the UCB1 constant divided by 2.
+ */
+public class MctsStrategy implements CombatStrategy {
+    public static final int DEFAULT_ITERATIONS = 2000;
+    public static final long DEFAULT_TIME_BUDGET_NANOS = 2_000_000L;
+    public static final int MAX_TUNED_ITERATIONS = 10_000;
+
+    private static final int ATTACK = 0;
+    private static final int DEFEND = 1;
+    private static final int ABILITY_BASE = 2;
+    private static final int MAX_OPTIONS = ABILITY_BASE + Ability.values().length;
+
+    private static final int HORIZON = 60;
+    private static final double DEFAULT_EXPLORATION = 1.4;
+    private static final int TREES_KEPT = 8;
+    private static final int MIN_NODES = 256;
+    private static final int MAX_NODES = 1 << 16;
+    private static final long EMPTY = -1L;
+
+    private CombatRandom random;
+    private final int maxIterations;
+    private final long timeBudgetNanos;
+    private final double exploration;
+    private final int maxNodes;
+
+    // Duel model: index 0 is the actor, 1 the target
+    private final int[] strength = new int[2];
+    private final int[] intelligence = new int[2];
+    private final int[] maxHealth = new int[2];
+    private final int[] abilityBonus = new int[2];
+    private final int[][] options = new int[2][MAX_OPTIONS];
+    private final int[] optionCount = new int[2];
+    private final int[] health = new int[2];
+    private final int[] agility = new int[2];
+    private int toMove;
+
+    // Search tree, allocated by the first decision; the table has twice as many slots as usedSlots
+    private long[] tableKeys;
+    private long[] tableMatchups;
+    private int[] tableNodes;
+    private int[] usedSlots;
+    private long matchup;
+    private int nodeCount;
+    private int[] nodeVisits;
+    private int[] edgeVisits;
+    private double[] edgeValue;
+    private final int[] pathNodes = new int[HORIZON];
+    private final int[] pathEdges = new int[HORIZON];
+    private final int[] pathSides = new int[HORIZON];
+
+    public MctsStrategy() {
+        this(CombatRandom.create());
+    }
+
+    public MctsStrategy(Random random) {
+        this(CombatRandom.wrap(random));
+    }
+
+    public MctsStrategy(CombatRandom random) {
+        this(random, DEFAULT_ITERATIONS, DEFAULT_TIME_BUDGET_NANOS);
+    }
+
+    /**
+     * @param maxIterations Maximum number of iterations per decision
+     * @param timeBudgetNanos Maximum search time per decision, 0 for no time limit
+     */
+    public MctsStrategy(CombatRandom random, int maxIterations, long timeBudgetNanos) {
+        this(random, maxIterations, timeBudgetNanos, DEFAULT_EXPLORATION);
+    }
+
+    /**
+     * @param parameters Iteration budget and exploration, see StrategyType.MCTS; no time budget
+     */
+    public MctsStrategy(CombatRandom random, StrategyParameters parameters) {
+        this(random, Math.max(1, (int) Math.round(checkType(parameters).get(0) * MAX_TUNED_ITERATIONS)),
+             0, 2.0 * parameters.get(1));
+    }
+
+    private MctsStrategy(CombatRandom random, int maxIterations, long timeBudgetNanos, double exploration) {
+        if (maxIterations <= 0) {
+            throw new IllegalArgumentException("Le nombre d'itérations doit être positif");
+        }
+        if (timeBudgetNanos < 0) {
+            throw new IllegalArgumentException("Le budget de temps ne peut pas être négatif");
+        }
+        this.random = random;
+        this.maxIterations = maxIterations;
+        this.timeBudgetNanos = timeBudgetNanos;
+        this.exploration = exploration;
+        int nodes = MIN_NODES;
+        while (nodes < MAX_NODES && nodes < (long) TREES_KEPT * (maxIterations + 1)) {
+            nodes <<= 1;
+        }
+        this.maxNodes = nodes;
+    }
+
+    private static StrategyParameters checkType(StrategyParameters parameters) {
+        if (parameters.getType() != StrategyType.MCTS) {
+            throw new IllegalArgumentException("Paramètres de " + parameters.getType() + " pour la stratégie MCTS");
+        }
+        return parameters;
+    }
+
+    /**
+     * @return The iteration budget and exploration as parameters, see StrategyType.MCTS
+     */
+    public StrategyParameters getParameters() {
+        return new StrategyParameters(StrategyType.MCTS,
+                                      (double) maxIterations / MAX_TUNED_ITERATIONS, exploration / 2.0);
+    }
+
+    @Override
+    public void setRandom(CombatRandom random) {
+        this.random = random;
+    }
+
+    @Override
+    public Command chooseAction(Character actor, Character target) {
+        return chooseAction(actor, target, CommandFactory.NEW);
+    }
+
+    @Override
+    public Command chooseAction(Character actor, Character target, CommandFactory commands) {
+        load(0, actor);
+        load(1, target);
+        matchup = matchupHash();
+        if (usedSlots == null) {
+            allocate(Math.min(MIN_NODES, maxNodes));
+        } else if (nodeCount >= maxNodes) {
+            clearTree();
+        }
+
+        int root = node(stateKey(health[0], health[1], agility[0], agility[1], 0));
+        int rootHealth0 = health[0];
+        int rootHealth1 = health[1];
+        int rootAgility0 = agility[0];
+        int rootAgility1 = agility[1];
+
+        long deadline = timeBudgetNanos > 0 ? System.nanoTime() + timeBudgetNanos : Long.MAX_VALUE;
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            if ((iteration & 31) == 31 && System.nanoTime() > deadline) break;
+            health[0] = rootHealth0;
+            health[1] = rootHealth1;
+            agility[0] = rootAgility0;
+            agility[1] = rootAgility1;
+            toMove = 0;
+            iterate(root);
+        }
+
+        return toCommand(options[0][mostVisited(root)], actor, target, commands);
+    }
+
+    // ===== Search =====
+
+    private void iterate(int root) {
+        int node = root;
+        int depth = 0;
+        while (node >= 0 && depth < HORIZON && health[0] > 0 && health[1] > 0) {
+            int side = toMove;
+            int edge = select(node, side);
+            boolean expanding = edgeVisits[node * MAX_OPTIONS + edge] == 0;
+            pathNodes[depth] = node;
+            pathEdges[depth] = edge;
+            pathSides[depth] = side;
+            depth++;
+            play(side, options[side][edge]);
+            toMove = 1 - side;
+            if (expanding) {
+                node = -1;
+            } else {
+                node = node(stateKey(health[0], health[1], agility[0], agility[1], toMove));
+            }
+        }
+
+        double value = rollout(depth);
+        for (int i = 0; i < depth; i++) {
+            int slot = pathNodes[i] * MAX_OPTIONS + pathEdges[i];
+            edgeVisits[slot]++;
+            edgeValue[slot] += pathSides[i] == 0 ? value : 1.0 - value;
+            nodeVisits[pathNodes[i]]++;
+        }
+    }
+
+    /**
+     * UCB1 over the options of the side to move; unvisited options first.
+     */
+    private int select(int node, int side) {
+        int base = node * MAX_OPTIONS;
+        int count = optionCount[side];
+        double logVisits = Math.log(Math.max(1, nodeVisits[node]));
+        int best = 0;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            int visits = edgeVisits[base + i];
+            if (visits == 0) {
+                return i;
+            }
+            double score = edgeValue[base + i] / visits + exploration * Math.sqrt(logVisits / visits);
+            if (score > bestScore) {
+                bestScore = score;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Plays random actions for both sides until the duel ends or the horizon is reached.
+     * @return The actor's value: 1 for a win, 0 for a loss, health difference otherwise
+     */
+    private double rollout(int depth) {
+        while (depth < HORIZON && health[0] > 0 && health[1] > 0) {
+            int side = toMove;
+            play(side, options[side][random.nextInt(optionCount[side])]);
+            toMove = 1 - side;
+            depth++;
+        }
+        if (health[1] <= 0) return 1.0;
+        if (health[0] <= 0) return 0.0;
+        return 0.5 + 0.5 * ((double) health[0] / maxHealth[0] - (double) health[1] / maxHealth[1]);
+    }
+
+    private int mostVisited(int root) {
+        int base = root * MAX_OPTIONS;
+        int best = 0;
+        for (int i = 1; i < optionCount[0]; i++) {
+            if (edgeVisits[base + i] > edgeVisits[base + best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    // ===== Duel model, same rules as CombatEngine and the commands =====
+
+    private void load(int side, Character c) {
+        strength[side] = c.getStrength();
+        intelligence[side] = c.getIntelligence();
+        maxHealth[side] = c.getMaxHealth();
+        abilityBonus[side] = c.getAbilityCount() * 5;
+        health[side] = c.getHealth();
+        agility[side] = c.getAgility();
+
+        int count = 0;
+        options[side][count++] = ATTACK;
+        options[side][count++] = DEFEND;
+        if (c.getAbilityCount() <= GameSettings.getInstance().getMaxAbilities()) {
+            for (Ability ability : Ability.values()) {
+                if (c.hasAbility(ability)) {
+                    options[side][count++] = ABILITY_BASE + ability.getId();
+                }
+            }
+        }
+        optionCount[side] = count;
+    }
+
+    private void play(int side, int option) {
+        int other = 1 - side;
+        switch (option) {
+            case ATTACK: {
+                int powerLevel = strength[side] + agility[side] + intelligence[side] + abilityBonus[side];
+                int damage = strength[side] + random.nextInt(11) + powerLevel / 10;
+                if (random.nextInt(100) < Math.min(30, agility[side] / 2)) {
+                    damage = (int) (damage * 1.5);
+                }
+                hit(other, damage);
+                return;
+            }
+            case DEFEND:
+                heal(side, 20 + agility[side] / 2);
+                return;
+            default:
+                break;
+        }
+        switch (Ability.byId(option - ABILITY_BASE)) {
+            case INVISIBILITE:
+                agility[side] += 3;
+                break;
+            case TELEPATHIE:
+                hit(other, intelligence[side]);
+                break;
+            case SUPER_FORCE:
+                hit(other, strength[side] * 2);
+                break;
+            case REGENERATION:
+                heal(side, 30);
+                break;
+            case POUVOIR_DU_FEU:
+                hit(other, strength[side] + intelligence[side]);
+                break;
+        }
+    }
+
+    private void hit(int side, int damage) {
+        health[side] = Math.max(0, health[side] - damage);
+    }
+
+    private void heal(int side, int amount) {
+        health[side] = Math.min(maxHealth[side], health[side] + amount);
+    }
+
+    private static Command toCommand(int option, Character actor, Character target, CommandFactory commands) {
+        switch (option) {
+            case ATTACK:
+                return commands.attack(actor, target);
+            case DEFEND:
+                return commands.defend(actor);
+            default:
+                Ability ability = Ability.byId(option - ABILITY_BASE);
+                return commands.useAbility(actor, ability.isOffensive() ? target : actor, ability);
+        }
+    }
+
+    // ===== Transposition table =====
+
+    /**
+     * @return A hash of what the state key leaves out: the fixed stats and options of both sides
+     */
+    private long matchupHash() {
+        long h = 0;
+        for (int side = 0; side < 2; side++) {
+            h = CombatRandom.mixSeed(h, strength[side]);
+            h = CombatRandom.mixSeed(h, intelligence[side]);
+            h = CombatRandom.mixSeed(h, maxHealth[side]);
+            h = CombatRandom.mixSeed(h, abilityBonus[side]);
+            for (int i = 0; i < optionCount[side]; i++) {
+                h = CombatRandom.mixSeed(h, options[side][i]);
+            }
+            h = CombatRandom.mixSeed(h, -optionCount[side]);
+        }
+        return h;
+    }
+
+    private static long stateKey(int health0, int health1, int agility0, int agility1, int side) {
+        return ((long) Math.min(health0, 0xFFFF) << 41)
+             | ((long) Math.min(health1, 0xFFFF) << 25)
+             | ((long) Math.min(agility0, 0xFFF) << 13)
+             | ((long) Math.min(agility1, 0xFFF) << 1)
+             | side;
+    }
+
+    /**
+     * @return The node of this state, created if needed, or -1 if the tree is full
+     */
+    private int node(long key) {
+        if (nodeCount == usedSlots.length && nodeCount < maxNodes) {
+            grow();
+        }
+        int slot = find(key, matchup);
+        if (tableKeys[slot] != EMPTY) {
+            return tableNodes[slot];
+        }
+        if (nodeCount >= maxNodes) {
+            return -1;
+        }
+        int node = nodeCount++;
+        tableKeys[slot] = key;
+        tableMatchups[slot] = matchup;
+        tableNodes[slot] = node;
+        usedSlots[node] = slot;
+        return node;
+    }
+
+    /**
+     * @return The slot holding this state, or the empty slot where it belongs
+     */
+    private int find(long key, long keyMatchup) {
+        int mask = tableKeys.length - 1;
+        int slot = (int) CombatRandom.mixSeed(key, keyMatchup) & mask;
+        while (tableKeys[slot] != EMPTY && (tableKeys[slot] != key || tableMatchups[slot] != keyMatchup)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void allocate(int nodes) {
+        tableKeys = new long[2 * nodes];
+        tableMatchups = new long[2 * nodes];
+        tableNodes = new int[2 * nodes];
+        Arrays.fill(tableKeys, EMPTY);
+        usedSlots = new int[nodes];
+        nodeVisits = new int[nodes];
+        edgeVisits = new int[nodes * MAX_OPTIONS];
+        edgeValue = new double[nodes * MAX_OPTIONS];
+    }
+
+    /**
+     * Doubles the node capacity and re-inserts the existing nodes into a table twice as large.
+     */
+    private void grow() {
+        long[] oldKeys = tableKeys;
+        long[] oldMatchups = tableMatchups;
+        int[] oldSlots = usedSlots;
+        int[] oldVisits = nodeVisits;
+        int[] oldEdgeVisits = edgeVisits;
+        double[] oldEdgeValue = edgeValue;
+        allocate(Math.min(maxNodes, oldSlots.length * 2));
+        for (int node = 0; node < nodeCount; node++) {
+            long key = oldKeys[oldSlots[node]];
+            long keyMatchup = oldMatchups[oldSlots[node]];
+            int slot = find(key, keyMatchup);
+            tableKeys[slot] = key;
+            tableMatchups[slot] = keyMatchup;
+            tableNodes[slot] = node;
+            usedSlots[node] = slot;
+        }
+        System.arraycopy(oldVisits, 0, nodeVisits, 0, nodeCount);
+        System.arraycopy(oldEdgeVisits, 0, edgeVisits, 0, nodeCount * MAX_OPTIONS);
+        System.arraycopy(oldEdgeValue, 0, edgeValue, 0, nodeCount * MAX_OPTIONS);
+    }
+
+    /**
+     * Empties the tree, touching only the table slots of its nodes.
+     */
+    private void clearTree() {
+        for (int i = 0; i < nodeCount; i++) {
+            tableKeys[usedSlots[i]] = EMPTY;
+        }
+        Arrays.fill(nodeVisits, 0, nodeCount, 0);
+        Arrays.fill(edgeVisits, 0, nodeCount * MAX_OPTIONS, 0);
+        Arrays.fill(edgeValue, 0, nodeCount * MAX_OPTIONS, 0.0);
+        nodeCount = 0;
+    }
+
+    @Override
+    public String getStrategyName() {
+        return "🧠 MCTS";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Simule la suite du duel pour choisir l'action la plus prometteuse";
+    }
+}
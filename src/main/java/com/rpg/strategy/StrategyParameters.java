@@ -0,0 +1,112 @@
+package com.rpg.strategy;
+
+import java.util.Arrays;
+
+/**
+ * Immutable parameter vector of a built-in strategy: the thresholds its rules compare
+ * random rolls and health ratios against, each in [0, 1].
+ * The defaults are the historical constants, so a strategy created with
+ * StrategyType.getDefaultParameters() behaves exactly like before.
+ */
+public final class StrategyParameters {
+    private final StrategyType type;
+    private final double[] values;
+
+    /**
+     * @param values One value per parameter name of the type, each clamped to [0, 1]
+     */
+    public StrategyParameters(StrategyType type, double... values) {
+        if (values.length != type.getParameterNames().length) {
+            throw new IllegalArgumentException("La stratégie " + type + " attend " +
+                                               type.getParameterNames().length + " paramètres");
+        }
+        this.type = type;
+        this.values = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            this.values[i] = Math.max(0.0, Math.min(1.0, values[i]));
+        }
+    }
+
+    public StrategyType getType() {
+        return type;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public double get(int index) {
+        return values[index];
+    }
+
+    /**
+     * @return A copy with one parameter replaced
+     */
+    public StrategyParameters with(int index, double value) {
+        double[] copy = values.clone();
+        copy[index] = value;
+        return new StrategyParameters(type, copy);
+    }
+
+    /**
+     * @return A copy of the values
+     */
+    public double[] toArray() {
+        return values.clone();
+    }
+
+    /**
+     * @return A new strategy instance using these parameters
+     */
+    public CombatStrategy createStrategy() {
+        return type.create(this);
+    }
+
+    /**
+     * @return The values as "v1,v2,...", the format read by parse()
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(values[i]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Reads values written by format().
+     */
+    public static StrategyParameters parse(StrategyType type, String text) {
+        String[] parts = text.split(",");
+        double[] values = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Double.parseDouble(parts[i]);
+        }
+        return new StrategyParameters(type, values);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof StrategyParameters)) return false;
+        StrategyParameters other = (StrategyParameters) o;
+        return type == other.type && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * type.hashCode() + Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        String[] names = type.getParameterNames();
+        StringBuilder sb = new StringBuilder(type.name()).append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(names[i]).append('=').append(String.format("%.2f", values[i]));
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,102 @@
+package com.rpg.strategy;
+
+import com.rpg.random.CombatRandom;
+
+/**
+ * The built-in combat strategies, for code that needs to name a strategy
+ * and create fresh instances of it (simulations, tournaments, caches).
+ * MCTS parameters are scaled to [0, 1] like the thresholds of the others, see MctsStrategy;
+ * instances created here have no time budget, so seeded battles stay reproducible.
+ */
+public enum StrategyType {
+    AGGRESSIVE(new String[] {"abilityThreshold"},
+               new double[] {0.3}),
+    DEFENSIVE(new String[] {"lowHealth", "attackThreshold"},
+              new double[] {0.5, 0.6}),
+    BALANCED(new String[] {"lowHealth", "regenerationThreshold", "weakTarget",
+                           "finishThreshold", "defendThreshold", "abilityThreshold"},
+             new double[] {0.3, 0.5, 0.3, 0.5, 0.7, 0.3}),
+    MCTS(new String[] {"iterations", "exploration"},
+         new double[] {0.2, 0.7});
+
+    private final String[] parameterNames;
+    private final double[] defaultValues;
+
+    StrategyType(String[] parameterNames, double[] defaultValues) {
+        this.parameterNames = parameterNames;
+        this.defaultValues = defaultValues;
+    }
+
+    /**
+     * @return The names of the strategy's parameters, in StrategyParameters order
+     */
+    public String[] getParameterNames() {
+        return parameterNames.clone();
+    }
+
+    /**
+     * @return The parameters of the historical strategy
+     */
+    public StrategyParameters getDefaultParameters() {
+        return new StrategyParameters(this, defaultValues);
+    }
+
+    /**
+     * Creates a new instance of the strategy with its own random stream.
+     */
+    public CombatStrategy create() {
+        return create(CombatRandom.create());
+    }
+
+    /**
+     * Creates a new instance of the strategy drawing from the given stream.
+     */
+    public CombatStrategy create(CombatRandom random) {
+        return create(random, getDefaultParameters());
+    }
+
+    /**
+     * Creates a new instance of the strategy with the given parameters and its own random stream.
+     */
+    public CombatStrategy create(StrategyParameters parameters) {
+        return create(CombatRandom.create(), parameters);
+    }
+
+    /**
+     * Creates a new instance of the strategy with the given parameters, drawing from the given stream.
+     * @throws IllegalArgumentException if the parameters belong to another strategy type
+     */
+    public CombatStrategy create(CombatRandom random, StrategyParameters parameters) {
+        if (parameters.getType() != this) {
+            throw new IllegalArgumentException("Paramètres de " + parameters.getType() + " pour la stratégie " + this);
+        }
+        switch (this) {
+            case AGGRESSIVE: return new AggressiveStrategy(random, parameters);
+            case DEFENSIVE: return new DefensiveStrategy(random, parameters);
+            case MCTS: return new MctsStrategy(random, parameters);
+            default: return new BalancedStrategy(random, parameters);
+        }
+    }
+
+    /**
+     * @return The parameters of a built-in strategy instance, or null for other strategies
+     */
+    public static StrategyParameters parametersOf(CombatStrategy strategy) {
+        if (strategy instanceof AggressiveStrategy) return ((AggressiveStrategy) strategy).getParameters();
+        if (strategy instanceof DefensiveStrategy) return ((DefensiveStrategy) strategy).getParameters();
+        if (strategy instanceof BalancedStrategy) return ((BalancedStrategy) strategy).getParameters();
+        if (strategy instanceof MctsStrategy) return ((MctsStrategy) strategy).getParameters();
+        return null;
+    }
+
+    /**
+     * @return The type of a built-in strategy instance, or null for other strategies
+     */
+    public static StrategyType of(CombatStrategy strategy) {
+        if (strategy instanceof AggressiveStrategy) return AGGRESSIVE;
+        if (strategy instanceof DefensiveStrategy) return DEFENSIVE;
+        if (strategy instanceof BalancedStrategy) return BALANCED;
+        if (strategy instanceof MctsStrategy) return MCTS;
+        return null;
+    }
+}
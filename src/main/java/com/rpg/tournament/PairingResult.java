@@ -0,0 +1,59 @@
+package com.rpg.tournament;
+
+import com.rpg.strategy.StrategyType;
+
+/**
+ * Aggregated outcome of all battles between two teams for one pair of strategies.
+ * Teams are identified by their index in the tournament.
+ */
+public class PairingResult {
+    private final int teamA;
+    private final int teamB;
+    private final StrategyType strategyA;
+    private final StrategyType strategyB;
+    private final int battles;
+    private final int winsA;
+    private final int draws;
+    private final int winsB;
+    private final long totalRounds;
+
+    public PairingResult(int teamA, int teamB, StrategyType strategyA, StrategyType strategyB,
+                         int battles, int winsA, int draws, int winsB, long totalRounds) {
+        this.teamA = teamA;
+        this.teamB = teamB;
+        this.strategyA = strategyA;
+        this.strategyB = strategyB;
+        this.battles = battles;
+        this.winsA = winsA;
+        this.draws = draws;
+        this.winsB = winsB;
+        this.totalRounds = totalRounds;
+    }
+
+    public int getTeamA() { return teamA; }
+    public int getTeamB() { return teamB; }
+    public StrategyType getStrategyA() { return strategyA; }
+    public StrategyType getStrategyB() { return strategyB; }
+    public int getBattles() { return battles; }
+    public int getWinsA() { return winsA; }
+    public int getDraws() { return draws; }
+    public int getWinsB() { return winsB; }
+    public long getTotalRounds() { return totalRounds; }
+
+    /**
+     * @return Key identifying the pairing, independent of its outcome
+     */
+    public String getKey() {
+        return key(teamA, teamB, strategyA, strategyB);
+    }
+
+    static String key(int teamA, int teamB, StrategyType strategyA, StrategyType strategyB) {
+        return teamA + ";" + teamB + ";" + strategyA + ";" + strategyB;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("#%d (%s) vs #%d (%s): %d-%d-%d sur %d combats",
+                           teamA, strategyA, teamB, strategyB, winsA, draws, winsB, battles);
+    }
+}
@@ -0,0 +1,215 @@
+package com.rpg.tournament;
+
+import com.rpg.composite.TeamComposite;
+import com.rpg.random.CombatRandom;
+import com.rpg.simulation.MatchupEstimate;
+import com.rpg.simulation.MatchupEstimator;
+import com.rpg.strategy.StrategyType;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Round-robin tournament: every pair of teams meets under every combination of strategies,
+ * each pairing being a series of seeded headless battles. Pairings run in parallel on a
+ * fork/join pool, are streamed to listeners as they complete and, when a checkpoint file is
+ * given, appended to it so that an interrupted run resumes where it stopped.
+ *
+ * Team 1 always acts first in a battle, so half of each series is played with the sides swapped.
+ * Every pairing has its own seed derived from the master seed, so results are reproducible
+ * whatever the thread count or the resume point.
+ */
+public class Tournament {
+    private final List<TeamComposite> teams;
+    private final List<StrategyType> strategies;
+    private final int battlesPerPairing;
+    private final long seed;
+    private final ForkJoinPool pool;
+    private final MatchupEstimator estimator;
+    private final List<TournamentListener> listeners;
+    private Path checkpointFile;
+
+    /**
+     * @param teams Teams and armies taking part
+     * @param strategies Strategies each team may use
+     * @param battlesPerPairing Battles per pair of teams and strategies (at least 2)
+     * @param seed Master seed
+     */
+    public Tournament(List<TeamComposite> teams, List<StrategyType> strategies,
+                      int battlesPerPairing, long seed) {
+        this(teams, strategies, battlesPerPairing, seed, ForkJoinPool.commonPool());
+    }
+
+    public Tournament(List<TeamComposite> teams, List<StrategyType> strategies,
+                      int battlesPerPairing, long seed, ForkJoinPool pool) {
+        if (teams.size() < 2) {
+            throw new IllegalArgumentException("Il faut au moins 2 équipes pour un tournoi");
+        }
+        if (strategies.isEmpty() || battlesPerPairing < 2) {
+            throw new IllegalArgumentException("Il faut au moins une stratégie et 2 combats par rencontre");
+        }
+        this.teams = new ArrayList<>(teams);
+        this.strategies = new ArrayList<>(strategies);
+        this.battlesPerPairing = battlesPerPairing;
+        this.seed = seed;
+        this.pool = pool;
+        this.estimator = new MatchupEstimator(pool);
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    public void addListener(TournamentListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(TournamentListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Enables checkpointing to the given file. An existing file is resumed.
+     */
+    public void setCheckpointFile(Path checkpointFile) {
+        this.checkpointFile = checkpointFile;
+    }
+
+    /**
+     * @return Number of pairings in the tournament
+     */
+    public int getPairingCount() {
+        int n = teams.size();
+        return n * (n - 1) / 2 * strategies.size() * strategies.size();
+    }
+
+    /**
+     * Runs all pairings not already in the checkpoint.
+     * @return The complete result
+     */
+    public TournamentResult run() {
+        TournamentCheckpoint checkpoint = checkpointFile == null ? null
+            : new TournamentCheckpoint(checkpointFile, seed, battlesPerPairing, teams, strategies);
+        Map<String, PairingResult> results = new ConcurrentHashMap<>();
+        if (checkpoint != null) {
+            results.putAll(checkpoint.load());
+        }
+
+        List<Pairing> pending = new ArrayList<>();
+        int index = 0;
+        for (int a = 0; a < teams.size(); a++) {
+            for (int b = a + 1; b < teams.size(); b++) {
+                for (StrategyType strategyA : strategies) {
+                    for (StrategyType strategyB : strategies) {
+                        Pairing pairing = new Pairing(a, b, strategyA, strategyB, index++);
+                        if (!results.containsKey(PairingResult.key(a, b, strategyA, strategyB))) {
+                            pending.add(pairing);
+                        }
+                    }
+                }
+            }
+        }
+
+        AtomicInteger completed = new AtomicInteger(results.size());
+        int total = getPairingCount();
+        try {
+            if (!pending.isEmpty()) {
+                pool.invoke(new PairingTask(pending, 0, pending.size(), results, checkpoint, completed, total));
+            }
+        } finally {
+            if (checkpoint != null) {
+                checkpoint.close();
+            }
+        }
+
+        List<String> names = new ArrayList<>();
+        for (TeamComposite team : teams) {
+            names.add(team.getName());
+        }
+        return new TournamentResult(names, results.values());
+    }
+
+    private PairingResult play(Pairing pairing) {
+        long pairingSeed = CombatRandom.mixSeed(seed, pairing.index);
+        TeamComposite teamA = teams.get(pairing.teamA);
+        TeamComposite teamB = teams.get(pairing.teamB);
+        int firstHalf = battlesPerPairing / 2;
+        int secondHalf = battlesPerPairing - firstHalf;
+
+        MatchupEstimate aFirst = estimator.estimate(teamA, teamB,
+            pairing.strategyA::create, pairing.strategyB::create,
+            firstHalf, CombatRandom.mixSeed(pairingSeed, 0));
+        MatchupEstimate bFirst = estimator.estimate(teamB, teamA,
+            pairing.strategyB::create, pairing.strategyA::create,
+            secondHalf, CombatRandom.mixSeed(pairingSeed, 1));
+
+        return new PairingResult(pairing.teamA, pairing.teamB, pairing.strategyA, pairing.strategyB,
+                                 battlesPerPairing,
+                                 aFirst.getWins() + bFirst.getLosses(),
+                                 aFirst.getDraws() + bFirst.getDraws(),
+                                 aFirst.getLosses() + bFirst.getWins(),
+                                 aFirst.getTotalRounds() + bFirst.getTotalRounds());
+    }
+
+    private static class Pairing {
+        final int teamA;
+        final int teamB;
+        final StrategyType strategyA;
+        final StrategyType strategyB;
+        final int index;
+
+        Pairing(int teamA, int teamB, StrategyType strategyA, StrategyType strategyB, int index) {
+            this.teamA = teamA;
+            this.teamB = teamB;
+            this.strategyA = strategyA;
+            this.strategyB = strategyB;
+            this.index = index;
+        }
+    }
+
+    private class PairingTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Pairing> pairings;
+        private final int from;
+        private final int to;
+        private final Map<String, PairingResult> results;
+        private final TournamentCheckpoint checkpoint;
+        private final AtomicInteger completed;
+        private final int total;
+
+        PairingTask(List<Pairing> pairings, int from, int to, Map<String, PairingResult> results,
+                    TournamentCheckpoint checkpoint, AtomicInteger completed, int total) {
+            this.pairings = pairings;
+            this.from = from;
+            this.to = to;
+            this.results = results;
+            this.checkpoint = checkpoint;
+            this.completed = completed;
+            this.total = total;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                PairingResult result = play(pairings.get(from));
+                results.put(result.getKey(), result);
+                if (checkpoint != null) {
+                    checkpoint.append(result);
+                }
+                int done = completed.incrementAndGet();
+                for (TournamentListener listener : listeners) {
+                    listener.onPairingCompleted(result, done, total);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new PairingTask(pairings, from, middle, results, checkpoint, completed, total),
+                      new PairingTask(pairings, middle, to, results, checkpoint, completed, total));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.rpg.tournament;
+
+import com.rpg.composite.TeamComposite;
+import com.rpg.simulation.MatchupKey;
+import com.rpg.strategy.StrategyType;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only checkpoint file of completed pairings, so an interrupted tournament can resume.
+ * One line per pairing, separated by ';' like characters.txt; the first line records the
+ * tournament parameters and is checked when resuming.
+ *
+ * Pairings refer to teams by index, so the header identifies the roster: a hash of the team
+ * names and of every fighter's combat stats, in order, and the ordered strategy list. A roster
+ * edited or reordered since the checkpoint was written is rejected instead of resumed.
+ * Each line ends with a CRC32 of its fields: a line cut short by a crash, even one that still
+ * splits into the right number of fields, is ignored and its pairing played again.
+ */
+public class TournamentCheckpoint {
+    private final Path file;
+    private final String header;
+    private BufferedWriter writer;
+
+    /**
+     * @param file The checkpoint file
+     * @param seed Master seed of the tournament
+     * @param battlesPerPairing Number of battles per pairing
+     * @param teams Teams of the tournament, in index order
+     * @param strategies Strategies of the tournament, in order
+     */
+    public TournamentCheckpoint(Path file, long seed, int battlesPerPairing,
+                                List<TeamComposite> teams, List<StrategyType> strategies) {
+        this.file = file;
+        StringBuilder sb = new StringBuilder();
+        sb.append("# seed=").append(seed).append(";battles=").append(battlesPerPairing)
+          .append(";teams=").append(teams.size())
+          .append(";roster=").append(Long.toHexString(MatchupKey.rosterHash(teams)))
+          .append(";strategies=");
+        for (int i = 0; i < strategies.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append(strategies.get(i));
+        }
+        this.header = sb.toString();
+    }
+
+    /**
+     * Loads the pairings completed by a previous run.
+     * @return Completed pairings by key, empty if the file does not exist
+     * @throws IllegalStateException if the file belongs to a tournament with other parameters
+     */
+    public Map<String, PairingResult> load() {
+        Map<String, PairingResult> completed = new LinkedHashMap<>();
+        if (!Files.exists(file)) {
+            return completed;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String first = reader.readLine();
+            if (first != null && !first.equals(header)) {
+                throw new IllegalStateException("Le checkpoint " + file + " correspond à un autre tournoi (" + first + ")");
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(";");
+                if (parts.length != 10 || !parts[9].equals(checksum(line.substring(0, line.lastIndexOf(';'))))) {
+                    continue; // Ligne incomplète (interruption pendant l'écriture)
+                }
+                PairingResult result = new PairingResult(
+                    Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+                    StrategyType.valueOf(parts[2]), StrategyType.valueOf(parts[3]),
+                    Integer.parseInt(parts[4]), Integer.parseInt(parts[5]),
+                    Integer.parseInt(parts[6]), Integer.parseInt(parts[7]),
+                    Long.parseLong(parts[8]));
+                completed.put(result.getKey(), result);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture du checkpoint impossible: " + file, e);
+        }
+        return completed;
+    }
+
+    /**
+     * Appends a completed pairing and flushes it to disk.
+     */
+    public synchronized void append(PairingResult result) {
+        try {
+            if (writer == null) {
+                boolean fresh = !Files.exists(file) || Files.size(file) == 0;
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                                                 StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                if (fresh) {
+                    writer.write(header);
+                    writer.newLine();
+                } else if (!endsWithNewline()) {
+                    writer.newLine(); // Termine la ligne tronquée par une interruption
+                }
+            }
+            String line = result.getKey() + ";" + result.getBattles() + ";" + result.getWinsA() + ";" +
+                          result.getDraws() + ";" + result.getWinsB() + ";" + result.getTotalRounds();
+            writer.write(line + ";" + checksum(line));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture du checkpoint impossible: " + file, e);
+        }
+    }
+
+    private boolean endsWithNewline() throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            raf.seek(raf.length() - 1);
+            int last = raf.read();
+            return last == '\n' || last == '\r';
+        }
+    }
+
+    private static String checksum(String line) {
+        CRC32 crc = new CRC32();
+        crc.update(line.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+
+    /**
+     * Closes the checkpoint file.
+     */
+    public synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writer = null;
+        }
+    }
+}
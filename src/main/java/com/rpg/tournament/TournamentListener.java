@@ -0,0 +1,14 @@
+package com.rpg.tournament;
+
+/**
+ * Receives tournament results as they are produced.
+ * Called from the tournament's worker threads: implementations must be thread-safe.
+ */
+public interface TournamentListener {
+    /**
+     * @param result The pairing that just completed
+     * @param completed Number of pairings completed so far, including resumed ones
+     * @param total Total number of pairings in the tournament
+     */
+    void onPairingCompleted(PairingResult result, int completed, int total);
+}
@@ -0,0 +1,129 @@
+package com.rpg.tournament;
+
+import com.rpg.util.DisplayUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Win-rate matrix and ranking of a round-robin tournament.
+ * A draw counts as half a win.
+ */
+public class TournamentResult {
+    private final List<String> teamNames;
+    private final List<PairingResult> pairings;
+    private final double[][] points;
+    private final int[][] battles;
+
+    public TournamentResult(List<String> teamNames, Collection<PairingResult> pairings) {
+        int n = teamNames.size();
+        this.teamNames = Collections.unmodifiableList(new ArrayList<>(teamNames));
+        this.pairings = Collections.unmodifiableList(new ArrayList<>(pairings));
+        this.points = new double[n][n];
+        this.battles = new int[n][n];
+        for (PairingResult p : pairings) {
+            int a = p.getTeamA();
+            int b = p.getTeamB();
+            points[a][b] += p.getWinsA() + p.getDraws() / 2.0;
+            points[b][a] += p.getWinsB() + p.getDraws() / 2.0;
+            battles[a][b] += p.getBattles();
+            battles[b][a] += p.getBattles();
+        }
+    }
+
+    public List<String> getTeamNames() {
+        return teamNames;
+    }
+
+    public List<PairingResult> getPairings() {
+        return pairings;
+    }
+
+    /**
+     * @return Win rate of team i against team j over all strategy combinations, or NaN if they never met
+     */
+    public double getWinRate(int i, int j) {
+        return battles[i][j] > 0 ? points[i][j] / battles[i][j] : Double.NaN;
+    }
+
+    /**
+     * @return The full win-rate matrix; the diagonal is NaN
+     */
+    public double[][] getWinRateMatrix() {
+        int n = teamNames.size();
+        double[][] matrix = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                matrix[i][j] = getWinRate(i, j);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * @return Teams sorted by overall win rate, best first
+     */
+    public List<Standing> getRanking() {
+        List<Standing> ranking = new ArrayList<>();
+        for (int i = 0; i < teamNames.size(); i++) {
+            double total = 0;
+            int played = 0;
+            for (int j = 0; j < teamNames.size(); j++) {
+                total += points[i][j];
+                played += battles[i][j];
+            }
+            ranking.add(new Standing(teamNames.get(i), played > 0 ? total / played : 0.0, played));
+        }
+        ranking.sort((a, b) -> Double.compare(b.getWinRate(), a.getWinRate()));
+        return ranking;
+    }
+
+    /**
+     * Displays the ranking, and the matrix when it fits on screen.
+     */
+    public void display() {
+        System.out.println(DisplayUtil.createBorder("🏆 CLASSEMENT DU TOURNOI 🏆", 70));
+        List<Standing> ranking = getRanking();
+        for (int i = 0; i < ranking.size(); i++) {
+            Standing s = ranking.get(i);
+            System.out.println(String.format("  %3d. %-30s %5.1f%% (%d combats)",
+                i + 1, s.getName(), s.getWinRate() * 100, s.getBattles()));
+        }
+        int n = teamNames.size();
+        if (n <= 10) {
+            System.out.println("\n  Taux de victoire (ligne contre colonne):");
+            StringBuilder head = new StringBuilder("  " + String.format("%-12s", ""));
+            for (int j = 0; j < n; j++) head.append(String.format("%8d", j));
+            System.out.println(head);
+            for (int i = 0; i < n; i++) {
+                StringBuilder row = new StringBuilder(String.format("  %-12.12s", i + "." + teamNames.get(i)));
+                for (int j = 0; j < n; j++) {
+                    row.append(i == j ? "       -" : String.format("%7.1f%%", getWinRate(i, j) * 100));
+                }
+                System.out.println(row);
+            }
+        }
+        System.out.println(DisplayUtil.closeBorder(70));
+    }
+
+    /**
+     * A team's line in the ranking.
+     */
+    public static class Standing {
+        private final String name;
+        private final double winRate;
+        private final int battles;
+
+        public Standing(String name, double winRate, int battles) {
+            this.name = name;
+            this.winRate = winRate;
+            this.battles = battles;
+        }
+
+        public String getName() { return name; }
+        public double getWinRate() { return winRate; }
+        public int getBattles() { return battles; }
+    }
+}
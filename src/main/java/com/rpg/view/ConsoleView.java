@@ -28,6 +28,7 @@ public class ConsoleView {
         System.out.println("   10. Afficher historique des actions");
         System.out.println("   11. Rejouer l'historique");
         System.out.println("   12. Afficher journal de combat");
+        System.out.println("   16. 🏆 Tournoi (toutes les équipes/armées)");
         System.out.println("\n  SYSTÈME:");
         System.out.println("   13. Sauvegarder");
         System.out.println("   14. Charger");